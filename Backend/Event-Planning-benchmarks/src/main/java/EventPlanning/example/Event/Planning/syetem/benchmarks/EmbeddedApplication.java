@@ -0,0 +1,57 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks;
+
+import EventPlanning.example.Event.Planning.syetem.EventPlanningSyetemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Starts the application on the in-memory database (the {@code embedded} profile) and seeds
+ * it with users and groups for the benchmarks.
+ */
+final class EmbeddedApplication {
+
+    private EmbeddedApplication() {
+    }
+
+    static ConfigurableApplicationContext start() {
+        SpringApplication application = new SpringApplication(EventPlanningSyetemApplication.class);
+        application.setAdditionalProfiles("embedded");
+        return application.run();
+    }
+
+    /**
+     * Inserts {@code groupCount} groups of {@code groupSize} distinct members each, plus
+     * {@code extraUsers} users that belong to no group. Users are named {@code user-<n>}
+     * and groups {@code group-<n>}; returns the group codes.
+     */
+    static List<String> seed(ConfigurableApplicationContext context, int groupCount, int groupSize, int extraUsers) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        int userCount = groupCount * groupSize + extraUsers;
+
+        List<Object[]> users = new ArrayList<>(userCount);
+        for (int i = 0; i < userCount; i++) {
+            users.add(new Object[]{"user-" + i, "User " + i, "user-" + i + "@example.com", "MEMBER", "ACTIVE"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users (user_id, user_name, email, role, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, 0)", users);
+
+        List<String> groupCodes = new ArrayList<>(groupCount);
+        List<Object[]> groups = new ArrayList<>(groupCount);
+        for (int g = 0; g < groupCount; g++) {
+            groupCodes.add("group-" + g);
+            groups.add(new Object[]{"Group " + g, "group-" + g, "ACTIVE", "TEAM"});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO `groups` (group_name, group_code, status, group_type, version) "
+                + "VALUES (?, ?, ?, ?, 0)", groups);
+
+        // The schema is fresh, so ids start at 1: group k gets users (k-1)*groupSize+1 .. k*groupSize
+        jdbcTemplate.update("INSERT INTO group_members (group_id, user_id) "
+                + "SELECT g.id, u.id FROM `groups` g JOIN users u "
+                + "ON u.id > (g.id - 1) * ? AND u.id <= g.id * ?", groupSize, groupSize);
+        return groupCodes;
+    }
+}
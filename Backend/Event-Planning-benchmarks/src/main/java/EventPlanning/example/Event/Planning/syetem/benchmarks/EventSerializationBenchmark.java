@@ -0,0 +1,120 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks;
+
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.dto.GroupView;
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.Group;
+import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of one event with its invited groups and their members, both as the
+ * entity graph and as the {@link EventView} the API returns. Uses an ObjectMapper configured
+ * like Spring Boot's, no database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventSerializationBenchmark {
+
+    private static final int INVITED_GROUPS = 5;
+    private static final int INVITED_USERS = 20;
+
+    @Param({"10", "100", "1000"})
+    public int groupSize;
+
+    private ObjectMapper objectMapper;
+    private Event event;
+    private EventView eventView;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        long nextUserId = 1;
+        List<Group> groups = new ArrayList<>(INVITED_GROUPS);
+        List<GroupView> groupViews = new ArrayList<>(INVITED_GROUPS);
+        for (long g = 1; g <= INVITED_GROUPS; g++) {
+            Set<User> members = new HashSet<>();
+            List<UserView> memberViews = new ArrayList<>(groupSize);
+            for (int i = 0; i < groupSize; i++) {
+                User user = user(nextUserId++);
+                members.add(user);
+                memberViews.add(view(user));
+            }
+            Group group = new Group();
+            group.setId(g);
+            group.setGroupName("Group " + g);
+            group.setGroupCode("group-" + g);
+            group.setStatus("ACTIVE");
+            group.setGroupType("TEAM");
+            group.setGroupMembers(members);
+            groups.add(group);
+            groupViews.add(new GroupView(g, group.getGroupName(), group.getGroupCode(), group.getStatus(),
+                    group.getGroupType(), memberViews));
+        }
+        List<User> users = new ArrayList<>(INVITED_USERS);
+        List<UserView> userViews = new ArrayList<>(INVITED_USERS);
+        for (int i = 0; i < INVITED_USERS; i++) {
+            User user = user(nextUserId++);
+            users.add(user);
+            userViews.add(view(user));
+        }
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        Venue venue = new Venue("Main Hall", 6.9271, 79.8612);
+        event = new Event("Planning meeting", "Quarterly planning with all teams", start, venue,
+                "MEETING", true, "GROUP", groups, users, "SCHEDULED");
+        event.setId(1L);
+        event.setEndDateTime(start.plus(Event.DEFAULT_DURATION));
+        eventView = new EventView(1L, event.getEventTitle(), event.getDescription(), start,
+                event.getEndDateTime(), venue, event.getEventType(), event.getIsPublic(), event.getInviteType(),
+                groupViews, userViews, event.getStatus());
+    }
+
+    @Benchmark
+    public byte[] entity() throws Exception {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public byte[] view() throws Exception {
+        return objectMapper.writeValueAsBytes(eventView);
+    }
+
+    private static User user(long id) {
+        User user = new User("user-" + id, "User " + id, "user-" + id + "@example.com", "MEMBER", "ACTIVE");
+        user.setId(id);
+        return user;
+    }
+
+    private static UserView view(User user) {
+        return new UserView(user.getId(), user.getUserId(), user.getUserName(), user.getEmail(),
+                user.getRole(), user.getStatus());
+    }
+}
@@ -0,0 +1,103 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks;
+
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.Group;
+import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import EventPlanning.example.Event.Planning.syetem.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link EventService#createEvent} and {@link EventService#updateEvent} end to end: group and
+ * user resolution, the insert or update, venue booking, search indexing and the invitee
+ * fan-out to every member of the invited groups.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventWriteBenchmark {
+
+    private static final int INVITED_GROUPS = 5;
+    private static final int INVITED_USERS = 20;
+
+    @Param({"10", "100", "1000"})
+    public int groupSize;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private List<String> groupCodes;
+    private List<String> userIds;
+    private Long existingEventId;
+
+    // Every created event gets its own venue, so none of them conflict
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        eventService = context.getBean(EventService.class);
+        groupCodes = EmbeddedApplication.seed(context, INVITED_GROUPS, groupSize, INVITED_USERS);
+        userIds = new ArrayList<>(INVITED_USERS);
+        for (int i = 0; i < INVITED_USERS; i++) {
+            userIds.add("user-" + (INVITED_GROUPS * groupSize + i));
+        }
+        existingEventId = eventService.createEvent(newEvent()).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Event createEvent() {
+        return eventService.createEvent(newEvent());
+    }
+
+    @Benchmark
+    public Event updateEvent() {
+        Event details = newEvent();
+        details.getVenue().setAddress("Main Hall");
+        return eventService.updateEvent(existingEventId, details);
+    }
+
+    private Event newEvent() {
+        long n = sequence++;
+        List<Group> groups = new ArrayList<>(groupCodes.size());
+        for (String groupCode : groupCodes) {
+            Group group = new Group();
+            group.setGroupCode(groupCode);
+            groups.add(group);
+        }
+        List<User> users = new ArrayList<>(userIds.size());
+        for (String userId : userIds) {
+            User user = new User();
+            user.setUserId(userId);
+            users.add(user);
+        }
+        return new Event("Planning meeting " + n, "Quarterly planning with all teams",
+                LocalDateTime.of(2030, 1, 1, 9, 0), new Venue("Hall " + n, 6.9271, 79.8612),
+                "MEETING", true, "GROUP", groups, users, "SCHEDULED");
+    }
+}
@@ -0,0 +1,73 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks;
+
+import EventPlanning.example.Event.Planning.syetem.model.Group;
+import EventPlanning.example.Event.Planning.syetem.service.GroupService;
+import EventPlanning.example.Event.Planning.syetem.service.IdLookupCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link GroupService#getGroupsByCodes}, with the group code lookups cached (the steady state)
+ * and with the cache emptied before every call (one database round trip per call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupLookupBenchmark {
+
+    private static final int GROUPS = 1000;
+    private static final int GROUP_SIZE = 10;
+
+    @Param({"1", "10", "100"})
+    public int codes;
+
+    private ConfigurableApplicationContext context;
+    private GroupService groupService;
+    private IdLookupCache idLookupCache;
+    private List<String> requested;
+    private String[] requestedArray;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedApplication.start();
+        groupService = context.getBean(GroupService.class);
+        idLookupCache = context.getBean(IdLookupCache.class);
+        List<String> groupCodes = EmbeddedApplication.seed(context, GROUPS, GROUP_SIZE, 0);
+        requested = groupCodes.subList(0, codes);
+        requestedArray = requested.toArray(new String[0]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Group> cached() {
+        return groupService.getGroupsByCodes(requested);
+    }
+
+    @Benchmark
+    public List<Group> uncached() {
+        idLookupCache.invalidateGroupCodes(requestedArray);
+        return groupService.getGroupsByCodes(requested);
+    }
+}
@@ -0,0 +1,147 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks;
+
+import EventPlanning.example.Event.Planning.syetem.service.FieldSelection;
+import EventPlanning.example.Event.Planning.syetem.service.FieldsetQueryService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * JSON against the binary encodings the list endpoints negotiate (CBOR, Smile): the time to
+ * write one page of {@code GET /api/events} and to read it back as a tree, the way a generic
+ * client would. The page is read by {@link FieldsetQueryService} from the embedded database,
+ * so the rows are the maps the endpoint returns, and each format uses the application's own
+ * ObjectMapper. {@code expand} picks the shape: {@code ids} is the default listing (group and
+ * user ids), {@code groups} expands the groups (with a member count) and {@code members} is
+ * {@code expand=invitedGroups.groupMembers,invitedUsers}. The payload sizes, raw and gzipped,
+ * are printed once per trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+    private static final int INVITED_GROUPS = 2;
+    private static final int INVITED_USERS = 5;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"ids", "groups", "members"})
+    public String expand;
+
+    @Param({"10", "100"})
+    public int groupSize;
+
+    private ObjectMapper objectMapper;
+    private List<Map<String, Object>> page;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        ConfigurableApplicationContext context = EmbeddedApplication.start();
+        try {
+            objectMapper = switch (format) {
+                case "json" -> context.getBean(ObjectMapper.class);
+                case "cbor" -> context.getBean(MappingJackson2CborHttpMessageConverter.class).getObjectMapper();
+                case "smile" -> context.getBean(MappingJackson2SmileHttpMessageConverter.class).getObjectMapper();
+                default -> throw new IllegalArgumentException("Unknown format " + format);
+            };
+            String expansions = switch (expand) {
+                case "ids" -> null;
+                case "groups" -> "invitedGroups";
+                case "members" -> "invitedGroups.groupMembers,invitedUsers";
+                default -> throw new IllegalArgumentException("Unknown expand " + expand);
+            };
+            seedEvents(context);
+            FieldSelection selection = FieldSelection.parse(null, expansions, FieldsetQueryService.EVENT_FIELDS,
+                    FieldsetQueryService.EVENT_EXPANSIONS);
+            page = context.getBean(FieldsetQueryService.class)
+                    .getEventPage(null, null, null, null, null, PAGE_SIZE, selection).getItems();
+        } finally {
+            // The rows and the mapper are all the benchmark needs
+            context.close();
+        }
+
+        payload = objectMapper.writeValueAsBytes(page);
+        System.out.printf("%n%s, %s, group size %d: %d bytes, %d gzipped%n", format, expand, groupSize,
+                payload.length, gzippedSize(payload));
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IOException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public JsonNode deserialize() throws IOException {
+        return objectMapper.readTree(payload);
+    }
+
+    // Event e invites groups 2e-1 and 2e and five users outside any group
+    private void seedEvents(ConfigurableApplicationContext context) {
+        int groupCount = PAGE_SIZE * INVITED_GROUPS;
+        EmbeddedApplication.seed(context, groupCount, groupSize, PAGE_SIZE * INVITED_USERS);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        List<Object[]> events = new ArrayList<>(PAGE_SIZE);
+        List<Object[]> invitedGroups = new ArrayList<>(groupCount);
+        List<Object[]> invitedUsers = new ArrayList<>(PAGE_SIZE * INVITED_USERS);
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 9, 0);
+        long firstExtraUser = (long) groupCount * groupSize + 1;
+        for (long e = 1; e <= PAGE_SIZE; e++) {
+            LocalDateTime dateTime = start.plusHours(e);
+            events.add(new Object[]{"Planning meeting " + e, "Quarterly planning with all teams", dateTime,
+                    dateTime.plusHours(1), "Venue " + e, 6.9271 + e / 10000.0, 79.8612 + e / 10000.0,
+                    "addr:venue " + e});
+            for (int g = 0; g < INVITED_GROUPS; g++) {
+                invitedGroups.add(new Object[]{e, (e - 1) * INVITED_GROUPS + g + 1});
+            }
+            for (int i = 0; i < INVITED_USERS; i++) {
+                invitedUsers.add(new Object[]{e, firstExtraUser + (e - 1) * INVITED_USERS + i});
+            }
+        }
+        // The schema is fresh, so event ids start at 1
+        jdbcTemplate.batchUpdate("INSERT INTO events (event_title, description, date_time, end_date_time, "
+                + "address, latitude, longitude, venue_key, event_type, is_public, invite_type, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, 'Meetup', TRUE, 'group', 'SCHEDULED', 0)", events);
+        jdbcTemplate.batchUpdate("INSERT INTO event_groups (event_id, group_code) VALUES (?, ?)", invitedGroups);
+        jdbcTemplate.batchUpdate("INSERT INTO event_users (event_id, user_id) VALUES (?, ?)", invitedUsers);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        }
+        return out.size();
+    }
+}
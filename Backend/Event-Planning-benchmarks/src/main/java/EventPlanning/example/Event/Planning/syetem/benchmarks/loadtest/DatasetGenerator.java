@@ -0,0 +1,151 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks.loadtest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Seeds a synthetic dataset straight into the H2 tables with set-based
+ * {@code INSERT ... SELECT FROM SYSTEM_RANGE} statements, so millions of rows take seconds
+ * rather than going through the services.
+ * <p>
+ * The schema must be freshly created, so that ids start at 1: user {@code n} has userId
+ * {@code user-n}, group {@code n} has groupCode {@code group-n}. The data is deterministic
+ * for a given set of {@link Volumes}.
+ */
+final class DatasetGenerator {
+
+    /**
+     * Dataset sizes. Group sizes follow a Pareto distribution (most groups have a handful of
+     * members, a few have up to {@code maxGroupSize}); events are spread over the 90 days
+     * before and 275 days after the seeding date.
+     */
+    static final class Volumes {
+        long users = 1_000_000;
+        long groups = 50_000;
+        int minGroupSize = 5;
+        int maxGroupSize = 10_000;
+        long events = 500_000;
+        // Share of events that invite one group, in percent
+        int groupInvitePercent = 20;
+        // Users invited directly by every event
+        int directInvites = 3;
+    }
+
+    private static final Logger logger = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private static final long CHUNK_SIZE = 100_000;
+    private static final int MEMBER_BATCH_SIZE = 1000;
+    private static final double GROUP_SIZE_ALPHA = 1.2;
+
+    private static final String INSERT_USERS =
+            "INSERT INTO users (user_id, user_name, email, role, status, version) " +
+            "SELECT CONCAT('user-', x), CONCAT('User ', x), CONCAT('user-', x, '@example.com'), " +
+            "CASE WHEN MOD(x, 50) = 0 THEN 'ADMIN' ELSE 'MEMBER' END, 'ACTIVE', 0 " +
+            "FROM SYSTEM_RANGE(?, ?)";
+
+    private static final String INSERT_GROUPS =
+            "INSERT INTO `groups` (group_name, group_code, status, group_type, version) " +
+            "SELECT CONCAT('Group ', x), CONCAT('group-', x), 'ACTIVE', " +
+            "CASE MOD(x, 3) WHEN 0 THEN 'Department' WHEN 1 THEN 'Team' ELSE 'Community' END, 0 " +
+            "FROM SYSTEM_RANGE(?, ?)";
+
+    // A contiguous, wrapping window of user ids starting at a per-group offset
+    private static final String INSERT_GROUP_MEMBERS =
+            "INSERT INTO group_members (group_id, user_id) " +
+            "SELECT ?, MOD(? + x, ?) + 1 FROM SYSTEM_RANGE(0, ?)";
+
+    private static final String INSERT_EVENTS =
+            "INSERT INTO events (event_title, description, date_time, end_date_time, address, latitude, longitude, " +
+            "venue_key, event_type, is_public, invite_type, status, version) " +
+            "SELECT CONCAT(CASE MOD(x, 8) WHEN 0 THEN 'Quarterly planning' WHEN 1 THEN 'Team offsite' " +
+            "WHEN 2 THEN 'Product launch' WHEN 3 THEN 'Charity run' WHEN 4 THEN 'Developer meetup' " +
+            "WHEN 5 THEN 'Board review' WHEN 6 THEN 'Music festival' ELSE 'Training workshop' END, ' ', x), " +
+            "CONCAT('Synthetic event ', x, ' for load testing'), " +
+            "TIMESTAMPADD(MINUTE, MOD(x * 37, 525600), CAST(? AS TIMESTAMP)), " +
+            "TIMESTAMPADD(MINUTE, MOD(x * 37, 525600) + 60, CAST(? AS TIMESTAMP)), " +
+            "CONCAT('Venue ', x), 6.9 + MOD(x, 1000) / 10000.0, 79.8 + MOD(x, 997) / 10000.0, " +
+            "CONCAT('addr:venue ', x), " +
+            "CASE MOD(x, 3) WHEN 0 THEN 'Conference' WHEN 1 THEN 'Meetup' ELSE 'Workshop' END, " +
+            "MOD(x, 4) <> 0, CASE WHEN MOD(x, 100) < ? THEN 'group' ELSE 'individual' END, 'SCHEDULED', 0 " +
+            "FROM SYSTEM_RANGE(?, ?)";
+
+    private static final String INSERT_EVENT_GROUPS =
+            "INSERT INTO event_groups (event_id, group_code) " +
+            "SELECT id, MOD(id * 7919, ?) + 1 FROM events WHERE id BETWEEN ? AND ? AND MOD(id, 100) < ?";
+
+    private static final String INSERT_EVENT_USERS =
+            "INSERT INTO event_users (event_id, user_id) " +
+            "SELECT e.id, MOD(e.id * 104729 + r.x * 7, ?) + 1 FROM events e JOIN SYSTEM_RANGE(1, ?) r " +
+            "ON e.id BETWEEN ? AND ?";
+
+    private static final String INSERT_EVENT_INVITEES =
+            "INSERT INTO event_invitees (event_id, user_id, event_date_time) " +
+            "SELECT s.event_id, s.user_id, e.date_time FROM (" +
+            "SELECT event_id, user_id FROM event_users WHERE event_id BETWEEN ? AND ? " +
+            "UNION SELECT eg.event_id, gm.user_id FROM event_groups eg " +
+            "JOIN group_members gm ON gm.group_id = eg.group_code WHERE eg.event_id BETWEEN ? AND ?) s " +
+            "JOIN events e ON e.id = s.event_id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    DatasetGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void seed(Volumes volumes) {
+        long started = System.nanoTime();
+
+        for (long from = 1; from <= volumes.users; from += CHUNK_SIZE) {
+            jdbcTemplate.update(INSERT_USERS, from, Math.min(from + CHUNK_SIZE - 1, volumes.users));
+        }
+        logger.info("Seeded {} users", volumes.users);
+
+        jdbcTemplate.update(INSERT_GROUPS, 1, volumes.groups);
+        long members = seedGroupMembers(volumes);
+        logger.info("Seeded {} groups with {} memberships", volumes.groups, members);
+
+        Timestamp base = Timestamp.valueOf(LocalDate.now().minusDays(90).atStartOfDay());
+        for (long from = 1; from <= volumes.events; from += CHUNK_SIZE) {
+            long to = Math.min(from + CHUNK_SIZE - 1, volumes.events);
+            jdbcTemplate.update(INSERT_EVENTS, base, base, volumes.groupInvitePercent, from, to);
+            if (volumes.groups > 0) {
+                jdbcTemplate.update(INSERT_EVENT_GROUPS, volumes.groups, from, to, volumes.groupInvitePercent);
+            }
+            if (volumes.directInvites > 0) {
+                jdbcTemplate.update(INSERT_EVENT_USERS, volumes.users, volumes.directInvites, from, to);
+            }
+            jdbcTemplate.update(INSERT_EVENT_INVITEES, from, to, from, to);
+        }
+        Long invitees = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_invitees", Long.class);
+        logger.info("Seeded {} events with {} invitees in {} s", volumes.events, invitees,
+                (System.nanoTime() - started) / 1_000_000_000L);
+    }
+
+    private long seedGroupMembers(Volumes volumes) {
+        Random random = new Random(42);
+        long total = 0;
+        List<Object[]> batch = new ArrayList<>(MEMBER_BATCH_SIZE);
+        for (long groupId = 1; groupId <= volumes.groups; groupId++) {
+            double pareto = volumes.minGroupSize / Math.pow(1 - random.nextDouble(), 1 / GROUP_SIZE_ALPHA);
+            long size = Math.min((long) pareto, Math.min(volumes.maxGroupSize, volumes.users));
+            long offset = (long) (random.nextDouble() * volumes.users);
+            batch.add(new Object[]{groupId, offset, volumes.users, size - 1});
+            total += size;
+            if (batch.size() == MEMBER_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT_GROUP_MEMBERS, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_GROUP_MEMBERS, batch);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,128 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks.loadtest;
+
+import EventPlanning.example.Event.Planning.syetem.EventPlanningSyetemApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * End-to-end load test: seeds a synthetic dataset into a file-backed H2 database (the
+ * {@code loadtest} profile), starts the application on a random port and drives a mixed
+ * read/write workload over HTTP, then reports throughput and latency per endpoint.
+ * <p>
+ * Options, all {@code --name=value}:
+ * <ul>
+ *   <li>{@code users}, {@code groups}, {@code max-group-size}, {@code events},
+ *       {@code group-invite-percent}, {@code direct-invites}: dataset volumes, see
+ *       {@link DatasetGenerator.Volumes}</li>
+ *   <li>{@code reseed}: regenerate the dataset even if {@code data-dir} already has one</li>
+ *   <li>{@code data-dir}: where the database and the latency distributions go (target/loadtest)</li>
+ *   <li>{@code clients}, {@code warmup}, {@code duration}: closed-loop clients and the warm-up
+ *       and measured durations in seconds</li>
+ *   <li>{@code mix}: operation weights, defaults to {@link Workload#DEFAULT_MIX}</li>
+ *   <li>{@code revalidate}: the list endpoints send If-None-Match with the last ETag; their 304s
+ *       are reported separately</li>
+ * </ul>
+ */
+public final class LoadTest {
+
+    private static final String DATABASE_NAME = "eventplanningsys";
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        Path dataDir = Paths.get(options.getOrDefault("data-dir", "target/loadtest"));
+        String datasourceUrl = "--spring.datasource.url=jdbc:h2:file:" + dataDir.toAbsolutePath().resolve(DATABASE_NAME)
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;CACHE_SIZE=524288";
+
+        DatasetGenerator.Volumes volumes = new DatasetGenerator.Volumes();
+        volumes.users = longOption(options, "users", volumes.users);
+        volumes.groups = longOption(options, "groups", volumes.groups);
+        volumes.maxGroupSize = (int) longOption(options, "max-group-size", volumes.maxGroupSize);
+        volumes.events = longOption(options, "events", volumes.events);
+        volumes.groupInvitePercent = (int) longOption(options, "group-invite-percent", volumes.groupInvitePercent);
+        volumes.directInvites = (int) longOption(options, "direct-invites", volumes.directInvites);
+
+        Path databaseFile = dataDir.resolve(DATABASE_NAME + ".mv.db");
+        if (options.containsKey("reseed") || !Files.exists(databaseFile)) {
+            deleteDatabase(dataDir);
+            // First start creates the schema; seeding before the real start lets the startup
+            // loaders (search, booking and uniqueness indexes) see the whole dataset
+            try (ConfigurableApplicationContext context = start(WebApplicationType.NONE, datasourceUrl)) {
+                new DatasetGenerator(context.getBean(JdbcTemplate.class)).seed(volumes);
+            }
+        }
+
+        try (ConfigurableApplicationContext context = start(WebApplicationType.SERVLET, datasourceUrl)) {
+            JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+            long users = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+            long groups = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `groups`", Long.class);
+            long events = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class);
+            String port = context.getEnvironment().getProperty("local.server.port");
+
+            int clients = (int) longOption(options, "clients", 64);
+            Duration warmup = Duration.ofSeconds(longOption(options, "warmup", 30));
+            Duration duration = Duration.ofSeconds(longOption(options, "duration", 120));
+            System.out.printf("Dataset: %d users, %d groups, %d events. %d clients, %d s warm-up, %d s measured%n",
+                    users, groups, events, clients, warmup.getSeconds(), duration.getSeconds());
+
+            Workload workload = new Workload("http://localhost:" + port, users, groups, events,
+                    options.getOrDefault("mix", Workload.DEFAULT_MIX), options.containsKey("revalidate"));
+            workload.run(clients, warmup, duration);
+            workload.report(duration, System.out, dataDir.resolve("histograms"));
+        }
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String datasourceUrl) {
+        SpringApplication application = new SpringApplication(EventPlanningSyetemApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        application.setWebApplicationType(webApplicationType);
+        return application.run(datasourceUrl);
+    }
+
+    private static void deleteDatabase(Path dataDir) throws IOException {
+        if (!Files.isDirectory(dataDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(dataDir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                if (file.getFileName().toString().startsWith(DATABASE_NAME + ".")) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int equals = arg.indexOf('=');
+            if (equals < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return options;
+    }
+
+    private static long longOption(Map<String, String> options, String name, long defaultValue) {
+        String value = options.get(name);
+        return value == null ? defaultValue : Long.parseLong(value.replace("_", ""));
+    }
+}
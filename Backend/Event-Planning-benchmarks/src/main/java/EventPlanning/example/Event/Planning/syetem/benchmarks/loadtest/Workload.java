@@ -0,0 +1,257 @@
+package EventPlanning.example.Event.Planning.syetem.benchmarks.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Mixed read/write HTTP workload against a running instance. Each client thread runs a closed
+ * loop, picking an operation by weight and a random target from the seeded id ranges, and
+ * records the response time of every successful call in the operation's histogram.
+ * <p>
+ * With {@code revalidate} the list endpoints send If-None-Match like a browser would, so most
+ * of their calls are answered with 304 until a write changes the list. Those are recorded in a
+ * histogram of their own, so the full responses' percentiles are not mostly 304s.
+ */
+final class Workload {
+
+    /** Default operation weights, in the format accepted by {@code --mix}. */
+    static final String DEFAULT_MIX = "events.page:20,events.get:20,events.search:5,users.get:15,"
+            + "users.events:10,groups.get:10,groups.list:2,users.list:1,events.create:7,events.patch:7,"
+            + "groups.addMember:3";
+
+    private static final String[] SEARCH_TERMS = {"planning", "offsite", "launch", "charity", "meetup",
+            "board", "festival", "workshop", "train", "synthetic"};
+
+    // Histograms record microseconds, up to one minute
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private static final class Operation {
+        final String name;
+        final int weight;
+        final Function<ThreadLocalRandom, HttpRequest.Builder> request;
+        final boolean revalidate;
+        final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final Histogram notModified = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicReference<String> eTag = new AtomicReference<>();
+
+        Operation(String name, int weight, Function<ThreadLocalRandom, HttpRequest.Builder> request,
+                  boolean revalidate) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+            this.revalidate = revalidate;
+        }
+    }
+
+    private final String baseUrl;
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+    private final AtomicLong createdEvents = new AtomicLong();
+
+    Workload(String baseUrl, long users, long groups, long events, String mix, boolean revalidate) {
+        this.baseUrl = baseUrl;
+        Map<String, Integer> weights = parseMix(mix);
+        Map<String, Function<ThreadLocalRandom, HttpRequest.Builder>> requests = new LinkedHashMap<>();
+        requests.put("events.page", random -> get("/api/events?limit=50"));
+        requests.put("events.get", random -> get("/api/events/" + random.nextLong(1, events + 1)));
+        requests.put("events.search", random -> get("/api/events/search?q="
+                + SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)]));
+        requests.put("users.get", random -> get("/api/users/" + random.nextLong(1, users + 1)));
+        requests.put("users.events", random -> get("/api/users/user-" + random.nextLong(1, users + 1)
+                + "/events?limit=20"));
+        requests.put("groups.get", random -> get("/api/groups/" + random.nextLong(1, groups + 1)));
+        requests.put("groups.list", random -> get("/api/groups"));
+        requests.put("users.list", random -> get("/api/users"));
+        requests.put("events.create", random -> json("/api/events", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(newEvent(random, users, groups))));
+        requests.put("events.patch", random -> json("/api/events/" + random.nextLong(1, events + 1),
+                "application/merge-patch+json")
+                .method("PATCH", HttpRequest.BodyPublishers.ofString(
+                        "{\"description\":\"Updated by load test " + random.nextInt() + "\"}")));
+        requests.put("groups.addMember", random -> json("/api/groups/" + random.nextLong(1, groups + 1)
+                + "/members", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("[\"user-" + random.nextLong(1, users + 1) + "\"]")));
+
+        int total = 0;
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            Function<ThreadLocalRandom, HttpRequest.Builder> request = requests.get(entry.getKey());
+            if (request == null) {
+                throw new IllegalArgumentException("Unknown operation " + entry.getKey()
+                        + ", expected one of " + requests.keySet());
+            }
+            if (entry.getValue() > 0) {
+                operations.add(new Operation(entry.getKey(), entry.getValue(), request,
+                        revalidate && entry.getKey().endsWith(".list")));
+                total += entry.getValue();
+            }
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The mix has no operation with a positive weight");
+        }
+        this.totalWeight = total;
+    }
+
+    /**
+     * Runs {@code clients} closed loops for the warm-up, discards what was recorded, then runs
+     * them for the measured duration.
+     */
+    void run(int clients, Duration warmup, Duration duration) throws InterruptedException {
+        drive(clients, warmup);
+        for (Operation operation : operations) {
+            operation.histogram.reset();
+            operation.notModified.reset();
+            operation.errors.set(0);
+        }
+        drive(clients, duration);
+    }
+
+    private void drive(int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Thread> threads = new ArrayList<>(clients);
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    call(pick(random), random);
+                }
+            }, "load-client-" + i);
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+    }
+
+    private void call(Operation operation, ThreadLocalRandom random) {
+        HttpRequest.Builder builder = operation.request.apply(random).timeout(Duration.ofSeconds(60));
+        String eTag = operation.eTag.get();
+        if (operation.revalidate && eTag != null) {
+            builder.header("If-None-Match", eTag);
+        }
+        long start = System.nanoTime();
+        try {
+            HttpResponse<Void> response = http.send(builder.build(), HttpResponse.BodyHandlers.discarding());
+            long micros = (System.nanoTime() - start) / 1000;
+            int status = response.statusCode();
+            if (status >= 400) {
+                operation.errors.incrementAndGet();
+                return;
+            }
+            if (operation.revalidate) {
+                response.headers().firstValue("ETag").ifPresent(operation.eTag::set);
+            }
+            Histogram histogram = status == 304 ? operation.notModified : operation.histogram;
+            histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        } catch (IOException e) {
+            operation.errors.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints throughput and latency percentiles per operation, and writes each operation's full
+     * percentile distribution (HdrHistogram .hgrm format, milliseconds) to {@code histogramDir}.
+     * A revalidating operation gets a second row and file, suffixed 304, for its Not Modified
+     * answers.
+     */
+    void report(Duration duration, PrintStream out, Path histogramDir) throws IOException {
+        double seconds = duration.toMillis() / 1000.0;
+        long totalCount = 0;
+        out.printf(Locale.ROOT, "%-18s %10s %9s %8s %9s %9s %9s %9s %9s %9s%n", "operation", "requests",
+                "req/s", "errors", "mean ms", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Files.createDirectories(histogramDir);
+        for (Operation operation : operations) {
+            totalCount += operation.histogram.getTotalCount() + operation.notModified.getTotalCount();
+            report(operation.name, operation.histogram, operation.errors.get(), seconds, out, histogramDir);
+            if (operation.revalidate) {
+                report(operation.name + " 304", operation.notModified, 0, seconds, out, histogramDir);
+            }
+        }
+        out.printf(Locale.ROOT, "%-18s %10d %9.1f%n", "total", totalCount, totalCount / seconds);
+        out.println("Latency distributions written to " + histogramDir.toAbsolutePath());
+    }
+
+    private static void report(String name, Histogram histogram, long errors, double seconds, PrintStream out,
+                               Path histogramDir) throws IOException {
+        out.printf(Locale.ROOT, "%-18s %10d %9.1f %8d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), histogram.getTotalCount() / seconds, errors,
+                histogram.getMean() / 1000.0, millis(histogram, 50), millis(histogram, 90), millis(histogram, 99),
+                millis(histogram, 99.9), histogram.getMaxValue() / 1000.0);
+        try (PrintStream file = new PrintStream(Files.newOutputStream(
+                histogramDir.resolve(name.replace(' ', '.') + ".hgrm")))) {
+            histogram.outputPercentileDistribution(file, 1000.0);
+        }
+    }
+
+    private Operation pick(ThreadLocalRandom random) {
+        int remaining = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            remaining -= operation.weight;
+            if (remaining < 0) {
+                return operation;
+            }
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).GET();
+    }
+
+    private HttpRequest.Builder json(String path, String contentType) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).header("Content-Type", contentType);
+    }
+
+    // Every created event gets its own venue, so creates never fail on a booking conflict
+    private String newEvent(ThreadLocalRandom random, long users, long groups) {
+        long n = createdEvents.incrementAndGet();
+        LocalDateTime start = LocalDateTime.now().plusDays(random.nextInt(1, 365)).withNano(0);
+        return "{\"eventTitle\":\"Load test event " + n + "\",\"description\":\"Created by the load test\","
+                + "\"dateTime\":\"" + start + "\",\"venue\":{\"address\":\"Load test venue " + n + "\","
+                + "\"latitude\":6.9271,\"longitude\":79.8612},\"eventType\":\"Meetup\",\"isPublic\":true,"
+                + "\"inviteType\":\"group\",\"invitedGroups\":[{\"groupCode\":\"group-" + random.nextLong(1, groups + 1)
+                + "\"}],\"invitedUsers\":[{\"userId\":\"user-" + random.nextLong(1, users + 1) + "\"}],"
+                + "\"status\":\"SCHEDULED\"}";
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String part : mix.split(",")) {
+            String[] nameAndWeight = part.trim().split(":");
+            if (nameAndWeight.length != 2) {
+                throw new IllegalArgumentException("Expected operation:weight, got " + part);
+            }
+            weights.put(nameAndWeight[0].trim(), Integer.parseInt(nameAndWeight[1].trim()));
+        }
+        return weights;
+    }
+}
@@ -0,0 +1,132 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load generator used by compare-thread-modes.sh. Runs on Java 17+ without
+ * a build: {@code java scripts/LoadCompare.java <baseUrl> <clients> <seconds> <path>...}.
+ * <p>
+ * Each client thread requests the given paths round-robin for the duration and records the
+ * latency of every response. Prints, per path, throughput, error count (non-2xx/304 or I/O
+ * failure) and latency percentiles.
+ */
+public class LoadCompare {
+
+    private static final class PathStats {
+        final String path;
+        final List<long[]> perClient = new ArrayList<>();
+        final AtomicLong errors = new AtomicLong();
+
+        PathStats(String path) {
+            this.path = path;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.err.println("Usage: java LoadCompare.java <baseUrl> <clients> <seconds> <path>...");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        int clients = Integer.parseInt(args[1]);
+        long seconds = Long.parseLong(args[2]);
+        List<PathStats> paths = new ArrayList<>();
+        for (String path : Arrays.copyOfRange(args, 3, args.length)) {
+            paths.add(new PathStats(path));
+        }
+
+        HttpClient http = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newFixedThreadPool(4))
+                .build();
+        ExecutorService pool = Executors.newFixedThreadPool(clients);
+        CountDownLatch done = new CountDownLatch(clients);
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<List<long[]>> recorded = new ArrayList<>();
+
+        for (int c = 0; c < clients; c++) {
+            int offset = c;
+            List<long[]> mine = new ArrayList<>();
+            for (int p = 0; p < paths.size(); p++) {
+                mine.add(new long[1 << 14]);
+            }
+            recorded.add(mine);
+            int[] counts = new int[paths.size()];
+            pool.execute(() -> {
+                int i = offset;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        int p = i++ % paths.size();
+                        PathStats stats = paths.get(p);
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + stats.path))
+                                .timeout(Duration.ofSeconds(60))
+                                .GET()
+                                .build();
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 300 && response.statusCode() != 304) {
+                                stats.errors.incrementAndGet();
+                                continue;
+                            }
+                        } catch (Exception e) {
+                            stats.errors.incrementAndGet();
+                            continue;
+                        }
+                        long[] samples = mine.get(p);
+                        if (counts[p] == samples.length) {
+                            samples = Arrays.copyOf(samples, samples.length * 2);
+                            mine.set(p, samples);
+                        }
+                        samples[counts[p]++] = System.nanoTime() - start;
+                    }
+                } finally {
+                    for (int p = 0; p < paths.size(); p++) {
+                        mine.set(p, Arrays.copyOf(mine.get(p), counts[p]));
+                    }
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+
+        System.out.printf("%-40s %8s %8s %9s %9s %9s %9s%n", "path", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        for (int p = 0; p < paths.size(); p++) {
+            int total = 0;
+            for (List<long[]> client : recorded) {
+                total += client.get(p).length;
+            }
+            long[] all = new long[total];
+            int at = 0;
+            for (List<long[]> client : recorded) {
+                long[] samples = client.get(p);
+                System.arraycopy(samples, 0, all, at, samples.length);
+                at += samples.length;
+            }
+            Arrays.sort(all);
+            PathStats stats = paths.get(p);
+            System.out.printf("%-40s %8.1f %8d %9.1f %9.1f %9.1f %9.1f%n", stats.path,
+                    (double) total / seconds, stats.errors.get(),
+                    percentile(all, 50), percentile(all, 90), percentile(all, 99),
+                    all.length == 0 ? 0.0 : all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+}
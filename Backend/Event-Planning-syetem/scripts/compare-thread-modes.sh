@@ -0,0 +1,47 @@
+#!/usr/bin/env bash
+# Compares request latency with platform threads (default) and with the virtual-threads profile.
+#
+# Usage: scripts/compare-thread-modes.sh [clients] [seconds]
+#
+# Builds the jar, then for each mode starts the app against the configured MySQL database,
+# warms it up and drives the same closed-loop load with scripts/LoadCompare.java. Use more
+# clients than Tomcat's 200 worker threads to see the difference. Set SPIKE=1 to emulate a
+# slow-database spike: halfway through each run a MySQL session holds a write lock on the
+# events table for SPIKE_SECONDS (default 5), so event reads stall while user reads do not.
+# The virtual-threads mode needs a Java 21+ runtime.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+CLIENTS=${1:-400}
+SECONDS_PER_RUN=${2:-30}
+PORT=${PORT:-8085}
+BASE_URL="http://localhost:${PORT}"
+PATHS=("/api/events?limit=50" "/api/users/1" "/api/events/search?q=meet")
+
+./mvnw -q -DskipTests package
+JAR=$(ls target/Event-Planning-syetem-*.jar | grep -v '\.original$' | head -1)
+
+for mode in platform virtual-threads; do
+  args=(--server.port="${PORT}")
+  if [ "$mode" = virtual-threads ]; then
+    args+=(--spring.profiles.active=virtual-threads)
+  fi
+  java -jar "$JAR" "${args[@]}" > "target/compare-${mode}.log" 2>&1 &
+  app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+  until curl -fs -o /dev/null "${BASE_URL}/api/events?limit=1" || curl -s -o /dev/null -w '%{http_code}' "${BASE_URL}/api/events?limit=1" | grep -q 204; do
+    sleep 1
+  done
+
+  java scripts/LoadCompare.java "$BASE_URL" 50 10 "${PATHS[@]}" > /dev/null # warm-up
+
+  if [ "${SPIKE:-0}" = 1 ]; then
+    (sleep $((SECONDS_PER_RUN / 2)); mysql -u "${DB_USER:-root}" ${DB_PASSWORD:+-p"$DB_PASSWORD"} eventplanningsys \
+      -e "LOCK TABLES events WRITE; SELECT SLEEP(${SPIKE_SECONDS:-5}); UNLOCK TABLES;" > /dev/null) &
+  fi
+  echo "== ${mode}: ${CLIENTS} clients, ${SECONDS_PER_RUN}s"
+  java scripts/LoadCompare.java "$BASE_URL" "$CLIENTS" "$SECONDS_PER_RUN" "${PATHS[@]}"
+
+  kill "$app"
+  wait "$app" 2>/dev/null || true
+done
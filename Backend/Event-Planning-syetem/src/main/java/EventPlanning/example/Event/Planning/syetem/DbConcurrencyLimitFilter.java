@@ -0,0 +1,69 @@
+package EventPlanning.example.Event.Planning.syetem;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds how many API requests run at once when requests are served on virtual threads.
+ * <p>
+ * With platform threads the Tomcat pool implicitly capped concurrency; with virtual threads
+ * every request gets a thread, and thousands of them would otherwise queue inside the
+ * connection pool (and, with JDBC drivers that block inside {@code synchronized}, pin carrier
+ * threads). Requests wait here, in arrival order, for one of {@code app.db.max-concurrency}
+ * permits, and get 503 with Retry-After when none frees up within the acquire timeout.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DbConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+
+    private final long acquireTimeoutMillis;
+
+    public DbConcurrencyLimitFilter(@Value("${app.db.max-concurrency:10}") int maxConcurrency,
+                                    @Value("${app.db.acquire-timeout:5s}") Duration acquireTimeout) {
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        if (!acquired) {
+            response.setHeader("Retry-After", "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "Server busy");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+}
@@ -2,8 +2,10 @@ package EventPlanning.example.Event.Planning.syetem;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EventPlanningSyetemApplication {
 
 	public static void main(String[] args) {
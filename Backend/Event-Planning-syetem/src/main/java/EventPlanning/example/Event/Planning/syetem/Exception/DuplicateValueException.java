@@ -0,0 +1,15 @@
+package EventPlanning.example.Event.Planning.syetem.Exception;
+
+public class DuplicateValueException extends RuntimeException {
+
+    private final String field;
+
+    public DuplicateValueException(String field, String value) {
+        super(field + " '" + value + "' already exists");
+        this.field = field;
+    }
+
+    public String getField() {
+        return field;
+    }
+}
@@ -0,0 +1,7 @@
+package EventPlanning.example.Event.Planning.syetem.Exception;
+
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
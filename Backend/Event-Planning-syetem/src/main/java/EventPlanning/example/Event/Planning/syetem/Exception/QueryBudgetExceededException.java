@@ -0,0 +1,7 @@
+package EventPlanning.example.Event.Planning.syetem.Exception;
+
+public class QueryBudgetExceededException extends RuntimeException {
+    public QueryBudgetExceededException(String message) {
+        super(message);
+    }
+}
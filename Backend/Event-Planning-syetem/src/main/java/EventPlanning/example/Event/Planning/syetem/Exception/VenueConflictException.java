@@ -0,0 +1,17 @@
+package EventPlanning.example.Event.Planning.syetem.Exception;
+
+import java.util.List;
+
+public class VenueConflictException extends RuntimeException {
+
+    private final List<Long> conflictingEventIds;
+
+    public VenueConflictException(String venueKey, List<Long> conflictingEventIds) {
+        super("Venue '" + venueKey + "' is already booked at that time by event(s) " + conflictingEventIds);
+        this.conflictingEventIds = conflictingEventIds;
+    }
+
+    public List<Long> getConflictingEventIds() {
+        return conflictingEventIds;
+    }
+}
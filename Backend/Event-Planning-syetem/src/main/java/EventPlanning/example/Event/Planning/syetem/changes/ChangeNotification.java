@@ -0,0 +1,30 @@
+package EventPlanning.example.Event.Planning.syetem.changes;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * What a change stream client is told about a committed change: enough to decide whether to
+ * refetch, not the entity itself.
+ */
+@Getter
+@AllArgsConstructor
+public class ChangeNotification {
+
+    public enum EntityType {
+        EVENT, GROUP, USER
+    }
+
+    public enum Operation {
+        CREATED, UPDATED, DELETED
+    }
+
+    private final EntityType entityType;
+
+    private final Long id;
+
+    // Version after the change; null for deletes and set-based updates that do not read it back
+    private final Long version;
+
+    private final Operation operation;
+}
@@ -0,0 +1,372 @@
+package EventPlanning.example.Event.Planning.syetem.changes;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Fans committed entity changes out to Server-Sent Events subscribers.
+ * <p>
+ * Changes get a sequence number and are kept in a ring buffer of the last
+ * {@code app.changes.buffer-size}, so a reconnecting client that sends its Last-Event-ID gets
+ * what it missed; a client that fell further behind, or whose id is from an earlier run of the
+ * server, is sent a {@code reset} event and should refetch. A fresh stream starts with a
+ * {@code ready} event, so even a client that sees no change before reconnecting has an id to
+ * resume from.
+ * <p>
+ * Subscribers hold no thread: each has a bounded queue drained by a small shared pool, and one
+ * that cannot keep up is disconnected (it reconnects and resumes) instead of slowing down the
+ * others. A write to a client that stopped reading blocks its sender thread, so a write still
+ * running after {@code app.changes.send-timeout} disconnects that client and the pool gets an
+ * extra thread until the write gives up.
+ */
+@Service
+public class ChangeStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChangeStreamService.class);
+
+    private static final String CHANGE = "change";
+    private static final String RESET = "reset";
+    private static final String READY = "ready";
+
+    // Stands for a keep-alive comment in a subscriber's queue
+    private static final Entry HEARTBEAT = new Entry(0, null, null);
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.changes.buffer-size:10000}")
+    private int bufferSize;
+
+    @Value("${app.changes.subscriber-queue-size:256}")
+    private int subscriberQueueSize;
+
+    @Value("${app.changes.sender-threads:4}")
+    private int senderThreads;
+
+    @Value("${app.changes.heartbeat-interval:30s}")
+    private Duration heartbeatInterval;
+
+    @Value("${app.changes.emitter-timeout:30m}")
+    private Duration emitterTimeout;
+
+    @Value("${app.changes.send-timeout:10s}")
+    private Duration sendTimeout;
+
+    // Extra sender threads that may be blocked on stalled clients at once
+    @Value("${app.changes.max-stalled-senders:64}")
+    private int maxStalledSenders;
+
+    // Event ids are "<run>-<sequence>", so ids from before a restart are recognised as such
+    private final String run = Long.toString(System.currentTimeMillis(), 36);
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private Entry[] ring;
+    private long lastSequence;
+    private ThreadPoolExecutor senders;
+    private ScheduledExecutorService timer;
+    private Counter stalled;
+
+    // Subscribers with a write in progress, watched for writes that take too long
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+
+    // Guarded by senders
+    private int lentSenders;
+
+    private static final class Entry {
+        final long sequence;
+        final String name;
+        final String json;
+
+        Entry(long sequence, String name, String json) {
+            this.sequence = sequence;
+            this.name = name;
+            this.json = json;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        ring = new Entry[bufferSize];
+        senders = new ThreadPoolExecutor(senderThreads, senderThreads, 1, TimeUnit.MINUTES,
+                new LinkedBlockingQueue<>(), daemon("change-stream-sender"));
+        // Its own thread, so heartbeats and stall checks keep running while every sender is blocked
+        timer = Executors.newSingleThreadScheduledExecutor(daemon("change-stream-timer"));
+        timer.scheduleAtFixedRate(() -> subscribers.forEach(subscriber -> subscriber.enqueue(HEARTBEAT)),
+                heartbeatInterval.toMillis(), heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+        long checkInterval = Math.max(1, sendTimeout.toMillis() / 2);
+        timer.scheduleAtFixedRate(this::disconnectStalled, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+        meterRegistry.gaugeCollectionSize("app.changes.subscribers", Tags.empty(), subscribers);
+        stalled = meterRegistry.counter("app.changes.stalled");
+    }
+
+    @PreDestroy
+    void stop() {
+        timer.shutdownNow();
+        subscribers.forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Publishes a change once its transaction has committed (right away outside a transaction).
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(EntityChangedEvent event) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(event.toNotification());
+        } catch (JsonProcessingException e) {
+            logger.error("Could not serialize change notification", e);
+            return;
+        }
+        synchronized (this) {
+            Entry entry = new Entry(++lastSequence, CHANGE, json);
+            ring[(int) (entry.sequence % bufferSize)] = entry;
+            for (Subscriber subscriber : subscribers) {
+                subscriber.enqueue(entry);
+            }
+        }
+    }
+
+    /**
+     * Opens a stream; with a {@code lastEventId} it starts with the changes after that one.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(emitterTimeout.toMillis()));
+    }
+
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        Subscriber subscriber = new Subscriber(emitter);
+        // Under the lock, so no change falls between the replay and the live feed
+        synchronized (this) {
+            List<Entry> missed = missedSince(lastEventId);
+            subscribers.add(subscriber);
+            if (missed == null) {
+                subscriber.enqueue(new Entry(lastSequence, RESET, "{}"));
+            } else if (lastEventId == null || lastEventId.isBlank()) {
+                subscriber.enqueue(new Entry(lastSequence, READY, "{}"));
+            } else {
+                missed.forEach(subscriber::enqueue);
+            }
+        }
+        return subscriber.emitter;
+    }
+
+    /**
+     * @return the buffered changes after {@code lastEventId}, or null if they are not all buffered
+     */
+    private List<Entry> missedSince(String lastEventId) {
+        List<Entry> missed = new ArrayList<>();
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return missed;
+        }
+        int separator = lastEventId.indexOf('-');
+        if (separator < 0 || !lastEventId.substring(0, separator).equals(run)) {
+            return null;
+        }
+        long after;
+        try {
+            after = Long.parseLong(lastEventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        long oldest = Math.max(1, lastSequence - bufferSize + 1);
+        if (after > lastSequence || after < oldest - 1) {
+            return null;
+        }
+        for (long sequence = after + 1; sequence <= lastSequence; sequence++) {
+            missed.add(ring[(int) (sequence % bufferSize)]);
+        }
+        return missed;
+    }
+
+    private String eventId(long sequence) {
+        return run + "-" + sequence;
+    }
+
+    private void disconnectStalled() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : sending) {
+            subscriber.disconnectIfStalled(now);
+        }
+    }
+
+    /**
+     * Adds a sender thread in place of one blocked on a stalled client.
+     *
+     * @return false if too many are blocked already
+     */
+    private boolean lendSender() {
+        synchronized (senders) {
+            if (lentSenders == maxStalledSenders) {
+                return false;
+            }
+            lentSenders++;
+            senders.setMaximumPoolSize(senderThreads + lentSenders);
+            senders.setCorePoolSize(senderThreads + lentSenders);
+            return true;
+        }
+    }
+
+    private void returnSender() {
+        synchronized (senders) {
+            lentSenders--;
+            senders.setCorePoolSize(senderThreads + lentSenders);
+            senders.setMaximumPoolSize(senderThreads + lentSenders);
+        }
+    }
+
+    private final class Subscriber {
+        final SseEmitter emitter;
+        final BlockingQueue<Entry> queue = new ArrayBlockingQueue<>(subscriberQueueSize);
+        final AtomicBoolean draining = new AtomicBoolean();
+        final AtomicBoolean closed = new AtomicBoolean();
+        // When the write in progress started, 0 if none is
+        volatile long sendingSince;
+        // Set once a sender thread was lent for this subscriber's blocked write
+        final AtomicBoolean lent = new AtomicBoolean();
+        // Only touched by the timer thread
+        boolean stalledSeen;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+            emitter.onCompletion(() -> subscribers.remove(this));
+            emitter.onTimeout(this::close);
+            emitter.onError(error -> close());
+        }
+
+        void enqueue(Entry entry) {
+            if (closed.get()) {
+                return;
+            }
+            if (!queue.offer(entry)) {
+                // Too slow; it resumes from its Last-Event-ID when it reconnects
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down, the container closes the connection
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Entry entry;
+                while (!closed.get() && (entry = queue.poll()) != null) {
+                    send(entry);
+                }
+            } catch (IOException | RuntimeException e) {
+                close();
+            }
+            if (closed.get()) {
+                // Completed here rather than in close(): the emitter is locked while a write blocks.
+                // Draining stays set, so this runs once.
+                emitter.complete();
+                return;
+            }
+            draining.set(false);
+            if (!queue.isEmpty() || closed.get()) {
+                scheduleDrain();
+            }
+        }
+
+        private void send(Entry entry) throws IOException {
+            sendingSince = System.nanoTime();
+            sending.add(this);
+            try {
+                if (entry == HEARTBEAT) {
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    emitter.send(SseEmitter.event().id(eventId(entry.sequence)).name(entry.name)
+                            .data(entry.json, MediaType.APPLICATION_JSON));
+                }
+            } finally {
+                sending.remove(this);
+                sendingSince = 0;
+                if (lent.compareAndSet(true, false)) {
+                    returnSender();
+                }
+            }
+        }
+
+        /**
+         * Disconnects this subscriber if its write has been blocked for longer than the send
+         * timeout, and lends the pool a thread until the write returns.
+         */
+        void disconnectIfStalled(long now) {
+            long since = sendingSince;
+            if (stalledSeen || since == 0 || now - since < sendTimeout.toNanos()) {
+                return;
+            }
+            stalledSeen = true;
+            stalled.increment();
+            close();
+            if (lendSender()) {
+                lent.set(true);
+                // The write may have returned before the flag was set; then nobody else gives it back
+                if (sendingSince == 0 && lent.compareAndSet(true, false)) {
+                    returnSender();
+                }
+            }
+        }
+
+        /**
+         * Stops sending; the sender completes the emitter once any write in progress returns.
+         */
+        void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.remove(this);
+                queue.clear();
+                scheduleDrain();
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package EventPlanning.example.Event.Planning.syetem.changes;
+
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.Operation;
+
+import java.util.function.Supplier;
+
+/**
+ * Published by the service mutators through the application event publisher. The version is
+ * read only once the transaction has committed, when Hibernate has incremented it.
+ */
+public final class EntityChangedEvent {
+
+    private final EntityType entityType;
+    private final Long id;
+    private final Supplier<Long> version;
+    private final Operation operation;
+
+    private EntityChangedEvent(EntityType entityType, Long id, Supplier<Long> version, Operation operation) {
+        this.entityType = entityType;
+        this.id = id;
+        this.version = version;
+        this.operation = operation;
+    }
+
+    public static EntityChangedEvent created(EntityType entityType, Long id, Supplier<Long> version) {
+        return new EntityChangedEvent(entityType, id, version, Operation.CREATED);
+    }
+
+    public static EntityChangedEvent updated(EntityType entityType, Long id, Supplier<Long> version) {
+        return new EntityChangedEvent(entityType, id, version, Operation.UPDATED);
+    }
+
+    public static EntityChangedEvent deleted(EntityType entityType, Long id) {
+        return new EntityChangedEvent(entityType, id, () -> null, Operation.DELETED);
+    }
+
+    ChangeNotification toNotification() {
+        return new ChangeNotification(entityType, id, version.get(), operation);
+    }
+}
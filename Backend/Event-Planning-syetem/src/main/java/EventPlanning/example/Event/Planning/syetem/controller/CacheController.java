@@ -0,0 +1,26 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import EventPlanning.example.Event.Planning.syetem.dto.CacheStatsView;
+import EventPlanning.example.Event.Planning.syetem.service.IdLookupCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private IdLookupCache idLookupCache;
+
+    // Hit/miss statistics of the groupCode and userId lookup caches
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatsView>> getCacheStats() {
+        return new ResponseEntity<>(idLookupCache.stats(), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,36 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeStreamService;
+import EventPlanning.example.Event.Planning.syetem.metrics.QueryBudget;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/changes")
+public class ChangeStreamController {
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    // Server-Sent Events stream of committed event, group and user changes. Browsers resend the
+    // last id in Last-Event-ID when they reconnect; other clients can pass it as lastEventId.
+    @QueryBudget(0)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+            @RequestParam(value = "lastEventId", required = false) String lastEventId) {
+        SseEmitter emitter = changeStreamService.subscribe(lastEventIdHeader != null ? lastEventIdHeader : lastEventId);
+        // Keeps proxies such as nginx from buffering the stream
+        return ResponseEntity.ok()
+                .header("Cache-Control", "no-cache")
+                .header("X-Accel-Buffering", "no")
+                .body(emitter);
+    }
+}
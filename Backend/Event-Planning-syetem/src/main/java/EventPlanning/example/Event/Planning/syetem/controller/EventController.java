@@ -1,34 +1,97 @@
 package EventPlanning.example.Event.Planning.syetem.controller;
 
+import EventPlanning.example.Event.Planning.syetem.Exception.PreconditionFailedException;
+import EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException;
+import EventPlanning.example.Event.Planning.syetem.dto.BulkImportResult;
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
+import EventPlanning.example.Event.Planning.syetem.dto.NearbyEvent;
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
+import EventPlanning.example.Event.Planning.syetem.dto.VenueConflict;
 import EventPlanning.example.Event.Planning.syetem.model.Event;
 import EventPlanning.example.Event.Planning.syetem.model.Group;
 import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.metrics.QueryBudget;
 import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
+import EventPlanning.example.Event.Planning.syetem.service.BulkImportService;
+import EventPlanning.example.Event.Planning.syetem.service.EntityTagService;
+import EventPlanning.example.Event.Planning.syetem.service.EventExportService;
+import EventPlanning.example.Event.Planning.syetem.service.EventGeoService;
+import EventPlanning.example.Event.Planning.syetem.service.EventInviteeService;
+import EventPlanning.example.Event.Planning.syetem.service.EventPatchService;
+import EventPlanning.example.Event.Planning.syetem.service.EventQueryService;
 import EventPlanning.example.Event.Planning.syetem.service.EventService;
+import EventPlanning.example.Event.Planning.syetem.service.FieldSelection;
+import EventPlanning.example.Event.Planning.syetem.service.FieldsetQueryService;
 import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
 import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
 import EventPlanning.example.Event.Planning.syetem.service.GroupService;
+import EventPlanning.example.Event.Planning.syetem.service.ResourceNotFoundException;
 import EventPlanning.example.Event.Planning.syetem.service.UserService;
+import EventPlanning.example.Event.Planning.syetem.service.VenueBookingIndex;
+import com.fasterxml.jackson.databind.JsonNode;
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/events")
 public class EventController {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventController.class);
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @Autowired
     private EventRepository eventRepository;
 
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private EventExportService eventExportService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private EventGeoService eventGeoService;
+
+    @Autowired
+    private VenueBookingIndex venueBookingIndex;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private EventPatchService eventPatchService;
+
+    @Autowired
+    private FieldsetQueryService fieldsetQueryService;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -42,13 +105,19 @@ public class EventController {
     private UserService userService;
 
 
+    @QueryBudget(17)
     @PostMapping
     public ResponseEntity<?> createEvent(@RequestBody Event event) {
         try {
             Event createdEvent = eventService.createEvent(event);
-            return ResponseEntity.status(201).body(createdEvent);
+            // Invitees are unloaded references; answer with the view instead of the entity
+            return ResponseEntity.status(201).body(eventQueryService.getEventById(createdEvent.getId()).get());
+        } catch (VenueConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error creating event", e);
             return ResponseEntity.status(500).body("Error creating event");
         }
     }
@@ -56,34 +125,148 @@ public class EventController {
 
 
 
-    // Get all events
+    // Bulk import events from a JSON array or CSV payload; rejected rows are reported individually
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importEvents(HttpServletRequest request) {
+        try {
+            BulkImportResult result = bulkImportService.importEvents(request.getInputStream(), request.getContentType());
+            return ResponseEntity.ok(result);
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.status(400).body("Could not read import payload");
+        }
+    }
+
+    // Get a page of events, ordered by dateTime. Pass the X-Next-Cursor header back as ?cursor= for the next page.
+    // ?fields= picks the fields; invitees are ids unless named in ?expand= (invitedGroups,
+    // invitedGroups.groupMembers, invitedUsers).
+    @QueryBudget(8)
     @GetMapping
-    public ResponseEntity<List<Event>> getAllEvents() {
+    public ResponseEntity<List<Map<String, Object>>> getAllEvents(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "status", required = false) String status,
+            @RequestParam(value = "eventType", required = false) String eventType,
+            @RequestParam(value = "from", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(value = "to", required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            WebRequest webRequest) {
         try {
-            List<Event> events = eventService.getAllEvents();
-            if (events.isEmpty()) {
+            FieldSelection selection = FieldSelection.parse(fields, expand,
+                    FieldsetQueryService.EVENT_FIELDS, FieldsetQueryService.EVENT_EXPANSIONS);
+            // Answer a matching If-None-Match from the page's row versions alone
+            String eTag = entityTagService.eventPageTag(status, eventType, from, to, cursor, limit, selection);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            KeysetPage<Map<String, Object>> page = fieldsetQueryService.getEventPage(status, eventType, from, to,
+                    cursor, limit, selection);
+            if (page.getItems().isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(events, HttpStatus.OK);
+            HttpHeaders headers = new HttpHeaders();
+            headers.setETag(eTag);
+            if (page.getNextCursor() != null) {
+                headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             // Consider logging the error here
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Get a single event by ID
-    @GetMapping("/{id}")
-    public ResponseEntity<Event> getEventById(@PathVariable("id") Long id) {
-        Optional<Event> eventData = eventService.getEventById(id);
+    // Export every event as newline-delimited JSON, streamed without buffering the full result
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEvents() {
+        StreamingResponseBody body = out -> eventExportService.exportNdjson(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // Find events whose venue lies within radiusKm of (lat, lng), nearest first
+    @QueryBudget(6)
+    @GetMapping("/nearby")
+    public ResponseEntity<List<NearbyEvent>> getNearbyEvents(
+            @RequestParam("lat") double lat,
+            @RequestParam("lng") double lng,
+            @RequestParam("radiusKm") double radiusKm,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return new ResponseEntity<>(eventGeoService.findNearby(lat, lng, radiusKm, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Search event titles and descriptions by keyword; each word also matches as a prefix
+    @QueryBudget(6)
+    @GetMapping("/search")
+    public ResponseEntity<List<EventView>> searchEvents(
+            @RequestParam("q") String query,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        try {
+            return new ResponseEntity<>(eventQueryService.search(query, limit), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // Report every pair of events booked into the same venue at overlapping times
+    @QueryBudget(0)
+    @GetMapping("/conflicts")
+    public ResponseEntity<List<VenueConflict>> getVenueConflicts() {
+        return new ResponseEntity<>(venueBookingIndex.conflictReport(), HttpStatus.OK);
+    }
+
+    // Get a single event by ID; JSON only, as its strong ETag stands for one encoding
+    @QueryBudget(8)
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<EventView> getEventById(@PathVariable("id") Long id, WebRequest webRequest) {
+        Optional<String> eTag = entityTagService.eventTag(id);
+        if (eTag.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
+        Optional<EventView> eventData = eventQueryService.getEventById(id);
 
         if (eventData.isPresent()) {
-            return new ResponseEntity<>(eventData.get(), HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag.get()).body(eventData.get());
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    // Get the deduplicated invitees of an event (direct invitees plus members of invited groups), paged by user id
+    @QueryBudget(3)
+    @GetMapping("/{id}/invitees")
+    public ResponseEntity<List<UserView>> getEventInvitees(
+            @PathVariable("id") Long id,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (!eventRepository.existsById(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        try {
+            KeysetPage<UserView> page = eventInviteeService.getInvitees(id, cursor, limit);
+            HttpHeaders headers = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                headers.add(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
 
+    @QueryBudget(9)
     @DeleteMapping("/{id}")
     public ResponseEntity<HttpStatus> deleteEvent(@PathVariable("id") Long id) {
         try {
@@ -95,24 +278,51 @@ public class EventController {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             // Handle other errors and log if necessary
-            e.printStackTrace();
+            logger.error("Error deleting event {}", id, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
+    // Partially update an event with a JSON Merge Patch; only the patched columns and invitee rows are written.
+    // invitedGroups/invitedUsers take an array (replace) or {"add": [...], "remove": [...]}.
+    @QueryBudget(16)
+    @PatchMapping(value = "/{id}", consumes = {"application/merge-patch+json", MediaType.APPLICATION_JSON_VALUE})
+    public ResponseEntity<?> patchEvent(@PathVariable Long id, @RequestBody JsonNode patch,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            eventPatchService.patchEvent(id, patch, ifMatch);
+            HttpHeaders headers = new HttpHeaders();
+            entityTagService.eventTag(id).ifPresent(headers::setETag);
+            return new ResponseEntity<>(headers, HttpStatus.NO_CONTENT);
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(404).body(e.getMessage());
+        } catch (PreconditionFailedException e) {
+            return ResponseEntity.status(412).body(e.getMessage());
+        } catch (VenueConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
+        }
+    }
+
+    @QueryBudget(24)
     @PutMapping("/{id}")
-    public ResponseEntity<Event> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
+    public ResponseEntity<?> updateEvent(@PathVariable Long id, @RequestBody Event eventDetails) {
         try {
             // Update the event
             Event updatedEvent = eventService.updateEvent(id, eventDetails);
 
             // Return the updated event in the response
-            return new ResponseEntity<>(updatedEvent, HttpStatus.OK);
+            return new ResponseEntity<>(eventQueryService.getEventById(updatedEvent.getId()).get(), HttpStatus.OK);
+        } catch (VenueConflictException e) {
+            return ResponseEntity.status(409).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(400).body(e.getMessage());
         } catch (EntityNotFoundException e) {
             // Return 404 if the event was not found
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         } catch (Exception e) {
             // Handle other errors and log if necessary
-            e.printStackTrace();
+            logger.error("Error updating event {}", id, e);
             return new ResponseEntity<>(HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
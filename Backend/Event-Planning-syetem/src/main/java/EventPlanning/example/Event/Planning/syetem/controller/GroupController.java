@@ -1,15 +1,32 @@
 package EventPlanning.example.Event.Planning.syetem.controller;
 
+import EventPlanning.example.Event.Planning.syetem.dto.BulkImportResult;
 import EventPlanning.example.Event.Planning.syetem.model.Group;
 import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.metrics.QueryBudget;
+import EventPlanning.example.Event.Planning.syetem.service.BulkImportService;
+import EventPlanning.example.Event.Planning.syetem.service.EntityTagService;
+import EventPlanning.example.Event.Planning.syetem.service.FieldSelection;
+import EventPlanning.example.Event.Planning.syetem.service.FieldsetQueryService;
 import EventPlanning.example.Event.Planning.syetem.service.GroupService;
+import EventPlanning.example.Event.Planning.syetem.service.ResourceNotFoundException;
 import EventPlanning.example.Event.Planning.syetem.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -17,13 +34,25 @@ import java.util.stream.Collectors;
 @RequestMapping("/api/groups")
 public class GroupController {
 
+    private static final Logger logger = LoggerFactory.getLogger(GroupController.class);
+
     @Autowired
     private GroupService groupService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private FieldsetQueryService fieldsetQueryService;
+
     // Create a new group
+    @QueryBudget(8)
     @PostMapping
 
     public ResponseEntity<?> createGroup(@RequestBody Group group) {
@@ -33,28 +62,55 @@ public class GroupController {
                             .map(User::getUserId)
                             .collect(Collectors.toList())
             );
-            group.setGroupMembers(members);
+            group.setGroupMembers(new HashSet<>(members));
             Group createdGroup = groupService.saveGroup(group);
-            return ResponseEntity.status(201).body(createdGroup);
+            // Members are unloaded references; answer with the view instead of the entity
+            return ResponseEntity.status(201).body(groupService.getGroupView(createdGroup));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(400).body("Group code already exists");
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent insert; the unique constraint caught it
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Group code already exists");
         } catch (Exception e) {
-            e.printStackTrace();
+            logger.error("Error creating group", e);
             return ResponseEntity.status(500).body(null);
         }
     }
 
 
 
-    // Get all groups
+    // Bulk import groups from a JSON array or CSV payload; rejected rows are reported individually
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importGroups(HttpServletRequest request) {
+        try {
+            BulkImportResult result = bulkImportService.importGroups(request.getInputStream(), request.getContentType());
+            return ResponseEntity.ok(result);
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.status(400).body("Could not read import payload");
+        }
+    }
+
+    // Get all groups. ?fields= picks the fields; members are a memberCount unless ?expand=groupMembers
+    @QueryBudget(5)
     @GetMapping
-    public ResponseEntity<List<Group>> getAllGroups() {
+    public ResponseEntity<List<Map<String, Object>>> getAllGroups(
+            @RequestParam(value = "fields", required = false) String fields,
+            @RequestParam(value = "expand", required = false) String expand,
+            WebRequest webRequest) {
         try {
-            List<Group> groups = groupService.getAllGroups();
+            FieldSelection selection = FieldSelection.parse(fields, expand,
+                    FieldsetQueryService.GROUP_FIELDS, FieldsetQueryService.GROUP_EXPANSIONS);
+            String eTag = entityTagService.groupListTag(selection);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            List<Map<String, Object>> groups = fieldsetQueryService.getGroups(selection);
             if (groups.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(groups, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag).body(groups);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             // Log the exception for debugging
             // logger.error("Error fetching groups", e);
@@ -62,12 +118,20 @@ public class GroupController {
         }
     }
 
-    // Get a group by ID
-    @GetMapping("/{id}")
-    public ResponseEntity<Group> getGroupById(@PathVariable("id") Long id) {
+    // Get a group by ID (JSON only)
+    @QueryBudget(4)
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Group> getGroupById(@PathVariable("id") Long id, WebRequest webRequest) {
         try {
+            Optional<String> eTag = entityTagService.groupTag(id);
+            if (eTag.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+            }
+            if (webRequest.checkNotModified(eTag.get())) {
+                return null;
+            }
             Optional<Group> group = groupService.getGroupById(id);
-            return group.map(g -> new ResponseEntity<>(g, HttpStatus.OK))
+            return group.map(g -> ResponseEntity.ok().eTag(eTag.get()).body(g))
                     .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
         } catch (Exception e) {
             // Log the exception for debugging
@@ -78,6 +142,7 @@ public class GroupController {
 
 
 
+    @QueryBudget(6)
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteGroup(@PathVariable Long id) {
         try {
@@ -88,6 +153,39 @@ public class GroupController {
         }
     }
 
+    // Add a batch of members by userId; existing members are left untouched
+    @QueryBudget(8)
+    @PostMapping("/{id}/members")
+    public ResponseEntity<?> addMembers(@PathVariable Long id, @RequestBody List<String> userIds) {
+        try {
+            return ResponseEntity.ok(groupService.addMembers(id, userIds));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // A concurrent full update of the group won; the batch is safe to send again
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Group was modified concurrently, retry the request");
+        }
+    }
+
+    // Remove a batch of members by userId
+    @QueryBudget(8)
+    @DeleteMapping("/{id}/members")
+    public ResponseEntity<?> removeMembers(@PathVariable Long id, @RequestBody List<String> userIds) {
+        try {
+            return ResponseEntity.ok(groupService.removeMembers(id, userIds));
+        } catch (ResourceNotFoundException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            // A concurrent full update of the group won; the batch is safe to send again
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Group was modified concurrently, retry the request");
+        }
+    }
+
+    @QueryBudget(14)
     @PutMapping("/{id}")
     public ResponseEntity<Group> updateGroup(@PathVariable Long id, @RequestBody Group groupDetails) {
         Group updatedGroup = groupService.editGroup(id, groupDetails);
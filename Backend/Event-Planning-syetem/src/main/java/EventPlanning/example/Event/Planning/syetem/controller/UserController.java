@@ -1,13 +1,31 @@
 package EventPlanning.example.Event.Planning.syetem.controller;
 
+import EventPlanning.example.Event.Planning.syetem.Exception.DuplicateValueException;
+import EventPlanning.example.Event.Planning.syetem.dto.BulkImportResult;
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
 import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.metrics.QueryBudget;
+import EventPlanning.example.Event.Planning.syetem.service.BulkImportService;
+import EventPlanning.example.Event.Planning.syetem.service.EntityTagService;
+import EventPlanning.example.Event.Planning.syetem.service.EventQueryService;
+import EventPlanning.example.Event.Planning.syetem.service.FieldSelection;
+import EventPlanning.example.Event.Planning.syetem.service.FieldsetQueryService;
 import EventPlanning.example.Event.Planning.syetem.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RestController
@@ -17,63 +35,141 @@ public class UserController {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private FieldsetQueryService fieldsetQueryService;
+
     // Create a new user
+    @QueryBudget(4)
     @PostMapping
-    public ResponseEntity<User> createUser(@RequestBody User user) {
+    public ResponseEntity<?> createUser(@RequestBody User user) {
         try {
-            User createdUser = userService.saveUser(user);
+            User createdUser = userService.createUser(user);
             return new ResponseEntity<>(createdUser, HttpStatus.CREATED);
+        } catch (DuplicateValueException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            // Lost a race with a concurrent insert; the unique constraint caught it
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("userId or email already exists");
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Get all users
+    // Bulk import users from a JSON array or CSV payload; rejected rows are reported individually
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv"})
+    public ResponseEntity<?> importUsers(HttpServletRequest request) {
+        try {
+            BulkImportResult result = bulkImportService.importUsers(request.getInputStream(), request.getContentType());
+            return ResponseEntity.ok(result);
+        } catch (IOException | IllegalArgumentException e) {
+            return ResponseEntity.status(400).body("Could not read import payload");
+        }
+    }
+
+    // Get all users. ?fields= picks the fields
+    @QueryBudget(3)
     @GetMapping
-    public ResponseEntity<List<User>> getAllUsers() {
+    public ResponseEntity<List<Map<String, Object>>> getAllUsers(
+            @RequestParam(value = "fields", required = false) String fields,
+            WebRequest webRequest) {
         try {
-            List<User> users = userService.getAllUsers();
+            FieldSelection selection = FieldSelection.parse(fields, null,
+                    FieldsetQueryService.USER_FIELDS, Collections.emptySet());
+            String eTag = entityTagService.userListTag(selection);
+            if (webRequest.checkNotModified(eTag)) {
+                return null;
+            }
+            List<Map<String, Object>> users = fieldsetQueryService.getUsers(selection);
             if (users.isEmpty()) {
                 return new ResponseEntity<>(HttpStatus.NO_CONTENT);
             }
-            return new ResponseEntity<>(users, HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag).body(users);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         } catch (Exception e) {
             return new ResponseEntity<>(null, HttpStatus.INTERNAL_SERVER_ERROR);
         }
     }
 
-    // Get a single user by ID
-    @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable("id") Long id) {
+    // Get a single user by ID (JSON only)
+    @QueryBudget(3)
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<User> getUserById(@PathVariable("id") Long id, WebRequest webRequest) {
+        Optional<String> eTag = entityTagService.userTag(id);
+        if (eTag.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        if (webRequest.checkNotModified(eTag.get())) {
+            return null;
+        }
         Optional<User> userData = userService.getUserById(id);
 
         if (userData.isPresent()) {
-            return new ResponseEntity<>(userData.get(), HttpStatus.OK);
+            return ResponseEntity.ok().eTag(eTag.get()).body(userData.get());
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
+    // Get the events a user (by userId) is invited to, directly or through a group; scope is "upcoming" or "past"
+    @QueryBudget(8)
+    @GetMapping("/{userId}/events")
+    public ResponseEntity<List<EventView>> getUserEvents(
+            @PathVariable("userId") String userId,
+            @RequestParam(value = "scope", defaultValue = "upcoming") String scope,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (!"upcoming".equals(scope) && !"past".equals(scope)) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        Optional<User> user = userService.getUserByUserId(userId);
+        if (user.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        try {
+            KeysetPage<EventView> page = eventQueryService.getEventsForUser(
+                    user.get().getId(), "upcoming".equals(scope), cursor, limit);
+            HttpHeaders headers = new HttpHeaders();
+            if (page.getNextCursor() != null) {
+                headers.add(EventController.NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return new ResponseEntity<>(page.getItems(), headers, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     // Update a user by ID
+    @QueryBudget(6)
     @PutMapping("/{id}")
-    public ResponseEntity<User> updateUser(@PathVariable("id") Long id, @RequestBody User user) {
-        Optional<User> existingUser = userService.getUserById(id);
-
-        if (existingUser.isPresent()) {
-            User updatedUser = existingUser.get();
-            updatedUser.setUserId(user.getUserId());
-            updatedUser.setUserName(user.getUserName());
-            updatedUser.setEmail(user.getEmail());
-            updatedUser.setRole(user.getRole());
-            updatedUser.setStatus(user.getStatus());
-            userService.saveUser(updatedUser);
-            return new ResponseEntity<>(updatedUser, HttpStatus.OK);
+    public ResponseEntity<?> updateUser(@PathVariable("id") Long id, @RequestBody User user) {
+        Optional<User> updatedUser;
+        try {
+            updatedUser = userService.updateUser(id, user);
+        } catch (DuplicateValueException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("userId or email already exists");
+        }
+
+        if (updatedUser.isPresent()) {
+            return new ResponseEntity<>(updatedUser.get(), HttpStatus.OK);
         } else {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
     }
 
     // Delete a user by ID
+    @QueryBudget(6)
     @DeleteMapping("/{id}")
     public ResponseEntity<HttpStatus> deleteUser(@PathVariable("id") Long id) {
         try {
@@ -0,0 +1,53 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import java.time.Duration;
+
+/**
+ * Per-thread read-your-writes window: while it is open, {@link ReplicaRoutingDataSource} sends
+ * read-only transactions to the primary as well, so a thread never reads older data from a
+ * lagging replica than it has just written.
+ * <p>
+ * The window is opened by a read-write transaction on the thread, or from a client's cookie by
+ * {@link ReadYourWritesFilter}; it expires on its own, so threads that are not web requests
+ * (startup loaders, schedulers) fall back to the replica after it.
+ */
+public final class ReadYourWrites {
+
+    private static final ThreadLocal<Long> PRIMARY_UNTIL = new ThreadLocal<>();
+
+    private ReadYourWrites() {
+    }
+
+    /**
+     * Sticks reads of the current thread to the primary for the given duration from now; an
+     * already open window is only ever extended.
+     */
+    public static void stickToPrimaryFor(Duration window) {
+        stickToPrimaryUntil(System.currentTimeMillis() + window.toMillis());
+    }
+
+    /**
+     * Sticks reads of the current thread to the primary until the given epoch millisecond.
+     */
+    public static void stickToPrimaryUntil(long epochMillis) {
+        if (epochMillis > primaryUntil()) {
+            PRIMARY_UNTIL.set(epochMillis);
+        }
+    }
+
+    /**
+     * @return the epoch millisecond the current thread's window ends at, 0 if it never opened
+     */
+    public static long primaryUntil() {
+        Long until = PRIMARY_UNTIL.get();
+        return until != null ? until : 0;
+    }
+
+    public static boolean isStuckToPrimary() {
+        return primaryUntil() > System.currentTimeMillis();
+    }
+
+    public static void clear() {
+        PRIMARY_UNTIL.remove();
+    }
+}
@@ -0,0 +1,73 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/**
+ * Carries the read-your-writes window across requests of the same client: a mutating request
+ * sets a cookie holding the end of the window, and requests presenting it read from the primary
+ * until then. The thread's window is cleared after every request.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-until";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final Duration window;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.window = window;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        // A client can only ask for as long a window as a write of its own would have given it
+        ReadYourWrites.stickToPrimaryUntil(Math.min(primaryUntil(request), System.currentTimeMillis() + window.toMillis()));
+        if (!SAFE_METHODS.contains(request.getMethod())) {
+            // Set before the chain runs: the response may already be committed when it returns
+            ReadYourWrites.stickToPrimaryFor(window);
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(ReadYourWrites.primaryUntil()));
+            cookie.setPath("/api");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, window.toSeconds()));
+            response.addCookie(cookie);
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadYourWrites.clear();
+        }
+    }
+
+    private static long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
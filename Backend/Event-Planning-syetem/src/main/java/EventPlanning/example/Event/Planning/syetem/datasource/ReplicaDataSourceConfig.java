@@ -0,0 +1,67 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read-replica routing, enabled by setting {@code app.datasource.replica.jdbc-url}. The primary
+ * pool is configured as usual ({@code spring.datasource.*}), the replica pool under
+ * {@code app.datasource.replica.*} (any Hikari setting, e.g. {@code maximum-pool-size}).
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Value("${app.datasource.replica.read-your-writes-window:5s}")
+    private Duration readYourWritesWindow;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica")
+    HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    // The data source everything else uses; the lazy proxy delays the routing decision to the first statement
+    @Bean
+    @Primary
+    DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                          @Qualifier("replicaDataSource") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(primary, replica, readYourWritesWindow));
+    }
+
+    // Hand the connection back after each transaction instead of holding it for the whole
+    // (open-in-view) session, so every transaction of a request is routed on its own
+    @Bean
+    HibernatePropertiesCustomizer perTransactionConnectionCustomizer() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter(readYourWritesWindow);
+    }
+}
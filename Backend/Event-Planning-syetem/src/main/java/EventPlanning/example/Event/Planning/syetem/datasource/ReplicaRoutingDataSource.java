@@ -0,0 +1,52 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} transactions to the replica and
+ * everything else (read-write transactions, reads outside a transaction) to the primary.
+ * <p>
+ * A read-write transaction opens the thread's {@link ReadYourWrites} window, and reads inside
+ * an open window stay on the primary. The routing key is read when a physical connection is
+ * obtained, so this must sit behind a
+ * {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: the transaction
+ * manager asks for its connection before the transaction is marked read-only.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY, REPLICA
+    }
+
+    private final Duration readYourWritesWindow;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return currentTarget();
+    }
+
+    /**
+     * @return where a connection obtained on the current thread right now would go
+     */
+    Target currentTarget() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return ReadYourWrites.isStuckToPrimary() ? Target.PRIMARY : Target.REPLICA;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            ReadYourWrites.stickToPrimaryFor(readYourWritesWindow);
+        }
+        return Target.PRIMARY;
+    }
+}
@@ -0,0 +1,18 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A rejected row of a bulk import. {@code row} is 1-based in payload order.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkImportError {
+
+    private final long row;
+
+    private final String key;
+
+    private final String message;
+}
@@ -0,0 +1,39 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Only the first {@value #MAX_REPORTED_ERRORS} errors are listed;
+ * {@code errorCount} always holds the total.
+ */
+@Getter
+public class BulkImportResult {
+
+    public static final int MAX_REPORTED_ERRORS = 1000;
+
+    private long received;
+
+    private long imported;
+
+    private long errorCount;
+
+    private final List<BulkImportError> errors = new ArrayList<>();
+
+    public void addReceived(long count) {
+        received += count;
+    }
+
+    public void addImported(long count) {
+        imported += count;
+    }
+
+    public void addError(long row, String key, String message) {
+        errorCount++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add(new BulkImportError(row, key, message));
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Hit/miss counters of one in-process cache.
+ */
+@Getter
+@AllArgsConstructor
+public class CacheStatsView {
+
+    private final String name;
+
+    private final long size;
+
+    private final long hitCount;
+
+    private final long missCount;
+
+    private final double hitRate;
+
+    private final long evictionCount;
+}
@@ -0,0 +1,48 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Event row of a bulk import. The venue is flattened so the row also fits a CSV line;
+ * invitees are referenced by {@code Group.groupCode} and {@code User.userId}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class EventImportRow {
+
+    private String eventTitle;
+
+    private String description;
+
+    private LocalDateTime dateTime;
+
+    // Optional; defaults to dateTime plus Event.DEFAULT_DURATION
+    private LocalDateTime endDateTime;
+
+    // Optional explicit venue identity; otherwise derived from the address or coordinates
+    private String venueKey;
+
+    private String address;
+
+    private Double latitude;
+
+    private Double longitude;
+
+    private String eventType;
+
+    private Boolean isPublic;
+
+    private String inviteType;
+
+    private String status;
+
+    private List<String> invitedGroups;
+
+    private List<String> invitedUsers;
+}
@@ -0,0 +1,42 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read-only projection of an {@link EventPlanning.example.Event.Planning.syetem.model.Event}.
+ * Serializes to the same JSON shape as the entity, but is built from a fixed number of
+ * queries instead of lazy-loading each collection.
+ */
+@Getter
+@AllArgsConstructor
+public class EventView {
+
+    private final Long id;
+
+    private final String eventTitle;
+
+    private final String description;
+
+    private final LocalDateTime dateTime;
+
+    private final LocalDateTime endDateTime;
+
+    private final Venue venue;
+
+    private final String eventType;
+
+    private final Boolean isPublic;
+
+    private final String inviteType;
+
+    private final List<GroupView> invitedGroups;
+
+    private final List<UserView> invitedUsers;
+
+    private final String status;
+}
@@ -0,0 +1,26 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Group row of a bulk import. Members are referenced by {@code User.userId}.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class GroupImportRow {
+
+    private String groupName;
+
+    private String groupCode;
+
+    private String status;
+
+    private String groupType;
+
+    private List<String> groupMembers;
+}
@@ -0,0 +1,27 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Read-only projection of a {@link EventPlanning.example.Event.Planning.syetem.model.Group}
+ * with its members already resolved.
+ */
+@Getter
+@AllArgsConstructor
+public class GroupView {
+
+    private final Long id;
+
+    private final String groupName;
+
+    private final String groupCode;
+
+    private final String status;
+
+    private final String groupType;
+
+    private final List<UserView> groupMembers;
+}
@@ -0,0 +1,18 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+    private final List<T> items;
+
+    private final String nextCursor;
+}
@@ -0,0 +1,25 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of adding or removing a batch of group members. {@code changed} counts the rows
+ * actually written; userIds that were already (or never) members are {@code unchanged}.
+ */
+@Getter
+@AllArgsConstructor
+public class MembershipChangeResult {
+
+    private final Long groupId;
+
+    private final int requested;
+
+    private final int changed;
+
+    private final int unchanged;
+
+    private final List<String> unknownUserIds;
+}
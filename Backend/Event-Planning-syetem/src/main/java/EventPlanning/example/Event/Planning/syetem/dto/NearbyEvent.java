@@ -0,0 +1,16 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An event found by a radius search, with its great-circle distance from the search point.
+ */
+@Getter
+@AllArgsConstructor
+public class NearbyEvent {
+
+    private final double distanceKm;
+
+    private final EventView event;
+}
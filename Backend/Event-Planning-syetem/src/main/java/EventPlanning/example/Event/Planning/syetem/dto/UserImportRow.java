@@ -0,0 +1,21 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+public class UserImportRow {
+
+    private String userId;
+
+    private String userName;
+
+    private String email;
+
+    private String role;
+
+    private String status;
+}
@@ -0,0 +1,24 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Read-only projection of a {@link EventPlanning.example.Event.Planning.syetem.model.User}.
+ */
+@Getter
+@AllArgsConstructor
+public class UserView {
+
+    private final Long id;
+
+    private final String userId;
+
+    private final String userName;
+
+    private final String email;
+
+    private final String role;
+
+    private final String status;
+}
@@ -0,0 +1,24 @@
+package EventPlanning.example.Event.Planning.syetem.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Two events booked into the same venue with overlapping time ranges.
+ */
+@Getter
+@AllArgsConstructor
+public class VenueConflict {
+
+    private final String venueKey;
+
+    private final Long eventId;
+
+    private final Long conflictingEventId;
+
+    private final LocalDateTime overlapStart;
+
+    private final LocalDateTime overlapEnd;
+}
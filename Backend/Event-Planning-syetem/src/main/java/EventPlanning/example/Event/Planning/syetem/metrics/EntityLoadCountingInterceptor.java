@@ -0,0 +1,16 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+/**
+ * Counts every entity Hibernate hydrates from a result set against {@link RequestStatistics}.
+ */
+public class EntityLoadCountingInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        RequestStatistics.entityLoaded();
+        return false;
+    }
+}
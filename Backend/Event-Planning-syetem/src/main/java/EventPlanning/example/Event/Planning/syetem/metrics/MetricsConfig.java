@@ -0,0 +1,51 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+
+/**
+ * Hooks {@link RequestStatistics} into the data source and Hibernate, and the
+ * {@link QueryBudgetGuard} into Spring MVC.
+ */
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private static final String APPLICATION_DATA_SOURCE = "dataSource";
+
+    @Autowired
+    private QueryBudgetGuard queryBudgetGuard;
+
+    // Static, so it is registered before the DataSource bean it wraps is created. Only the data
+    // source the application uses is wrapped: pools behind it (replica routing) would count twice
+    @Bean
+    static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)
+                        && APPLICATION_DATA_SOURCE.equals(beanName)) {
+                    return new StatementCountingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer entityLoadCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new EntityLoadCountingInterceptor());
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetGuard).addPathPatterns("/api/**");
+    }
+}
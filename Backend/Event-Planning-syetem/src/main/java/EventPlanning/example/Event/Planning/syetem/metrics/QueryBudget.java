@@ -0,0 +1,22 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The most JDBC statements one request to the annotated handler method may execute, counting
+ * everything up to the end of the response, lazy loads during serialization included.
+ * <p>
+ * Enforced by {@link QueryBudgetGuard}. The value can be overridden per method with the
+ * property {@code app.query-budget.<ControllerClass>.<method>}.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface QueryBudget {
+
+    int value();
+}
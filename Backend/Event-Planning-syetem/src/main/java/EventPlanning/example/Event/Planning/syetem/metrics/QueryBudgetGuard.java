@@ -0,0 +1,103 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.QueryBudgetExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compares the statements a request executed with the {@link QueryBudget} of its handler
+ * method, to catch N+1 regressions such as lazy collections loaded one owner at a time.
+ * <p>
+ * The budget is looked up when the handler is chosen and checked by
+ * {@link RequestStatisticsFilter} once the response is complete. With
+ * {@code app.query-budget.mode=warn} (the default) an overrun is logged and counted in
+ * {@code app.query.budget.exceeded}; with {@code fail}, as the tests run, the request fails
+ * with {@link QueryBudgetExceededException}; {@code off} disables the check. Handlers without
+ * an annotation get {@code app.query-budget.default}, where a negative value means no budget.
+ */
+@Component
+public class QueryBudgetGuard implements HandlerInterceptor {
+
+    enum Mode { WARN, FAIL, OFF }
+
+    private static final String BUDGET_ATTRIBUTE = QueryBudgetGuard.class.getName() + ".budget";
+
+    private static final Logger logger = LoggerFactory.getLogger(QueryBudgetGuard.class);
+
+    private final Mode mode;
+
+    private final int defaultBudget;
+
+    private final Map<Method, Budget> budgets = new ConcurrentHashMap<>();
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private static final class Budget {
+        final String handler;
+        final int statements;
+
+        Budget(String handler, int statements) {
+            this.handler = handler;
+            this.statements = statements;
+        }
+    }
+
+    public QueryBudgetGuard(@Value("${app.query-budget.mode:warn}") String mode,
+                            @Value("${app.query-budget.default:-1}") int defaultBudget) {
+        this.mode = Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        this.defaultBudget = defaultBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (mode != Mode.OFF && handler instanceof HandlerMethod) {
+            Budget budget = budgets.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::resolve);
+            if (budget.statements >= 0) {
+                request.setAttribute(BUDGET_ATTRIBUTE, budget);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws QueryBudgetExceededException in fail mode, if the request went over its budget
+     */
+    void verify(HttpServletRequest request, RequestStatistics statistics) {
+        Budget budget = (Budget) request.getAttribute(BUDGET_ATTRIBUTE);
+        if (budget == null || statistics.getStatements() <= budget.statements) {
+            return;
+        }
+        String message = String.format("%s executed %d SQL statements, over its budget of %d",
+                budget.handler, statistics.getStatements(), budget.statements);
+        meterRegistry.counter("app.query.budget.exceeded", "handler", budget.handler).increment();
+        if (mode == Mode.FAIL) {
+            throw new QueryBudgetExceededException(message);
+        }
+        logger.warn(message);
+    }
+
+    private Budget resolve(Method method) {
+        String handler = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+        QueryBudget annotation = method.getAnnotation(QueryBudget.class);
+        int statements = annotation == null ? defaultBudget : annotation.value();
+        return new Budget(handler, environment.getProperty("app.query-budget." + handler, Integer.class, statements));
+    }
+}
@@ -0,0 +1,60 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+/**
+ * Per-request counters of JDBC statements executed and entities loaded by Hibernate, kept
+ * in a thread local between {@link #start()} and {@link #stop()}. Work done on other threads
+ * (e.g. a streamed response body) is not counted.
+ * <p>
+ * The counters only grow while a request runs, so the cost of a section of a request is the
+ * difference between two reads.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long entitiesLoaded;
+
+    private RequestStatistics() {
+    }
+
+    public static RequestStatistics start() {
+        RequestStatistics statistics = new RequestStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return the statistics of the request on this thread, or null outside a request
+     */
+    public static RequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    static void statementExecuted() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entitiesLoaded++;
+        }
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded;
+    }
+}
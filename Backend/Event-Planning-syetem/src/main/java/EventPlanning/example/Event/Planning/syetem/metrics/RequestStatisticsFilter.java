@@ -0,0 +1,82 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records the JDBC statements and loaded entities of every API request as distributions,
+ * tagged like {@code http.server.requests} with method, uri template and status, and checks
+ * them against the handler's {@link QueryBudget}. The request's {@link RequestStatistics}
+ * stay available as the request attribute {@link #STATISTICS_ATTRIBUTE}.
+ */
+@Component
+public class RequestStatisticsFilter extends OncePerRequestFilter {
+
+    public static final String STATISTICS_ATTRIBUTE = RequestStatistics.class.getName();
+
+    // Upper bound of the histogram buckets; larger values still count, in the last bucket
+    private static final double MAX_EXPECTED_PER_REQUEST = 100_000;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private QueryBudgetGuard queryBudgetGuard;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestStatistics statistics = RequestStatistics.start();
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        boolean completed = false;
+        try {
+            chain.doFilter(request, response);
+            completed = true;
+        } finally {
+            RequestStatistics.stop();
+            record(request, response, statistics);
+        }
+        if (completed) {
+            queryBudgetGuard.verify(request, statistics);
+        }
+    }
+
+    private void record(HttpServletRequest request, HttpServletResponse response, RequestStatistics statistics) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Tags tags = Tags.of("method", request.getMethod(),
+                "uri", pattern == null ? "UNKNOWN" : pattern.toString(),
+                "status", String.valueOf(response.getStatus()));
+        DistributionSummary.builder("app.request.sql.statements")
+                .description("JDBC statements executed per request")
+                .baseUnit("statements")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_PER_REQUEST)
+                .register(meterRegistry)
+                .record(statistics.getStatements());
+        DistributionSummary.builder("app.request.entities.loaded")
+                .description("Entities loaded by Hibernate per request")
+                .baseUnit("entities")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .maximumExpectedValue(MAX_EXPECTED_PER_REQUEST)
+                .register(meterRegistry)
+                .record(statistics.getEntitiesLoaded());
+    }
+}
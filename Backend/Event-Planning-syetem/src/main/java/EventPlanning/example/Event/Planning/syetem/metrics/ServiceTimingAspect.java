@@ -0,0 +1,42 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Times every public method of the {@code @Service} beans as {@code app.service.calls},
+ * tagged with class, method and the exception thrown, if any. Calls from a service to its
+ * own methods bypass the proxy and are not timed separately.
+ */
+@Aspect
+@Component
+public class ServiceTimingAspect {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Around("within(@org.springframework.stereotype.Service *) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("app.service.calls")
+                    .description("Service method latency")
+                    .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
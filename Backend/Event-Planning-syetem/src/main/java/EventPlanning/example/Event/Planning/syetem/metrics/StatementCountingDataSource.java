@@ -0,0 +1,67 @@
+package EventPlanning.example.Event.Planning.syetem.metrics;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Counts every statement execution against {@link RequestStatistics}, whether it comes from
+ * Hibernate or a JdbcTemplate. A JDBC batch counts once, as it is one round trip.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    public StatementCountingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return countingConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return countingConnection(super.getConnection(username, password));
+    }
+
+    private static Connection countingConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                        return countingStatement((Statement) result, method.getReturnType());
+                    }
+                    return result;
+                });
+    }
+
+    private static Object countingStatement(Statement statement, Class<?> statementType) {
+        return Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[]{statementType}, (proxy, method, args) -> {
+                    if (method.getName().startsWith("execute")) {
+                        RequestStatistics.statementExecuted();
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
@@ -1,18 +1,31 @@
 package EventPlanning.example.Event.Planning.syetem.model;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_date_time_id", columnList = "dateTime, id"),
+        @Index(name = "idx_events_geo_cell", columnList = "geoCell"),
+        @Index(name = "idx_events_venue_key_date_time", columnList = "venueKey, dateTime"),
+        // Lifecycle transitions take due events off these, see EventLifecycleService
+        @Index(name = "idx_events_status_date_time", columnList = "status, dateTime"),
+        @Index(name = "idx_events_status_end_date_time", columnList = "status, endDateTime")
+})
 public class Event {
 
+    // Applied when an event is saved without an end time
+    public static final Duration DEFAULT_DURATION = Duration.ofHours(1);
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -26,9 +39,15 @@ public class Event {
     @Column(nullable = false)
     private LocalDateTime dateTime;
 
+    private LocalDateTime endDateTime;
+
     @Embedded
     private Venue venue;
 
+    // Grid cell of the venue coordinates, see GeoGrid; derived on every write
+    @JsonIgnore
+    private Long geoCell;
+
     @Column(nullable = false)
     private String eventType;
 
@@ -58,6 +77,12 @@ public class Event {
     @Column(nullable = false)
     private String status;
 
+    // Optimistic-lock version, also the basis of the ETags served for this entity
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // Constructors
     public Event() {}
 
@@ -109,6 +134,14 @@ public class Event {
         this.dateTime = dateTime;
     }
 
+    public LocalDateTime getEndDateTime() {
+        return endDateTime;
+    }
+
+    public void setEndDateTime(LocalDateTime endDateTime) {
+        this.endDateTime = endDateTime;
+    }
+
     public Venue getVenue() {
         return venue;
     }
@@ -165,5 +198,27 @@ public class Event {
         this.status = status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
+    public Long getGeoCell() {
+        return geoCell;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void updateDerivedColumns() {
+        geoCell = venue != null && Venue.hasCoordinates(venue.getLatitude(), venue.getLongitude())
+                ? GeoGrid.cellOf(venue.getLatitude(), venue.getLongitude()) : null;
+        if (venue != null) {
+            venue.setVenueKey(Venue.resolveKey(venue.getVenueKey(), venue.getAddress(),
+                    venue.getLatitude(), venue.getLongitude()));
+        }
+        if (endDateTime == null && dateTime != null) {
+            endDateTime = dateTime.plus(DEFAULT_DURATION);
+        }
+    }
+
 
 }
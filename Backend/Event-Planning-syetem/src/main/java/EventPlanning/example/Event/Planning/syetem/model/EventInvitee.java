@@ -0,0 +1,42 @@
+package EventPlanning.example.Event.Planning.syetem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row per (event, user) that is effectively invited to the event, either directly through
+ * {@code Event.invitedUsers} or as a member of one of {@code Event.invitedGroups}.
+ * The event's {@code dateTime} is copied in so "events of a user" can be answered, in date
+ * order, from the (userId, eventDateTime, eventId) index alone.
+ * Maintained incrementally by {@code EventInviteeService}; never written through JPA.
+ */
+@Entity
+@IdClass(EventInviteeId.class)
+@Table(name = "event_invitees", indexes = {
+        @Index(name = "idx_event_invitees_user_date", columnList = "userId, eventDateTime, eventId")
+})
+public class EventInvitee {
+
+    @Id
+    private Long eventId;
+
+    @Id
+    private Long userId;
+
+    private LocalDateTime eventDateTime;
+
+    public EventInvitee() {}
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getEventDateTime() {
+        return eventDateTime;
+    }
+}
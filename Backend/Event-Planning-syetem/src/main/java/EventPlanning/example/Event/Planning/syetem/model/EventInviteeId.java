@@ -0,0 +1,40 @@
+package EventPlanning.example.Event.Planning.syetem.model;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * Composite key of {@link EventInvitee}.
+ */
+public class EventInviteeId implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long eventId;
+
+    private Long userId;
+
+    public EventInviteeId() {}
+
+    public EventInviteeId(Long eventId, Long userId) {
+        this.eventId = eventId;
+        this.userId = userId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof EventInviteeId)) {
+            return false;
+        }
+        EventInviteeId other = (EventInviteeId) o;
+        return Objects.equals(eventId, other.eventId) && Objects.equals(userId, other.userId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(eventId, userId);
+    }
+}
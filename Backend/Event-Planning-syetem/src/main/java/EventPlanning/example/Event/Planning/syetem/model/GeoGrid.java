@@ -0,0 +1,103 @@
+package EventPlanning.example.Event.Planning.syetem.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed latitude/longitude grid used to index venues. Each cell is {@value #CELL_DEGREES}
+ * degrees square (about 5.5 km north-south) and is numbered row-major from the south-west
+ * corner, so the cells of one grid row form a contiguous id range. The same formula is used
+ * in SQL by {@link #CELL_SQL} for backfills.
+ */
+public final class GeoGrid {
+
+    public static final double CELL_DEGREES = 0.05;
+    static final int COLUMNS = 7200;
+    static final int ROWS = 3600;
+
+    static final double EARTH_RADIUS_KM = 6371.0088;
+    private static final double KM_PER_DEGREE_LATITUDE = 111.32;
+
+    /**
+     * SQL expression computing the cell of the {@code latitude}/{@code longitude} columns.
+     */
+    public static final String CELL_SQL =
+            "LEAST(FLOOR((latitude + 90) / " + CELL_DEGREES + "), " + (ROWS - 1) + ") * " + COLUMNS +
+            " + MOD(FLOOR((longitude + 180) / " + CELL_DEGREES + "), " + COLUMNS + ")";
+
+    private GeoGrid() {
+    }
+
+    public static long cellOf(double latitude, double longitude) {
+        return (long) row(latitude) * COLUMNS + column(longitude);
+    }
+
+    /**
+     * Inclusive cell-id ranges, one per grid row, covering the bounding box of a circle.
+     * Padded by one cell on every side so rounding at cell borders can never drop a match.
+     */
+    public static List<long[]> cellRanges(double latitude, double longitude, double radiusKm) {
+        double deltaLat = radiusKm / KM_PER_DEGREE_LATITUDE;
+        int firstRow = Math.max(row(latitude - deltaLat) - 1, 0);
+        int lastRow = Math.min(row(latitude + deltaLat) + 1, ROWS - 1);
+
+        // Near the poles the box spans every longitude
+        double cosLat = Math.cos(Math.toRadians(Math.min(Math.abs(latitude) + deltaLat, 90)));
+        double deltaLng = cosLat < 1e-6 ? 360 : radiusKm / (KM_PER_DEGREE_LATITUDE * cosLat);
+
+        List<long[]> columnRanges = new ArrayList<>();
+        if (deltaLng >= 180) {
+            columnRanges.add(new long[]{0, COLUMNS - 1});
+        } else {
+            long firstColumn = (long) Math.floor((longitude - deltaLng + 180) / CELL_DEGREES) - 1;
+            long lastColumn = (long) Math.floor((longitude + deltaLng + 180) / CELL_DEGREES) + 1;
+            if (firstColumn < 0) {
+                // Wraps across the antimeridian on the west side
+                columnRanges.add(new long[]{firstColumn + COLUMNS, COLUMNS - 1});
+                columnRanges.add(new long[]{0, lastColumn});
+            } else if (lastColumn >= COLUMNS) {
+                columnRanges.add(new long[]{firstColumn, COLUMNS - 1});
+                columnRanges.add(new long[]{0, lastColumn - COLUMNS});
+            } else {
+                columnRanges.add(new long[]{firstColumn, lastColumn});
+            }
+        }
+
+        List<long[]> ranges = new ArrayList<>();
+        for (int row = firstRow; row <= lastRow; row++) {
+            long base = (long) row * COLUMNS;
+            for (long[] columns : columnRanges) {
+                ranges.add(new long[]{base + columns[0], base + columns[1]});
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Great-circle distance in kilometres.
+     */
+    public static double haversineKm(double lat1, double lng1, double lat2, double lng2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLng = Math.toRadians(lng2 - lng1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLng / 2) * Math.sin(dLng / 2);
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    /**
+     * Latitude span in degrees of a distance along a meridian.
+     */
+    public static double latitudeDegrees(double km) {
+        return km / KM_PER_DEGREE_LATITUDE;
+    }
+
+    private static int row(double latitude) {
+        int row = (int) Math.floor((latitude + 90) / CELL_DEGREES);
+        return Math.max(0, Math.min(row, ROWS - 1));
+    }
+
+    private static int column(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / CELL_DEGREES), COLUMNS);
+    }
+}
@@ -1,7 +1,7 @@
 package EventPlanning.example.Event.Planning.syetem.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
-import java.util.List;
 import java.util.Set;
 
 @Entity
@@ -24,16 +24,28 @@ public class Group {
     @Column(nullable = false)
     private String groupType;
 
+    // A set, so adding or removing one member writes one row instead of rewriting the bag
     @ManyToMany
     @JoinTable(
             name = "group_members",
             joinColumns = @JoinColumn(name = "group_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_group_members", columnNames = {"group_id", "user_id"})
     )
-    private List<User> groupMembers;
+    private Set<User> groupMembers;
+
+    // Optimistic-lock version, also the basis of the ETags served for this entity
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
 
     // Getters and Setters
 
+    public Long getVersion() {
+        return version;
+    }
+
     public Long getId() {
         return id;
     }
@@ -74,11 +86,11 @@ public class Group {
         this.groupType = groupType;
     }
 
-    public List<User> getGroupMembers() {
+    public Set<User> getGroupMembers() {
         return groupMembers;
     }
 
-    public void setGroupMembers(List<User> groupMembers) {
+    public void setGroupMembers(Set<User> groupMembers) {
         this.groupMembers = groupMembers;
     }
 
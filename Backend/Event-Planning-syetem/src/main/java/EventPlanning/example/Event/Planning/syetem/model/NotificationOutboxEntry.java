@@ -0,0 +1,82 @@
+package EventPlanning.example.Event.Planning.syetem.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One pending or processed notification of an event (invitation, update or reminder), written
+ * in the same transaction as the event change. The dispatcher expands it to the event's invitees
+ * in batches, recording how far it got in {@code lastUserId}.
+ * Written and read by {@code NotificationOutboxService} and {@code NotificationDispatcher}
+ * with plain SQL; never through JPA.
+ */
+@Entity
+@Table(name = "notification_outbox", indexes = {
+        @Index(name = "idx_notification_outbox_status_due", columnList = "status, dueAt"),
+        @Index(name = "idx_notification_outbox_event", columnList = "eventId, kind, status")
+})
+public class NotificationOutboxEntry {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long eventId;
+
+    @Column(nullable = false, length = 16)
+    private String kind;
+
+    @Column(nullable = false, length = 16)
+    private String status;
+
+    @Column(nullable = false)
+    private LocalDateTime dueAt;
+
+    // Recipients are expanded in user id order; everyone up to this id has been sent to
+    @Column(nullable = false)
+    private Long lastUserId;
+
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Lease of the dispatcher instance working on the entry
+    private LocalDateTime lockedUntil;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public NotificationOutboxEntry() {}
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getEventId() {
+        return eventId;
+    }
+
+    public String getKind() {
+        return kind;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public LocalDateTime getDueAt() {
+        return dueAt;
+    }
+
+    public Long getLastUserId() {
+        return lastUserId;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+}
@@ -1,5 +1,6 @@
 package EventPlanning.example.Event.Planning.syetem.model;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -31,6 +32,12 @@ public class User {
     @Column(nullable = false)
     private String status;
 
+    // Optimistic-lock version, also the basis of the ETags served for this entity
+    @Version
+    @Column(nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long version;
+
     // Constructors
     public User(String userId, String userName, String email, String role, String status) {
         this.userId = userId;
@@ -39,4 +46,22 @@ public class User {
         this.role = role;
         this.status = status;
     }
+
+    // Identity is the primary key, so members of a Group set compare equal across sessions and proxies
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof User)) {
+            return false;
+        }
+        Long otherId = ((User) o).getId();
+        return id != null && id.equals(otherId);
+    }
+
+    @Override
+    public int hashCode() {
+        return id != null ? id.hashCode() : System.identityHashCode(this);
+    }
 }
@@ -2,6 +2,8 @@ package EventPlanning.example.Event.Planning.syetem.model;
 
 import jakarta.persistence.Embeddable;
 
+import java.util.Locale;
+
 @Embeddable
 public class Venue {
 
@@ -9,6 +11,9 @@ public class Venue {
     private double latitude;
     private double longitude;
 
+    // Identifies the physical venue for double-booking checks; derived when not given
+    private String venueKey;
+
     // Constructors
     public Venue() {}
 
@@ -42,4 +47,40 @@ public class Venue {
     public void setLongitude(double longitude) {
         this.longitude = longitude;
     }
+
+    public String getVenueKey() {
+        return venueKey;
+    }
+
+    public void setVenueKey(String venueKey) {
+        this.venueKey = venueKey;
+    }
+
+    /**
+     * Normalizes an explicit venue key, or derives one from the address, or else from the
+     * coordinates rounded to about 10 m. Returns null when nothing identifies the venue.
+     */
+    public static String resolveKey(String venueKey, String address, Double latitude, Double longitude) {
+        if (venueKey != null && !venueKey.isBlank()) {
+            return normalize(venueKey);
+        }
+        if (address != null && !address.isBlank()) {
+            return "addr:" + normalize(address);
+        }
+        if (hasCoordinates(latitude, longitude)) {
+            return String.format(Locale.ROOT, "geo:%.4f,%.4f", latitude, longitude);
+        }
+        return null;
+    }
+
+    /**
+     * A venue without coordinates holds (0, 0), so that point never counts as a location.
+     */
+    public static boolean hasCoordinates(Double latitude, Double longitude) {
+        return latitude != null && longitude != null && (latitude != 0 || longitude != 0);
+    }
+
+    private static String normalize(String value) {
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,41 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Local stand-in sender: appends every notification to a file as one JSON object per line.
+ */
+public class FileNotificationSender implements NotificationSender, AutoCloseable {
+
+    private final ObjectMapper objectMapper;
+    private final BufferedWriter writer;
+
+    public FileNotificationSender(Path file, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void send(Notification notification) throws IOException {
+        writer.write(objectMapper.writeValueAsString(notification));
+        writer.newLine();
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+}
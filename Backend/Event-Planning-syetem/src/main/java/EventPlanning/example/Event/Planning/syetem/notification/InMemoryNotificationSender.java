@@ -0,0 +1,40 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Stand-in sender for tests: keeps every delivered notification in memory and can be told to
+ * fail a number of upcoming sends.
+ */
+public class InMemoryNotificationSender implements NotificationSender {
+
+    private final ConcurrentLinkedQueue<Notification> sent = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Override
+    public void send(Notification notification) {
+        if (failuresLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0) {
+            throw new IllegalStateException("Simulated send failure");
+        }
+        sent.add(notification);
+    }
+
+    /**
+     * Makes the next {@code count} sends fail.
+     */
+    public void failNext(int count) {
+        failuresLeft.set(count);
+    }
+
+    public List<Notification> getSent() {
+        return new ArrayList<>(sent);
+    }
+
+    public void clear() {
+        sent.clear();
+        failuresLeft.set(0);
+    }
+}
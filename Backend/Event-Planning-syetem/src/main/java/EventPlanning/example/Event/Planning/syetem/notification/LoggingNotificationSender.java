@@ -0,0 +1,18 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Default sender until a real email or push sender is configured: logs every notification.
+ */
+public class LoggingNotificationSender implements NotificationSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoggingNotificationSender.class);
+
+    @Override
+    public void send(Notification notification) {
+        logger.info("{} for event {} to {} <{}>", notification.getKind(), notification.getEventId(),
+                notification.getRecipientUserId(), notification.getRecipientEmail());
+    }
+}
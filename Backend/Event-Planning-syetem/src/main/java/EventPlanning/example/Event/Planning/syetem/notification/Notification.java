@@ -0,0 +1,33 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One message to one recipient, as handed to a {@link NotificationSender}.
+ */
+@Getter
+@AllArgsConstructor
+public class Notification {
+
+    private final NotificationKind kind;
+
+    private final Long eventId;
+
+    private final String eventTitle;
+
+    private final LocalDateTime eventDateTime;
+
+    private final String venueAddress;
+
+    // Primary key of the recipient
+    private final Long recipientId;
+
+    private final String recipientUserId;
+
+    private final String recipientName;
+
+    private final String recipientEmail;
+}
@@ -0,0 +1,39 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Picks the {@link NotificationSender} from {@code app.notifications.sender}: {@code log}
+ * (default), {@code file} (JSON lines in {@code app.notifications.file}) or {@code memory}.
+ */
+@Configuration
+public class NotificationConfig {
+
+    private static final String SENDER = "app.notifications.sender";
+
+    @Bean
+    @ConditionalOnProperty(name = SENDER, havingValue = "log", matchIfMissing = true)
+    NotificationSender loggingNotificationSender() {
+        return new LoggingNotificationSender();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SENDER, havingValue = "file")
+    FileNotificationSender fileNotificationSender(@Value("${app.notifications.file:notifications.jsonl}") Path file,
+                                                  ObjectMapper objectMapper) throws IOException {
+        return new FileNotificationSender(file, objectMapper);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = SENDER, havingValue = "memory")
+    InMemoryNotificationSender inMemoryNotificationSender() {
+        return new InMemoryNotificationSender();
+    }
+}
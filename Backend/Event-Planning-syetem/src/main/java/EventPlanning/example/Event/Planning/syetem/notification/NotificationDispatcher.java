@@ -0,0 +1,312 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends due outbox entries. A scheduled task claims each due entry with a lease, expands its
+ * recipients from {@code event_invitees} in user id order, {@code batch-size} at a time, and
+ * hands them to worker threads through a bounded queue; when the queue is full the expansion
+ * waits (backpressure), so neither request threads nor the heap ever see a whole large group.
+ * Workers share a rate limit and retry failed sends with exponential backoff.
+ * <p>
+ * The entry's position is saved after each batch has been sent, so a restart resumes where it
+ * left off; recipients of an interrupted batch may get the message twice (at-least-once).
+ * The lease lets another instance take over an entry whose dispatcher died.
+ */
+@Service
+@ConditionalOnProperty(value = "app.notifications.enabled", matchIfMissing = true)
+public class NotificationDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(NotificationDispatcher.class);
+
+    private static final String DUE =
+            "SELECT id FROM notification_outbox WHERE (status = 'PENDING' AND due_at <= :now) " +
+            "OR (status = 'SENDING' AND locked_until < :now) ORDER BY due_at LIMIT :limit";
+
+    private static final String CLAIM =
+            "UPDATE notification_outbox SET status = 'SENDING', locked_until = :lockedUntil, attempts = attempts + 1 " +
+            "WHERE id = :id AND ((status = 'PENDING' AND due_at <= :now) OR (status = 'SENDING' AND locked_until < :now))";
+
+    private static final String LOAD =
+            "SELECT o.event_id, o.kind, o.last_user_id, e.event_title, e.date_time, e.address " +
+            "FROM notification_outbox o LEFT JOIN events e ON e.id = o.event_id WHERE o.id = :id";
+
+    private static final String RECIPIENTS =
+            "SELECT u.id, u.user_id, u.user_name, u.email FROM event_invitees ei JOIN users u ON u.id = ei.user_id " +
+            "WHERE ei.event_id = :eventId AND ei.user_id > :afterUserId ORDER BY ei.user_id LIMIT :limit";
+
+    private static final String PROGRESS =
+            "UPDATE notification_outbox SET last_user_id = :lastUserId, locked_until = :lockedUntil WHERE id = :id";
+
+    private static final String FINISH =
+            "UPDATE notification_outbox SET status = :status, locked_until = NULL WHERE id = :id";
+
+    private static final String RETRY_LATER =
+            "UPDATE notification_outbox SET status = CASE WHEN attempts >= :maxAttempts THEN 'FAILED' ELSE 'PENDING' END, " +
+            "due_at = :dueAt, locked_until = NULL, last_error = :error WHERE id = :id";
+
+    // How many due entries one tick looks at before checking again
+    private static final int DUE_LIMIT = 100;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NotificationSender sender;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.notifications.batch-size:500}")
+    private int batchSize;
+
+    @Value("${app.notifications.queue-capacity:1000}")
+    private int queueCapacity;
+
+    @Value("${app.notifications.workers:4}")
+    private int workerCount;
+
+    @Value("${app.notifications.rate-per-second:50}")
+    private double ratePerSecond;
+
+    @Value("${app.notifications.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${app.notifications.retry-backoff:2s}")
+    private Duration retryBackoff;
+
+    @Value("${app.notifications.lease:5m}")
+    private Duration lease;
+
+    private BlockingQueue<Delivery> queue;
+    private SendRateLimiter rateLimiter;
+    private ScheduledExecutorService retries;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running;
+
+    private Counter sent;
+    private Counter retried;
+    private Counter failed;
+
+    // An outbox entry with the event it is about
+    private static final class Entry {
+        long eventId;
+        NotificationKind kind;
+        long lastUserId;
+        String eventTitle;
+        LocalDateTime dateTime;
+        String address;
+    }
+
+    // A notification on its way, with the batch waiting for it
+    private static final class Delivery {
+        final Notification notification;
+        final CountDownLatch batch;
+        int attempt = 1;
+
+        Delivery(Notification notification, CountDownLatch batch) {
+            this.notification = notification;
+            this.batch = batch;
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        rateLimiter = new SendRateLimiter(ratePerSecond);
+        retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        sent = meterRegistry.counter("app.notifications.sent");
+        retried = meterRegistry.counter("app.notifications.retried");
+        failed = meterRegistry.counter("app.notifications.failed");
+        meterRegistry.gaugeCollectionSize("app.notifications.queue.size", Tags.empty(), queue);
+
+        running = true;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "notification-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        running = false;
+        retries.shutdownNow();
+        workers.forEach(Thread::interrupt);
+    }
+
+    /**
+     * Sends everything that is due, one entry after the other; returns when done.
+     */
+    @Scheduled(fixedDelayString = "${app.notifications.poll-interval:PT10S}",
+            initialDelayString = "${app.notifications.poll-interval:PT10S}")
+    public void dispatchDue() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> due = jdbcTemplate.queryForList(DUE, new MapSqlParameterSource("now", now)
+                .addValue("limit", DUE_LIMIT), Long.class);
+        for (Long id : due) {
+            if (!running) {
+                return;
+            }
+            if (claim(id, now)) {
+                dispatch(id);
+            }
+        }
+    }
+
+    private boolean claim(Long id, LocalDateTime now) {
+        return jdbcTemplate.update(CLAIM, new MapSqlParameterSource("id", id)
+                .addValue("now", now)
+                .addValue("lockedUntil", now.plus(lease))) == 1;
+    }
+
+    private void dispatch(Long id) {
+        try {
+            Entry entry = jdbcTemplate.queryForObject(LOAD, new MapSqlParameterSource("id", id), (rs, rowNum) -> {
+                Entry row = new Entry();
+                row.eventId = rs.getLong(1);
+                row.kind = NotificationKind.valueOf(rs.getString(2));
+                row.lastUserId = rs.getLong(3);
+                row.eventTitle = rs.getString(4);
+                row.dateTime = rs.getObject(5, LocalDateTime.class);
+                row.address = rs.getString(6);
+                return row;
+            });
+            if (entry.eventTitle == null) {
+                // The event is gone
+                finish(id, NotificationOutboxService.CANCELLED);
+                return;
+            }
+            long afterUserId = entry.lastUserId;
+
+            while (running) {
+                MapSqlParameterSource params = new MapSqlParameterSource("eventId", entry.eventId)
+                        .addValue("afterUserId", afterUserId)
+                        .addValue("limit", batchSize);
+                List<Notification> batch = jdbcTemplate.query(RECIPIENTS, params,
+                        (rs, rowNum) -> new Notification(entry.kind, entry.eventId, entry.eventTitle,
+                                entry.dateTime, entry.address, rs.getLong(1), rs.getString(2), rs.getString(3),
+                                rs.getString(4)));
+                if (batch.isEmpty()) {
+                    finish(id, NotificationOutboxService.SENT);
+                    return;
+                }
+                if (!send(batch)) {
+                    // Shutting down; the lease runs out and the batch is sent again
+                    return;
+                }
+                afterUserId = batch.get(batch.size() - 1).getRecipientId();
+                jdbcTemplate.update(PROGRESS, new MapSqlParameterSource("id", id)
+                        .addValue("lastUserId", afterUserId)
+                        .addValue("lockedUntil", LocalDateTime.now().plus(lease)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.warn("Dispatching notification outbox entry {} failed", id, e);
+            String error = String.valueOf(e.getMessage());
+            jdbcTemplate.update(RETRY_LATER, new MapSqlParameterSource("id", id)
+                    .addValue("maxAttempts", maxAttempts)
+                    .addValue("dueAt", LocalDateTime.now().plus(retryBackoff))
+                    .addValue("error", error.length() > 500 ? error.substring(0, 500) : error));
+        }
+    }
+
+    /**
+     * Queues a batch, waiting for room, then waits until every notification in it was sent or
+     * given up on.
+     *
+     * @return false if the dispatcher is shutting down
+     */
+    private boolean send(List<Notification> batch) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(batch.size());
+        for (Notification notification : batch) {
+            Delivery delivery = new Delivery(notification, done);
+            while (!queue.offer(delivery, 1, TimeUnit.SECONDS)) {
+                if (!running) {
+                    return false;
+                }
+            }
+        }
+        while (!done.await(1, TimeUnit.SECONDS)) {
+            if (!running) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void finish(Long id, String status) {
+        jdbcTemplate.update(FINISH, new MapSqlParameterSource("id", id).addValue("status", status));
+    }
+
+    private void work() {
+        while (running) {
+            Delivery delivery;
+            try {
+                delivery = queue.take();
+                rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                return;
+            }
+            try {
+                sender.send(delivery.notification);
+                sent.increment();
+                delivery.batch.countDown();
+            } catch (Exception e) {
+                retryOrGiveUp(delivery, e);
+            }
+        }
+    }
+
+    // Backoff doubles per attempt; the retry goes back through the queue and the rate limit
+    private void retryOrGiveUp(Delivery delivery, Exception e) {
+        Notification notification = delivery.notification;
+        if (delivery.attempt >= maxAttempts || !running) {
+            failed.increment();
+            logger.warn("Giving up on {} for event {} to {} after {} attempts", notification.getKind(),
+                    notification.getEventId(), notification.getRecipientUserId(), delivery.attempt, e);
+            delivery.batch.countDown();
+            return;
+        }
+        retried.increment();
+        long delay = retryBackoff.toMillis() << (delivery.attempt - 1);
+        delivery.attempt++;
+        retries.schedule(() -> {
+            try {
+                queue.put(delivery);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
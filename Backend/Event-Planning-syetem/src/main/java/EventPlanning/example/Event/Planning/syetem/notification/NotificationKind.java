@@ -0,0 +1,13 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+/**
+ * What a notification tells its recipients.
+ */
+public enum NotificationKind {
+    // Sent when the event is created
+    INVITATION,
+    // Sent after the event changed; edits in quick succession share one
+    UPDATE,
+    // Sent a configurable lead time before the event starts
+    REMINDER
+}
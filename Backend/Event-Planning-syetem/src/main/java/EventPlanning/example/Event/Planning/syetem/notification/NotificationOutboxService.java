@@ -0,0 +1,100 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Writes the notification outbox. Every method joins the caller's transaction, so an entry
+ * exists exactly when the event change that caused it was committed; nothing is sent here.
+ */
+@Service
+public class NotificationOutboxService {
+
+    static final String PENDING = "PENDING";
+    static final String SENDING = "SENDING";
+    static final String SENT = "SENT";
+    static final String FAILED = "FAILED";
+    static final String CANCELLED = "CANCELLED";
+
+    private static final String INSERT =
+            "INSERT INTO notification_outbox (event_id, kind, status, due_at, last_user_id, attempts, created_at) " +
+            "VALUES (:eventId, :kind, 'PENDING', :dueAt, 0, 0, :now)";
+
+    // An update nobody has been told about yet absorbs the next one
+    private static final String DELAY_UNSENT_UPDATE =
+            "UPDATE notification_outbox SET due_at = :dueAt WHERE event_id = :eventId AND kind = 'UPDATE' " +
+            "AND status = 'PENDING' AND last_user_id = 0";
+
+    private static final String CANCEL_PENDING =
+            "UPDATE notification_outbox SET status = 'CANCELLED' WHERE event_id = :eventId AND status = 'PENDING'";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Value("${app.notifications.reminder-lead:24h}")
+    private Duration reminderLead;
+
+    @Value("${app.notifications.update-delay:1m}")
+    private Duration updateDelay;
+
+    /**
+     * Queues the invitation and schedules the reminder of a new event.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventCreated(Long eventId, LocalDateTime dateTime) {
+        LocalDateTime now = LocalDateTime.now();
+        insert(eventId, NotificationKind.INVITATION, now, now);
+        scheduleReminder(eventId, dateTime, now);
+    }
+
+    /**
+     * Queues an update notification, delayed by {@code app.notifications.update-delay} so a
+     * burst of edits produces one message, and moves the reminder if the start time changed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventUpdated(Long eventId, LocalDateTime dateTime, boolean dateTimeChanged) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime dueAt = now.plus(updateDelay);
+        int delayed = jdbcTemplate.update(DELAY_UNSENT_UPDATE, new MapSqlParameterSource("eventId", eventId)
+                .addValue("dueAt", dueAt));
+        if (delayed == 0) {
+            insert(eventId, NotificationKind.UPDATE, dueAt, now);
+        }
+        if (dateTimeChanged) {
+            jdbcTemplate.update(CANCEL_PENDING + " AND kind = 'REMINDER'", new MapSqlParameterSource("eventId", eventId));
+            scheduleReminder(eventId, dateTime, now);
+        }
+    }
+
+    /**
+     * Drops whatever has not started sending for a deleted event.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void eventDeleted(Long eventId) {
+        jdbcTemplate.update(CANCEL_PENDING, new MapSqlParameterSource("eventId", eventId));
+    }
+
+    // Events starting within the lead time get their reminder right away; past events get none
+    private void scheduleReminder(Long eventId, LocalDateTime dateTime, LocalDateTime now) {
+        if (dateTime == null || !dateTime.isAfter(now)) {
+            return;
+        }
+        LocalDateTime dueAt = dateTime.minus(reminderLead);
+        insert(eventId, NotificationKind.REMINDER, dueAt.isAfter(now) ? dueAt : now, now);
+    }
+
+    private void insert(Long eventId, NotificationKind kind, LocalDateTime dueAt, LocalDateTime now) {
+        jdbcTemplate.update(INSERT, new MapSqlParameterSource("eventId", eventId)
+                .addValue("kind", kind.name())
+                .addValue("dueAt", dueAt)
+                .addValue("now", now));
+    }
+}
@@ -0,0 +1,11 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+/**
+ * Delivers notifications (email, push, ...). Called concurrently from the dispatcher's worker
+ * threads, at most {@code app.notifications.rate-per-second} times per second in total.
+ * Throwing makes the dispatcher retry the notification with backoff.
+ */
+public interface NotificationSender {
+
+    void send(Notification notification) throws Exception;
+}
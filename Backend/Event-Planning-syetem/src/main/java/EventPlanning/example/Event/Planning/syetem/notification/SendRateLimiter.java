@@ -0,0 +1,35 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spaces sends evenly at a fixed rate shared by all worker threads: each caller reserves the
+ * next free slot and sleeps until it comes, so there are no bursts above the rate.
+ */
+class SendRateLimiter {
+
+    private final long intervalNanos;
+    private long nextSlot = System.nanoTime();
+
+    SendRateLimiter(double permitsPerSecond) {
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive");
+        }
+        this.intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond);
+    }
+
+    void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+    }
+
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        // An idle limiter does not save up permits
+        long slot = Math.max(nextSlot, now);
+        nextSlot = slot + intervalNanos;
+        return slot - now;
+    }
+}
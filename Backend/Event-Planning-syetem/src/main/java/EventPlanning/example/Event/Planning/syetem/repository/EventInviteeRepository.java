@@ -0,0 +1,54 @@
+package EventPlanning.example.Event.Planning.syetem.repository;
+
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
+import EventPlanning.example.Event.Planning.syetem.model.EventInvitee;
+import EventPlanning.example.Event.Planning.syetem.model.EventInviteeId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface EventInviteeRepository extends JpaRepository<EventInvitee, EventInviteeId> {
+
+    /**
+     * Effective invitees of an event with a user primary key greater than {@code afterUserId},
+     * in ascending id order.
+     */
+    @Query("SELECT new EventPlanning.example.Event.Planning.syetem.dto.UserView(" +
+            "u.id, u.userId, u.userName, u.email, u.role, u.status) " +
+            "FROM EventInvitee i JOIN User u ON u.id = i.userId " +
+            "WHERE i.eventId = :eventId AND i.userId > :afterUserId " +
+            "ORDER BY i.userId ASC")
+    List<UserView> findInviteesAfter(@Param("eventId") Long eventId,
+                                     @Param("afterUserId") Long afterUserId,
+                                     Pageable pageable);
+
+    /**
+     * Events a user is invited to that start after the (afterDateTime, afterEventId) position,
+     * soonest first, as rows of (eventId, eventDateTime).
+     */
+    @Query("SELECT i.eventId, i.eventDateTime FROM EventInvitee i " +
+            "WHERE i.userId = :userId " +
+            "AND (i.eventDateTime > :afterDateTime OR (i.eventDateTime = :afterDateTime AND i.eventId > :afterEventId)) " +
+            "ORDER BY i.eventDateTime ASC, i.eventId ASC")
+    List<Object[]> findUserEventsAfter(@Param("userId") Long userId,
+                                       @Param("afterDateTime") LocalDateTime afterDateTime,
+                                       @Param("afterEventId") Long afterEventId,
+                                       Pageable pageable);
+
+    /**
+     * Events a user is invited to that start before the (beforeDateTime, beforeEventId) position,
+     * most recent first, as rows of (eventId, eventDateTime).
+     */
+    @Query("SELECT i.eventId, i.eventDateTime FROM EventInvitee i " +
+            "WHERE i.userId = :userId " +
+            "AND (i.eventDateTime < :beforeDateTime OR (i.eventDateTime = :beforeDateTime AND i.eventId < :beforeEventId)) " +
+            "ORDER BY i.eventDateTime DESC, i.eventId DESC")
+    List<Object[]> findUserEventsBefore(@Param("userId") Long userId,
+                                        @Param("beforeDateTime") LocalDateTime beforeDateTime,
+                                        @Param("beforeEventId") Long beforeEventId,
+                                        Pageable pageable);
+}
@@ -3,19 +3,119 @@ package EventPlanning.example.Event.Planning.syetem.repository;
 
 import  EventPlanning.example.Event.Planning.syetem.model.Event;
 import EventPlanning.example.Event.Planning.syetem.model.Group;
+import jakarta.persistence.QueryHint;
 import jakarta.transaction.Transactional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
     boolean existsByInvitedGroupsContaining(Group group);
 
+    /**
+     * First page of the event listing, ordered by (dateTime, id). Null filters are ignored.
+     */
+    @Query("SELECT e FROM Event e " +
+            "WHERE (:status IS NULL OR e.status = :status) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND (:from IS NULL OR e.dateTime >= :from) " +
+            "AND (:to IS NULL OR e.dateTime < :to) " +
+            "ORDER BY e.dateTime ASC, e.id ASC")
+    List<Event> findFirstPage(@Param("status") String status,
+                              @Param("eventType") String eventType,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              Pageable pageable);
+
+    /**
+     * Same rows as {@link #findFirstPage} as (id, version) pairs, for computing the page ETag.
+     */
+    @Query("SELECT e.id, e.version FROM Event e " +
+            "WHERE (:status IS NULL OR e.status = :status) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND (:from IS NULL OR e.dateTime >= :from) " +
+            "AND (:to IS NULL OR e.dateTime < :to) " +
+            "ORDER BY e.dateTime ASC, e.id ASC")
+    List<Object[]> findFirstPageVersions(@Param("status") String status,
+                                         @Param("eventType") String eventType,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         Pageable pageable);
+
+    /**
+     * Same rows as {@link #findPageAfter} as (id, version) pairs, for computing the page ETag.
+     */
+    @Query("SELECT e.id, e.version FROM Event e " +
+            "WHERE (:status IS NULL OR e.status = :status) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND (:from IS NULL OR e.dateTime >= :from) " +
+            "AND (:to IS NULL OR e.dateTime < :to) " +
+            "AND (e.dateTime > :afterDateTime OR (e.dateTime = :afterDateTime AND e.id > :afterId)) " +
+            "ORDER BY e.dateTime ASC, e.id ASC")
+    List<Object[]> findPageVersionsAfter(@Param("status") String status,
+                                         @Param("eventType") String eventType,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to,
+                                         @Param("afterDateTime") LocalDateTime afterDateTime,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    /**
+     * Page of the event listing that starts strictly after the (dateTime, id) keyset position.
+     */
+    @Query("SELECT e FROM Event e " +
+            "WHERE (:status IS NULL OR e.status = :status) " +
+            "AND (:eventType IS NULL OR e.eventType = :eventType) " +
+            "AND (:from IS NULL OR e.dateTime >= :from) " +
+            "AND (:to IS NULL OR e.dateTime < :to) " +
+            "AND (e.dateTime > :afterDateTime OR (e.dateTime = :afterDateTime AND e.id > :afterId)) " +
+            "ORDER BY e.dateTime ASC, e.id ASC")
+    List<Event> findPageAfter(@Param("status") String status,
+                              @Param("eventType") String eventType,
+                              @Param("from") LocalDateTime from,
+                              @Param("to") LocalDateTime to,
+                              @Param("afterDateTime") LocalDateTime afterDateTime,
+                              @Param("afterId") Long afterId,
+                              Pageable pageable);
+
+    /**
+     * Invited groups of the given events as rows of
+     * (eventId, groupId, groupName, groupCode, status, groupType).
+     */
+    @Query("SELECT e.id, g.id, g.groupName, g.groupCode, g.status, g.groupType " +
+            "FROM Event e JOIN e.invitedGroups g WHERE e.id IN :eventIds")
+    List<Object[]> findInvitedGroupRows(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Directly invited users of the given events as rows of
+     * (eventId, id, userId, userName, email, role, status).
+     */
+    @Query("SELECT e.id, u.id, u.userId, u.userName, u.email, u.role, u.status " +
+            "FROM Event e JOIN e.invitedUsers u WHERE e.id IN :eventIds")
+    List<Object[]> findInvitedUserRows(@Param("eventIds") Collection<Long> eventIds);
+
+    /**
+     * Forward-only, read-only scan over every event in id order. Rows are pulled from the
+     * driver 500 at a time; must be consumed inside a transaction and closed.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT e FROM Event e ORDER BY e.id")
+    Stream<Event> streamAllOrderById();
 
 }
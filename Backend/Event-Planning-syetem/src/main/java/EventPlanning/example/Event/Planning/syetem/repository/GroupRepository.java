@@ -3,8 +3,13 @@ package EventPlanning.example.Event.Planning.syetem.repository;
 
 import EventPlanning.example.Event.Planning.syetem.model.Group;
 import EventPlanning.example.Event.Planning.syetem.model.User;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +18,37 @@ public interface GroupRepository extends JpaRepository<Group, Long> {
     List<Group> findByGroupCodeIn(List<String> groupCode);
     boolean existsByGroupCode(String groupCode);
 
+    /**
+     * Loads the group and holds its row lock until the transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT g FROM Group g WHERE g.id = :id")
+    Optional<Group> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Returns which of the given group codes are already taken.
+     */
+    @Query("SELECT g.groupCode FROM Group g WHERE g.groupCode IN :groupCodes")
+    List<String> findExistingGroupCodes(@Param("groupCodes") Collection<String> groupCodes);
+
+    /**
+     * Resolves group codes to primary keys as rows of (groupCode, id), without loading the entities.
+     */
+    @Query("SELECT g.groupCode, g.id FROM Group g WHERE g.groupCode IN :groupCodes")
+    List<Object[]> findIdRowsByGroupCodeIn(@Param("groupCodes") Collection<String> groupCodes);
+
+    /**
+     * Primary keys of the members of a group, without loading the users.
+     */
+    @Query("SELECT m.id FROM Group g JOIN g.groupMembers m WHERE g.id = :groupId")
+    List<Long> findMemberIds(@Param("groupId") Long groupId);
+
+    /**
+     * Members of the given groups as rows of (groupId, id, userId, userName, email, role, status).
+     */
+    @Query("SELECT g.id, m.id, m.userId, m.userName, m.email, m.role, m.status " +
+            "FROM Group g JOIN g.groupMembers m WHERE g.id IN :groupIds")
+    List<Object[]> findMemberRows(@Param("groupIds") Collection<Long> groupIds);
+
 
 }
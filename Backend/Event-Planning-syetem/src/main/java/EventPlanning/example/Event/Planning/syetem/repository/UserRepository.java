@@ -2,7 +2,10 @@ package EventPlanning.example.Event.Planning.syetem.repository;
 
 import EventPlanning.example.Event.Planning.syetem.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +27,36 @@ public interface UserRepository extends JpaRepository<User, Long> {
          */
         Optional<User> findByUserId(String userId);
 
+        boolean existsByUserId(String userId);
+
+        boolean existsByEmail(String email);
+
+        /**
+         * Whether a user other than {@code id} has the user ID, as the database collation compares it.
+         */
+        boolean existsByUserIdAndIdNot(String userId, Long id);
+
+        /**
+         * Whether a user other than {@code id} has the email, as the database collation compares it.
+         */
+        boolean existsByEmailAndIdNot(String email, Long id);
+
+        /**
+         * Returns which of the given user IDs are already taken.
+         */
+        @Query("SELECT u.userId FROM User u WHERE u.userId IN :userIds")
+        List<String> findExistingUserIds(@Param("userIds") Collection<String> userIds);
+
+        /**
+         * Returns which of the given emails are already taken.
+         */
+        @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+        List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+        /**
+         * Resolves user IDs to primary keys as rows of (userId, id), without loading the entities.
+         */
+        @Query("SELECT u.userId, u.id FROM User u WHERE u.userId IN :userIds")
+        List<Object[]> findIdRowsByUserIdIn(@Param("userIds") Collection<String> userIds);
+
 }
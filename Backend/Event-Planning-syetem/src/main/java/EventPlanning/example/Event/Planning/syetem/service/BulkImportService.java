@@ -0,0 +1,589 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
+import EventPlanning.example.Event.Planning.syetem.dto.BulkImportResult;
+import EventPlanning.example.Event.Planning.syetem.dto.EventImportRow;
+import EventPlanning.example.Event.Planning.syetem.dto.GroupImportRow;
+import EventPlanning.example.Event.Planning.syetem.dto.UserImportRow;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.GeoGrid;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import EventPlanning.example.Event.Planning.syetem.notification.NotificationOutboxService;
+import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
+import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Bulk import of users, groups and events.
+ * <p>
+ * The payload is parsed one record at a time and handled in chunks of {@value #CHUNK_SIZE}
+ * rows: each chunk is validated with a few set-based lookups, then written with JDBC batch
+ * inserts in its own transaction. Hibernate cannot batch inserts for IDENTITY ids, so the
+ * writes bypass the persistence context; the generated keys are read back from the batch.
+ * Rejected rows are reported individually and never abort the rest of the import.
+ */
+@Service
+public class BulkImportService {
+
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String INSERT_USER =
+            "INSERT INTO users (user_id, user_name, email, role, status, version) VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_GROUP =
+            "INSERT INTO `groups` (group_name, group_code, status, group_type, version) VALUES (?, ?, ?, ?, 0)";
+    private static final String INSERT_GROUP_MEMBER =
+            "INSERT INTO group_members (group_id, user_id) VALUES (?, ?)";
+    private static final String INSERT_EVENT =
+            "INSERT INTO events (event_title, description, date_time, end_date_time, address, latitude, longitude, "
+                    + "venue_key, geo_cell, event_type, is_public, invite_type, status, version) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String INSERT_EVENT_GROUP =
+            "INSERT INTO event_groups (event_id, group_code) VALUES (?, ?)";
+    private static final String INSERT_EVENT_USER =
+            "INSERT INTO event_users (event_id, user_id) VALUES (?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private VenueBookingIndex venueBookingIndex;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public BulkImportResult importUsers(InputStream in, String contentType) throws IOException {
+        return importRows(in, contentType, UserImportRow.class, Collections.emptySet(), new UserImporter());
+    }
+
+    public BulkImportResult importGroups(InputStream in, String contentType) throws IOException {
+        return importRows(in, contentType, GroupImportRow.class, Set.of("groupMembers"), new GroupImporter());
+    }
+
+    public BulkImportResult importEvents(InputStream in, String contentType) throws IOException {
+        return importRows(in, contentType, EventImportRow.class, Set.of("invitedGroups", "invitedUsers"),
+                new EventImporter());
+    }
+
+    private <T> BulkImportResult importRows(InputStream in, String contentType, Class<T> rowType,
+                                            Set<String> listColumns, ChunkImporter<T> importer) throws IOException {
+        BulkImportResult result = new BulkImportResult();
+        MediaType mediaType = contentType == null ? MediaType.APPLICATION_JSON : MediaType.parseMediaType(contentType);
+        List<Row<T>> chunk = new ArrayList<>(CHUNK_SIZE);
+        long rowNumber = 0;
+
+        try (BulkRecordReader reader = BulkRecordReader.open(in, mediaType, objectMapper, listColumns)) {
+            while (true) {
+                Map<String, Object> record;
+                try {
+                    record = reader.next();
+                } catch (IllegalArgumentException | IOException e) {
+                    // A broken payload cannot be resynchronised; keep what was imported so far
+                    result.addReceived(1);
+                    result.addError(rowNumber + 1, null, "Malformed payload: " + e.getMessage());
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                rowNumber++;
+                result.addReceived(1);
+                try {
+                    chunk.add(new Row<>(rowNumber, objectMapper.convertValue(record, rowType)));
+                } catch (IllegalArgumentException e) {
+                    result.addError(rowNumber, null, "Invalid row: " + e.getMessage());
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    flush(chunk, importer, result);
+                }
+            }
+            flush(chunk, importer, result);
+        }
+        return result;
+    }
+
+    private <T> void flush(List<Row<T>> chunk, ChunkImporter<T> importer, BulkImportResult result) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<Row<T>> valid = importer.validate(chunk, result);
+        if (!valid.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> importer.write(valid));
+                result.addImported(valid.size());
+            } catch (DataAccessException | VenueConflictException e) {
+                // A constraint tripped inside the batch (e.g. a concurrent insert or a venue
+                // double booking); retry row by row to pinpoint it
+                for (Row<T> row : valid) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status -> importer.write(Collections.singletonList(row)));
+                        result.addImported(1);
+                    } catch (DataAccessException rowError) {
+                        result.addError(row.number, importer.key(row.value), rowError.getMostSpecificCause().getMessage());
+                    } catch (VenueConflictException rowError) {
+                        result.addError(row.number, importer.key(row.value), rowError.getMessage());
+                    }
+                }
+            }
+        }
+        chunk.clear();
+    }
+
+    private interface ChunkImporter<T> {
+
+        String key(T value);
+
+        /**
+         * Reports invalid rows on {@code result} and returns the rows that may be written.
+         */
+        List<Row<T>> validate(List<Row<T>> rows, BulkImportResult result);
+
+        void write(List<Row<T>> rows);
+    }
+
+    private static final class Row<T> {
+
+        final long number;
+        final T value;
+        List<Long> groupIds = Collections.emptyList();
+        List<Long> userIds = Collections.emptyList();
+
+        Row(long number, T value) {
+            this.number = number;
+            this.value = value;
+        }
+    }
+
+    private final class UserImporter implements ChunkImporter<UserImportRow> {
+
+        private final Set<String> seenUserIds = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+
+        @Override
+        public String key(UserImportRow value) {
+            return value.getUserId();
+        }
+
+        @Override
+        public List<Row<UserImportRow>> validate(List<Row<UserImportRow>> rows, BulkImportResult result) {
+            List<Row<UserImportRow>> candidates = new ArrayList<>();
+            for (Row<UserImportRow> row : rows) {
+                UserImportRow user = row.value;
+                String missing = firstMissing("userId", user.getUserId(), "userName", user.getUserName(),
+                        "email", user.getEmail(), "role", user.getRole(), "status", user.getStatus());
+                if (missing != null) {
+                    result.addError(row.number, user.getUserId(), missing + " is required");
+                } else if (!seenUserIds.add(user.getUserId())) {
+                    result.addError(row.number, user.getUserId(), "Duplicate userId in payload");
+                } else if (!seenEmails.add(user.getEmail())) {
+                    result.addError(row.number, user.getUserId(), "Duplicate email in payload");
+                } else {
+                    candidates.add(row);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+
+            List<String> userIds = new ArrayList<>();
+            List<String> emails = new ArrayList<>();
+            for (Row<UserImportRow> row : candidates) {
+                userIds.add(row.value.getUserId());
+                emails.add(row.value.getEmail());
+            }
+            // Only values the uniqueness index cannot rule out are looked up
+            List<String> maybeUserIds = uniquenessIndex.filterMaybeTaken(UniquenessIndex.Key.USER_ID, userIds);
+            List<String> maybeEmails = uniquenessIndex.filterMaybeTaken(UniquenessIndex.Key.EMAIL, emails);
+            Set<String> takenUserIds = maybeUserIds.isEmpty()
+                    ? Collections.emptySet() : new HashSet<>(userRepository.findExistingUserIds(maybeUserIds));
+            Set<String> takenEmails = maybeEmails.isEmpty()
+                    ? Collections.emptySet() : new HashSet<>(userRepository.findExistingEmails(maybeEmails));
+
+            List<Row<UserImportRow>> valid = new ArrayList<>();
+            for (Row<UserImportRow> row : candidates) {
+                if (takenUserIds.contains(row.value.getUserId())) {
+                    result.addError(row.number, row.value.getUserId(), "userId already exists");
+                } else if (takenEmails.contains(row.value.getEmail())) {
+                    result.addError(row.number, row.value.getUserId(), "email already exists");
+                } else {
+                    valid.add(row);
+                }
+            }
+            return valid;
+        }
+
+        @Override
+        public void write(List<Row<UserImportRow>> rows) {
+            for (Row<UserImportRow> row : rows) {
+                uniquenessIndex.add(UniquenessIndex.Key.USER_ID, row.value.getUserId());
+                uniquenessIndex.add(UniquenessIndex.Key.EMAIL, row.value.getEmail());
+            }
+            List<Long> ids = insertReturningKeys(INSERT_USER, rows, (ps, row) -> {
+                UserImportRow user = row.value;
+                ps.setString(1, user.getUserId());
+                ps.setString(2, user.getUserName());
+                ps.setString(3, user.getEmail());
+                ps.setString(4, user.getRole());
+                ps.setString(5, user.getStatus());
+            });
+            publishCreated(EntityType.USER, ids);
+        }
+    }
+
+    private final class GroupImporter implements ChunkImporter<GroupImportRow> {
+
+        private final Set<String> seenGroupCodes = new HashSet<>();
+
+        @Override
+        public String key(GroupImportRow value) {
+            return value.getGroupCode();
+        }
+
+        @Override
+        public List<Row<GroupImportRow>> validate(List<Row<GroupImportRow>> rows, BulkImportResult result) {
+            List<Row<GroupImportRow>> candidates = new ArrayList<>();
+            for (Row<GroupImportRow> row : rows) {
+                GroupImportRow group = row.value;
+                String missing = firstMissing("groupName", group.getGroupName(), "groupCode", group.getGroupCode(),
+                        "status", group.getStatus(), "groupType", group.getGroupType());
+                if (missing != null) {
+                    result.addError(row.number, group.getGroupCode(), missing + " is required");
+                } else if (!seenGroupCodes.add(group.getGroupCode())) {
+                    result.addError(row.number, group.getGroupCode(), "Duplicate groupCode in payload");
+                } else {
+                    candidates.add(row);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+
+            List<String> groupCodes = new ArrayList<>();
+            Set<String> memberUserIds = new HashSet<>();
+            for (Row<GroupImportRow> row : candidates) {
+                groupCodes.add(row.value.getGroupCode());
+                memberUserIds.addAll(nullToEmpty(row.value.getGroupMembers()));
+            }
+            List<String> maybeCodes = uniquenessIndex.filterMaybeTaken(UniquenessIndex.Key.GROUP_CODE, groupCodes);
+            Set<String> takenCodes = maybeCodes.isEmpty()
+                    ? Collections.emptySet() : new HashSet<>(groupRepository.findExistingGroupCodes(maybeCodes));
+            Map<String, Long> userIdsByKey = resolveUserIds(memberUserIds);
+
+            List<Row<GroupImportRow>> valid = new ArrayList<>();
+            for (Row<GroupImportRow> row : candidates) {
+                if (takenCodes.contains(row.value.getGroupCode())) {
+                    result.addError(row.number, row.value.getGroupCode(), "groupCode already exists");
+                    continue;
+                }
+                String unknown = firstUnresolved(row.value.getGroupMembers(), userIdsByKey);
+                if (unknown != null) {
+                    result.addError(row.number, row.value.getGroupCode(), "Unknown member userId: " + unknown);
+                    continue;
+                }
+                row.userIds = resolved(row.value.getGroupMembers(), userIdsByKey);
+                valid.add(row);
+            }
+            return valid;
+        }
+
+        @Override
+        public void write(List<Row<GroupImportRow>> rows) {
+            for (Row<GroupImportRow> row : rows) {
+                uniquenessIndex.add(UniquenessIndex.Key.GROUP_CODE, row.value.getGroupCode());
+            }
+            List<Long> groupIds = insertReturningKeys(INSERT_GROUP, rows, (ps, row) -> {
+                GroupImportRow group = row.value;
+                ps.setString(1, group.getGroupName());
+                ps.setString(2, group.getGroupCode());
+                ps.setString(3, group.getStatus());
+                ps.setString(4, group.getGroupType());
+            });
+            insertLinks(INSERT_GROUP_MEMBER, groupIds, rows, row -> row.userIds);
+            publishCreated(EntityType.GROUP, groupIds);
+        }
+    }
+
+    private final class EventImporter implements ChunkImporter<EventImportRow> {
+
+        @Override
+        public String key(EventImportRow value) {
+            return value.getEventTitle();
+        }
+
+        @Override
+        public List<Row<EventImportRow>> validate(List<Row<EventImportRow>> rows, BulkImportResult result) {
+            List<Row<EventImportRow>> candidates = new ArrayList<>();
+            Set<String> groupCodes = new HashSet<>();
+            Set<String> userIds = new HashSet<>();
+            for (Row<EventImportRow> row : rows) {
+                EventImportRow event = row.value;
+                String missing = firstMissing("eventTitle", event.getEventTitle(),
+                        "description", event.getDescription(), "dateTime", event.getDateTime(),
+                        "eventType", event.getEventType(), "isPublic", event.getIsPublic(),
+                        "inviteType", event.getInviteType(), "status", event.getStatus());
+                if (missing != null) {
+                    result.addError(row.number, event.getEventTitle(), missing + " is required");
+                } else if (event.getDescription().length() > 500) {
+                    result.addError(row.number, event.getEventTitle(), "description is longer than 500 characters");
+                } else if (event.getEndDateTime() != null && !event.getEndDateTime().isAfter(event.getDateTime())) {
+                    result.addError(row.number, event.getEventTitle(), "endDateTime must be after dateTime");
+                } else if ((event.getLatitude() == null) != (event.getLongitude() == null)) {
+                    result.addError(row.number, event.getEventTitle(), "latitude and longitude must be given together");
+                } else if (event.getLatitude() == null && (hasText(event.getAddress()) || hasText(event.getVenueKey()))) {
+                    // The venue is loaded into primitive coordinates, so a venue without them could not be read back
+                    result.addError(row.number, event.getEventTitle(), "latitude and longitude are required with a venue");
+                } else if (event.getLatitude() != null && (Math.abs(event.getLatitude()) > 90 || Math.abs(event.getLongitude()) > 180)) {
+                    result.addError(row.number, event.getEventTitle(), "latitude or longitude out of range");
+                } else {
+                    candidates.add(row);
+                    groupCodes.addAll(nullToEmpty(event.getInvitedGroups()));
+                    userIds.addAll(nullToEmpty(event.getInvitedUsers()));
+                }
+            }
+            if (candidates.isEmpty()) {
+                return candidates;
+            }
+
+            Map<String, Long> groupIdsByCode = resolveGroupIds(groupCodes);
+            Map<String, Long> userIdsByKey = resolveUserIds(userIds);
+
+            List<Row<EventImportRow>> valid = new ArrayList<>();
+            for (Row<EventImportRow> row : candidates) {
+                String unknownGroup = firstUnresolved(row.value.getInvitedGroups(), groupIdsByCode);
+                String unknownUser = firstUnresolved(row.value.getInvitedUsers(), userIdsByKey);
+                if (unknownGroup != null) {
+                    result.addError(row.number, row.value.getEventTitle(), "Unknown groupCode: " + unknownGroup);
+                } else if (unknownUser != null) {
+                    result.addError(row.number, row.value.getEventTitle(), "Unknown userId: " + unknownUser);
+                } else {
+                    row.groupIds = resolved(row.value.getInvitedGroups(), groupIdsByCode);
+                    row.userIds = resolved(row.value.getInvitedUsers(), userIdsByKey);
+                    valid.add(row);
+                }
+            }
+            return valid;
+        }
+
+        @Override
+        public void write(List<Row<EventImportRow>> rows) {
+            List<Long> eventIds = insertReturningKeys(INSERT_EVENT, rows, (ps, row) -> {
+                EventImportRow event = row.value;
+                ps.setString(1, event.getEventTitle());
+                ps.setString(2, event.getDescription());
+                ps.setObject(3, event.getDateTime());
+                ps.setObject(4, endDateTime(event));
+                ps.setString(5, event.getAddress());
+                setNullableDouble(ps, 6, event.getLatitude());
+                setNullableDouble(ps, 7, event.getLongitude());
+                ps.setString(8, venueKey(event));
+                if (Venue.hasCoordinates(event.getLatitude(), event.getLongitude())) {
+                    ps.setLong(9, GeoGrid.cellOf(event.getLatitude(), event.getLongitude()));
+                } else {
+                    ps.setNull(9, Types.BIGINT);
+                }
+                ps.setString(10, event.getEventType());
+                ps.setBoolean(11, event.getIsPublic());
+                ps.setString(12, event.getInviteType());
+                ps.setString(13, event.getStatus());
+            });
+            // Rolled back with the chunk if a row double-books its venue
+            for (int i = 0; i < rows.size(); i++) {
+                EventImportRow event = rows.get(i).value;
+                venueBookingIndex.reserve(eventIds.get(i), venueKey(event), event.getDateTime(), endDateTime(event));
+                eventSearchIndex.index(eventIds.get(i), event.getEventTitle(), event.getDescription());
+            }
+            insertLinks(INSERT_EVENT_GROUP, eventIds, rows, row -> row.groupIds);
+            insertLinks(INSERT_EVENT_USER, eventIds, rows, row -> row.userIds);
+            eventInviteeService.refreshEvents(eventIds);
+            for (int i = 0; i < rows.size(); i++) {
+                notificationOutboxService.eventCreated(eventIds.get(i), rows.get(i).value.getDateTime());
+            }
+            publishCreated(EntityType.EVENT, eventIds);
+        }
+    }
+
+    private static LocalDateTime endDateTime(EventImportRow event) {
+        return event.getEndDateTime() != null ? event.getEndDateTime() : event.getDateTime().plus(Event.DEFAULT_DURATION);
+    }
+
+    private static String venueKey(EventImportRow event) {
+        return Venue.resolveKey(event.getVenueKey(), event.getAddress(), event.getLatitude(), event.getLongitude());
+    }
+
+    // Inserted rows start at version 0; the change stream sends them once the chunk commits
+    private void publishCreated(EntityType entityType, List<Long> ids) {
+        for (Long id : ids) {
+            eventPublisher.publishEvent(EntityChangedEvent.created(entityType, id, () -> 0L));
+        }
+    }
+
+    private interface RowBinder<T> {
+        void bind(PreparedStatement ps, Row<T> row) throws SQLException;
+    }
+
+    private interface LinkSelector<T> {
+        List<Long> targets(Row<T> row);
+    }
+
+    /**
+     * Inserts the rows as one JDBC batch and returns the generated ids in row order.
+     */
+    private <T> List<Long> insertReturningKeys(String sql, List<Row<T>> rows, RowBinder<T> binder) {
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                con -> con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        binder.bind(ps, rows.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return rows.size();
+                    }
+                },
+                keyHolder);
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            ids.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return ids;
+    }
+
+    /**
+     * Batch-inserts (ownerId, targetId) join rows for every owner row.
+     */
+    private <T> void insertLinks(String sql, List<Long> ownerIds, List<Row<T>> rows, LinkSelector<T> selector) {
+        List<long[]> links = new ArrayList<>();
+        for (int i = 0; i < rows.size(); i++) {
+            for (Long target : selector.targets(rows.get(i))) {
+                links.add(new long[]{ownerIds.get(i), target});
+            }
+        }
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, links, CHUNK_SIZE, (ps, link) -> {
+                ps.setLong(1, link[0]);
+                ps.setLong(2, link[1]);
+            });
+        }
+    }
+
+    private Map<String, Long> resolveUserIds(Collection<String> userIds) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] row : userRepository.findIdRowsByUserIdIn(userIds)) {
+                ids.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return ids;
+    }
+
+    private Map<String, Long> resolveGroupIds(Collection<String> groupCodes) {
+        Map<String, Long> ids = new HashMap<>();
+        if (!groupCodes.isEmpty()) {
+            for (Object[] row : groupRepository.findIdRowsByGroupCodeIn(groupCodes)) {
+                ids.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return ids;
+    }
+
+    private static String firstUnresolved(List<String> keys, Map<String, Long> resolved) {
+        for (String key : nullToEmpty(keys)) {
+            if (!resolved.containsKey(key)) {
+                return key;
+            }
+        }
+        return null;
+    }
+
+    private static List<Long> resolved(List<String> keys, Map<String, Long> resolved) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String key : nullToEmpty(keys)) {
+            ids.add(resolved.get(key));
+        }
+        return new ArrayList<>(ids);
+    }
+
+    /**
+     * @param namesAndValues alternating field names and values
+     * @return the name of the first null or blank field, or null if all are present
+     */
+    private static String firstMissing(Object... namesAndValues) {
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            Object value = namesAndValues[i + 1];
+            if (value == null || (value instanceof String && ((String) value).isBlank())) {
+                return (String) namesAndValues[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static <E> List<E> nullToEmpty(List<E> list) {
+        return list == null ? Collections.emptyList() : list;
+    }
+
+    private static void setNullableDouble(PreparedStatement ps, int index, Double value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+}
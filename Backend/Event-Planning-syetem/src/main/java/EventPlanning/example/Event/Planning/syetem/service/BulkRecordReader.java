@@ -0,0 +1,183 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Pulls bulk import records one at a time from a request body, so the payload is never
+ * held in memory as a whole. Accepts a JSON array of objects or CSV with a header line;
+ * in CSV, list columns hold {@value #CSV_LIST_SEPARATOR}-separated values.
+ */
+public abstract class BulkRecordReader implements Closeable {
+
+    public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    static final char CSV_LIST_SEPARATOR = ';';
+
+    /**
+     * @return the next record, or null once the input is exhausted
+     * @throws IllegalArgumentException if the payload is malformed
+     */
+    public abstract Map<String, Object> next() throws IOException;
+
+    public static BulkRecordReader open(InputStream in, MediaType contentType, ObjectMapper objectMapper,
+                                        Set<String> listColumns) throws IOException {
+        if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+            return new CsvReader(in, listColumns);
+        }
+        return new JsonArrayReader(in, objectMapper);
+    }
+
+    private static final class JsonArrayReader extends BulkRecordReader {
+
+        private final JsonParser parser;
+        private final ObjectMapper objectMapper;
+        private boolean started;
+
+        JsonArrayReader(InputStream in, ObjectMapper objectMapper) throws IOException {
+            this.parser = objectMapper.getFactory().createParser(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Map<String, Object> next() throws IOException {
+            if (!started) {
+                started = true;
+                if (parser.nextToken() != JsonToken.START_ARRAY) {
+                    throw new IllegalArgumentException("Expected a JSON array of objects");
+                }
+            }
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            if (token != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object but found " + token);
+            }
+            return objectMapper.readValue(parser, Map.class);
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+        }
+    }
+
+    private static final class CsvReader extends BulkRecordReader {
+
+        private final BufferedReader reader;
+        private final Set<String> listColumns;
+        private List<String> header;
+
+        CsvReader(InputStream in, Set<String> listColumns) {
+            this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            this.listColumns = listColumns;
+        }
+
+        @Override
+        public Map<String, Object> next() throws IOException {
+            if (header == null) {
+                header = readLine();
+                if (header == null) {
+                    return null;
+                }
+            }
+            List<String> values = readLine();
+            while (values != null && values.size() == 1 && values.get(0).isEmpty()) {
+                values = readLine(); // skip blank lines
+            }
+            if (values == null) {
+                return null;
+            }
+            if (values.size() != header.size()) {
+                throw new IllegalArgumentException("Expected " + header.size() + " columns but found " + values.size());
+            }
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String column = header.get(i).trim();
+                String value = values.get(i);
+                if (value.isEmpty()) {
+                    record.put(column, null);
+                } else if (listColumns.contains(column)) {
+                    List<String> items = new ArrayList<>();
+                    for (String item : value.split(String.valueOf(CSV_LIST_SEPARATOR))) {
+                        if (!item.isBlank()) {
+                            items.add(item.trim());
+                        }
+                    }
+                    record.put(column, items);
+                } else {
+                    record.put(column, value);
+                }
+            }
+            return record;
+        }
+
+        /**
+         * Reads one RFC 4180 record; quoted fields may contain separators, quotes ("") and line breaks.
+         */
+        private List<String> readLine() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                char ch = (char) c;
+                if (quoted) {
+                    if (ch == '"') {
+                        reader.mark(1);
+                        int peek = reader.read();
+                        if (peek == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (peek != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        field.append(ch);
+                    }
+                } else if (ch == '"') {
+                    quoted = true;
+                } else if (ch == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (ch == '\n') {
+                    break;
+                } else if (ch != '\r') {
+                    field.append(ch);
+                }
+                c = reader.read();
+            }
+            if (quoted) {
+                throw new IllegalArgumentException("Unterminated quoted field");
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes keyset positions into opaque continuation tokens and back.
+ * Clients must treat the token as a black box and pass it back unchanged.
+ */
+public final class CursorCodec {
+
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(Object... parts) {
+        StringBuilder raw = new StringBuilder();
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                raw.append(SEPARATOR);
+            }
+            raw.append(parts[i]);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token is malformed or has the wrong number of parts
+     */
+    public static String[] decode(String token, int expectedParts) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, -1);
+        if (parts.length != expectedParts) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+}
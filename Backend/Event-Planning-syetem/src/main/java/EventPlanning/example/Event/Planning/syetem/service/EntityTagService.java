@@ -0,0 +1,155 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Strong ETags for the event, group and user endpoints, computed from {@code @Version}
+ * columns with aggregate queries instead of loading and serializing the entity graph.
+ * <p>
+ * A representation changes when its own row changes or when a nested entity does: an event
+ * embeds its invited groups, their members and its invited users, a group embeds its members.
+ * Changing an owned collection bumps the owner's version, and every other change bumps the
+ * changed row's version, so the owner's version plus the summed versions of the nested rows
+ * identify the representation. List tags also include the row count and highest id, which
+ * change on inserts and deletes.
+ * <p>
+ * Single-entity endpoints only produce JSON, so their tags stay strong; the list endpoints
+ * also negotiate CBOR and Smile and get weak tags.
+ */
+@Service
+public class EntityTagService {
+
+    // Summed versions of the groups, group members and users nested in the events :eventIds
+    private static final String EVENT_RELATED_VERSIONS =
+            "SELECT (SELECT COALESCE(SUM(g.version), 0) FROM event_groups eg " +
+            "JOIN `groups` g ON g.id = eg.group_code WHERE eg.event_id IN (:eventIds)), " +
+            "(SELECT COALESCE(SUM(u.version), 0) FROM event_groups eg " +
+            "JOIN group_members gm ON gm.group_id = eg.group_code JOIN users u ON u.id = gm.user_id " +
+            "WHERE eg.event_id IN (:eventIds)), " +
+            "(SELECT COALESCE(SUM(u.version), 0) FROM event_users eu " +
+            "JOIN users u ON u.id = eu.user_id WHERE eu.event_id IN (:eventIds))";
+
+    private static final String GROUP_VERSIONS =
+            "SELECT g.version, (SELECT COALESCE(SUM(u.version), 0) FROM group_members gm " +
+            "JOIN users u ON u.id = gm.user_id WHERE gm.group_id = g.id) " +
+            "FROM `groups` g WHERE g.id = :id";
+
+    private static final String TABLE_FINGERPRINT =
+            "SELECT COUNT(*), COALESCE(SUM(version), 0), COALESCE(MAX(id), 0) FROM ";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventService eventService;
+
+    /**
+     * @return the tag of {@code GET /api/events/{id}}, or empty if the event does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> eventTag(Long id) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM events WHERE id = :id",
+                new MapSqlParameterSource("id", id), Long.class);
+        if (versions.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(tag("event", id, versions.get(0), relatedVersions(List.of(id))));
+    }
+
+    /**
+     * Tag of one page of {@code GET /api/events}, from the (id, version) pairs of its rows.
+     * Collapsed invitees are ids, covered by the event versions; the versions of the groups
+     * and users themselves only count when they are expanded.
+     */
+    @Transactional(readOnly = true)
+    public String eventPageTag(String status, String eventType, LocalDateTime from,
+                               LocalDateTime to, String cursor, Integer limit, FieldSelection selection) {
+        List<Object[]> rows = eventService.getEventPageVersions(status, eventType, from, to, cursor, limit);
+        List<Long> ids = new ArrayList<>(rows.size());
+        StringBuilder page = new StringBuilder();
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+            page.append(row[0]).append(':').append(row[1]).append(',');
+        }
+        boolean embedsRelated = selection.expands("invitedGroups") || selection.expands("invitedUsers");
+        return weak(tag("events", status, eventType, from, to, cursor, limit, selection.key(), page,
+                ids.isEmpty() || !embedsRelated ? "" : relatedVersions(ids)));
+    }
+
+    /**
+     * @return the tag of {@code GET /api/groups/{id}}, or empty if the group does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> groupTag(Long id) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(GROUP_VERSIONS, new MapSqlParameterSource("id", id));
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        return Optional.of(tag("group", id, rows.get(0).values()));
+    }
+
+    @Transactional(readOnly = true)
+    public String groupListTag(FieldSelection selection) {
+        // Member changes bump the group version; the users only count when members are embedded
+        return weak(tag("groups", selection.key(), fingerprint("`groups`"),
+                selection.expands("groupMembers") ? fingerprint("users") : ""));
+    }
+
+    /**
+     * @return the tag of {@code GET /api/users/{id}}, or empty if the user does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> userTag(Long id) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM users WHERE id = :id",
+                new MapSqlParameterSource("id", id), Long.class);
+        return versions.isEmpty() ? Optional.empty() : Optional.of(tag("user", id, versions.get(0)));
+    }
+
+    @Transactional(readOnly = true)
+    public String userListTag(FieldSelection selection) {
+        return weak(tag("users", selection.key(), fingerprint("users")));
+    }
+
+    private Object relatedVersions(List<Long> eventIds) {
+        return jdbcTemplate.queryForList(EVENT_RELATED_VERSIONS, new MapSqlParameterSource("eventIds", eventIds))
+                .get(0).values();
+    }
+
+    private Object fingerprint(String table) {
+        return jdbcTemplate.queryForList(TABLE_FINGERPRINT + table, new MapSqlParameterSource()).get(0).values();
+    }
+
+    // List responses come in several encodings (JSON, CBOR, Smile, each maybe gzipped) that share
+    // one tag, so it is weak; Tomcat also only compresses responses without a strong tag
+    private static String weak(String tag) {
+        return "W/" + tag;
+    }
+
+    // Hashes the parts so tags stay short and reveal nothing about the data
+    private static String tag(Object... parts) {
+        StringBuilder input = new StringBuilder();
+        for (Object part : parts) {
+            input.append(part).append('|');
+        }
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(input.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes every event as newline-delimited JSON. Events are read through a forward-only
+ * stream and converted in fixed-size chunks; the persistence context is cleared after each
+ * chunk, so heap use does not grow with the number of rows.
+ */
+@Service
+public class EventExportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private static final int NEWLINE = '\n';
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /**
+     * @return the number of events written
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream out) throws IOException {
+        long written = 0;
+        List<Event> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (Stream<Event> events = eventRepository.streamAllOrderById()) {
+            Iterator<Event> iterator = events.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == CHUNK_SIZE) {
+                    written += writeChunk(chunk, out);
+                }
+            }
+            written += writeChunk(chunk, out);
+        }
+        out.flush();
+        return written;
+    }
+
+    private int writeChunk(List<Event> chunk, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        for (EventView view : eventQueryService.toViews(chunk)) {
+            out.write(objectMapper.writeValueAsBytes(view));
+            out.write(NEWLINE);
+        }
+        int size = chunk.size();
+        chunk.clear();
+        // Detach everything loaded so far; the open stream keeps its position
+        entityManager.clear();
+        return size;
+    }
+}
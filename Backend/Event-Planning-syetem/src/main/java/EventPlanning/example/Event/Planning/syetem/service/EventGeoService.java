@@ -0,0 +1,139 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.dto.NearbyEvent;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.GeoGrid;
+import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Radius search over event venues. Candidates come from an index range scan on
+ * {@code events.geo_cell} (one range per grid row of the bounding box) plus a latitude
+ * bounding-box filter; only (id, latitude, longitude) is read for them. The exact haversine
+ * distance then decides membership and order, and only the final page of events is loaded.
+ */
+@Service
+public class EventGeoService {
+
+    public static final double MAX_RADIUS_KM = 100;
+    static final int DEFAULT_LIMIT = 50;
+    static final int MAX_LIMIT = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(EventGeoService.class);
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventQueryService eventQueryService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Transactional(readOnly = true)
+    public List<NearbyEvent> findNearby(double latitude, double longitude, double radiusKm, Integer limit) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new IllegalArgumentException("lat must be within [-90, 90] and lng within [-180, 180]");
+        }
+        if (!(radiusKm > 0) || radiusKm > MAX_RADIUS_KM) {
+            throw new IllegalArgumentException("radiusKm must be greater than 0 and at most " + MAX_RADIUS_KM);
+        }
+        int max = limit == null ? DEFAULT_LIMIT : limit;
+        if (max < 1 || max > MAX_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_LIMIT);
+        }
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Event> event = query.from(Event.class);
+        Path<Long> geoCell = event.get("geoCell");
+        Path<Double> eventLatitude = event.get("venue").get("latitude");
+        Path<Double> eventLongitude = event.get("venue").get("longitude");
+
+        List<Predicate> cellRanges = new ArrayList<>();
+        for (long[] range : GeoGrid.cellRanges(latitude, longitude, radiusKm)) {
+            cellRanges.add(cb.between(geoCell, range[0], range[1]));
+        }
+        double deltaLat = GeoGrid.latitudeDegrees(radiusKm);
+        query.multiselect(event.get("id"), eventLatitude, eventLongitude)
+                .where(cb.or(cellRanges.toArray(new Predicate[0])),
+                        cb.between(eventLatitude, latitude - deltaLat, latitude + deltaLat));
+
+        List<double[]> matches = new ArrayList<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            double distance = GeoGrid.haversineKm(latitude, longitude,
+                    row.get(1, Double.class), row.get(2, Double.class));
+            if (distance <= radiusKm) {
+                matches.add(new double[]{row.get(0, Long.class), distance});
+            }
+        }
+        matches.sort(Comparator.comparingDouble(match -> match[1]));
+        if (matches.size() > max) {
+            matches = matches.subList(0, max);
+        }
+
+        List<Long> ids = new ArrayList<>(matches.size());
+        for (double[] match : matches) {
+            ids.add((long) match[0]);
+        }
+        Map<Long, Event> eventsById = new HashMap<>();
+        for (Event loaded : eventRepository.findAllById(ids)) {
+            eventsById.put(loaded.getId(), loaded);
+        }
+        List<Event> ordered = new ArrayList<>(ids.size());
+        List<Double> distances = new ArrayList<>(ids.size());
+        for (double[] match : matches) {
+            Event loaded = eventsById.get((long) match[0]);
+            if (loaded != null) {
+                ordered.add(loaded);
+                distances.add(match[1]);
+            }
+        }
+
+        List<EventView> views = eventQueryService.toViews(ordered);
+        List<NearbyEvent> result = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            result.add(new NearbyEvent(distances.get(i), views.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * Derives the grid cell for rows written before the column existed or outside JPA.
+     * Rows without coordinates, null or (0, 0), keep a null cell.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillGeoCells() {
+        int updated = jdbcTemplate.update("UPDATE events SET geo_cell = " + GeoGrid.CELL_SQL +
+                " WHERE geo_cell IS NULL AND (latitude <> 0 OR longitude <> 0)");
+        if (updated > 0) {
+            logger.info("Backfilled geo_cell for {} events", updated);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
+import EventPlanning.example.Event.Planning.syetem.repository.EventInviteeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Maintains the {@code event_invitees} table: the deduplicated union of each event's directly
+ * invited users and the members of its invited groups.
+ * <p>
+ * Every change is applied as a diff with set-based SQL (insert what is missing, delete what is
+ * no longer reachable), scoped to the events and users that were touched. Callers must flush
+ * their JPA changes to the join tables before calling in. Each row also carries a copy of the
+ * event's start time, which {@link #syncEventDateTime} keeps current.
+ */
+@Service
+public class EventInviteeService {
+
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 1000;
+
+    // Large id lists are split so IN clauses stay a reasonable size
+    private static final int ID_CHUNK_SIZE = 1000;
+
+    private static final Logger logger = LoggerFactory.getLogger(EventInviteeService.class);
+
+    // Effective invitees of the events in :eventIds as (event_id, user_id)
+    private static final String EFFECTIVE_INVITEES =
+            "SELECT eu.event_id, eu.user_id FROM event_users eu WHERE eu.event_id IN (:eventIds) " +
+            "UNION " +
+            "SELECT eg.event_id, gm.user_id FROM event_groups eg " +
+            "JOIN group_members gm ON gm.group_id = eg.group_code WHERE eg.event_id IN (:eventIds)";
+
+    private static final String STILL_REACHABLE =
+            "(EXISTS (SELECT 1 FROM event_users eu " +
+            "WHERE eu.event_id = event_invitees.event_id AND eu.user_id = event_invitees.user_id) " +
+            "OR EXISTS (SELECT 1 FROM event_groups eg JOIN group_members gm ON gm.group_id = eg.group_code " +
+            "WHERE eg.event_id = event_invitees.event_id AND gm.user_id = event_invitees.user_id))";
+
+    private static final String INSERT_MISSING_FOR_EVENTS =
+            "INSERT INTO event_invitees (event_id, user_id, event_date_time) " +
+            "SELECT s.event_id, s.user_id, e.date_time FROM (" + EFFECTIVE_INVITEES + ") s " +
+            "JOIN events e ON e.id = s.event_id " +
+            "WHERE NOT EXISTS (SELECT 1 FROM event_invitees ei " +
+            "WHERE ei.event_id = s.event_id AND ei.user_id = s.user_id)";
+
+    private static final String DELETE_STALE_FOR_EVENTS =
+            "DELETE FROM event_invitees WHERE event_id IN (:eventIds) AND NOT " + STILL_REACHABLE;
+
+    private static final String INSERT_ADDED_MEMBERS =
+            "INSERT INTO event_invitees (event_id, user_id, event_date_time) " +
+            "SELECT DISTINCT eg.event_id, u.id, e.date_time FROM event_groups eg " +
+            "JOIN events e ON e.id = eg.event_id JOIN users u ON u.id IN (:userIds) " +
+            "WHERE eg.group_code = :groupId AND NOT EXISTS (SELECT 1 FROM event_invitees ei " +
+            "WHERE ei.event_id = eg.event_id AND ei.user_id = u.id)";
+
+    private static final String DELETE_REMOVED_MEMBERS =
+            "DELETE FROM event_invitees WHERE user_id IN (:userIds) " +
+            "AND event_id IN (SELECT eg.event_id FROM event_groups eg WHERE eg.group_code = :groupId) " +
+            "AND NOT " + STILL_REACHABLE;
+
+    private static final String COPY_EVENT_DATE_TIME =
+            "UPDATE event_invitees SET event_date_time = " +
+            "(SELECT e.date_time FROM events e WHERE e.id = event_invitees.event_id)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventInviteeRepository eventInviteeRepository;
+
+    /**
+     * Re-syncs the invitees of the given events after their invited groups or users changed.
+     */
+    @Transactional
+    public void refreshEvents(Collection<Long> eventIds) {
+        for (List<Long> chunk : chunks(eventIds)) {
+            MapSqlParameterSource params = new MapSqlParameterSource("eventIds", chunk);
+            jdbcTemplate.update(DELETE_STALE_FOR_EVENTS, params);
+            jdbcTemplate.update(INSERT_MISSING_FOR_EVENTS, params);
+        }
+    }
+
+    /**
+     * Applies a membership diff of one group to every event that invites the group.
+     */
+    @Transactional
+    public void applyMembershipChange(Long groupId, Collection<Long> addedUserIds, Collection<Long> removedUserIds) {
+        for (List<Long> chunk : chunks(removedUserIds)) {
+            jdbcTemplate.update(DELETE_REMOVED_MEMBERS, new MapSqlParameterSource("userIds", chunk)
+                    .addValue("groupId", groupId));
+        }
+        for (List<Long> chunk : chunks(addedUserIds)) {
+            jdbcTemplate.update(INSERT_ADDED_MEMBERS, new MapSqlParameterSource("userIds", chunk)
+                    .addValue("groupId", groupId));
+        }
+    }
+
+    /**
+     * Copies an event's (possibly changed) start time onto its invitee rows.
+     */
+    @Transactional
+    public void syncEventDateTime(Long eventId) {
+        jdbcTemplate.update(COPY_EVENT_DATE_TIME + " WHERE event_id = :eventId",
+                new MapSqlParameterSource("eventId", eventId));
+    }
+
+    @Transactional
+    public void removeEvent(Long eventId) {
+        jdbcTemplate.update("DELETE FROM event_invitees WHERE event_id = :eventId",
+                new MapSqlParameterSource("eventId", eventId));
+    }
+
+    @Transactional
+    public void removeUser(Long userId) {
+        jdbcTemplate.update("DELETE FROM event_invitees WHERE user_id = :userId",
+                new MapSqlParameterSource("userId", userId));
+    }
+
+    /**
+     * Deduplicated invitees of an event, keyset-paginated on the user primary key.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<UserView> getInvitees(Long eventId, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        long afterUserId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                afterUserId = Long.parseLong(CursorCodec.decode(cursor, 1)[0]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        List<UserView> rows = eventInviteeRepository.findInviteesAfter(eventId, afterUserId,
+                PageRequest.of(0, pageSize + 1));
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<UserView> page = rows.subList(0, pageSize);
+        return new KeysetPage<>(page, CursorCodec.encode(page.get(pageSize - 1).getId()));
+    }
+
+    /**
+     * Builds the table from scratch when it is empty but events exist, e.g. on first start
+     * after upgrading.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void backfillIfEmpty() {
+        MapSqlParameterSource none = new MapSqlParameterSource();
+        // Rows written before the start time was denormalized
+        jdbcTemplate.update(COPY_EVENT_DATE_TIME + " WHERE event_date_time IS NULL", none);
+
+        Long invitees = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_invitees", none, Long.class);
+        if (invitees != null && invitees > 0) {
+            return;
+        }
+        List<Long> eventIds = jdbcTemplate.queryForList("SELECT id FROM events", none, Long.class);
+        if (!eventIds.isEmpty()) {
+            logger.info("Backfilling event_invitees for {} events", eventIds.size());
+            refreshEvents(eventIds);
+        }
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> current = new ArrayList<>(Math.min(ids.size(), ID_CHUNK_SIZE));
+        for (Long id : ids) {
+            current.add(id);
+            if (current.size() == ID_CHUNK_SIZE) {
+                chunks.add(current);
+                current = new ArrayList<>(ID_CHUNK_SIZE);
+            }
+        }
+        if (!current.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,108 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Advances events through their lifecycle as time passes: SCHEDULED becomes ONGOING at
+ * {@code dateTime}, and SCHEDULED or ONGOING becomes COMPLETED at {@code endDateTime}.
+ * POSTPONED and CANCELLED events are left alone.
+ * <p>
+ * The (status, dateTime) and (status, endDateTime) indexes are the time-ordered queue: every
+ * tick takes the due events off its head in batches and moves each batch with one UPDATE,
+ * bumping the version so ETags change. A tick with nothing due costs two index probes.
+ */
+@Service
+@ConditionalOnProperty(value = "app.event-lifecycle.enabled", matchIfMissing = true)
+public class EventLifecycleService {
+
+    public static final String SCHEDULED = "SCHEDULED";
+    public static final String ONGOING = "ONGOING";
+    public static final String COMPLETED = "COMPLETED";
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLifecycleService.class);
+
+    private static final String DUE_TO_COMPLETE =
+            "SELECT id FROM events WHERE status IN (:statuses) AND end_date_time <= :now " +
+            "ORDER BY end_date_time LIMIT :limit";
+
+    private static final String DUE_TO_START =
+            "SELECT id FROM events WHERE status = :status AND date_time <= :now " +
+            "ORDER BY date_time LIMIT :limit";
+
+    // The status condition is repeated so a concurrent edit or another instance is never overwritten
+    private static final String TRANSITION =
+            "UPDATE events SET status = :to, version = version + 1 WHERE id IN (:ids) AND status IN (:from)";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.event-lifecycle.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(fixedDelayString = "${app.event-lifecycle.interval:PT30S}", initialDelayString = "${app.event-lifecycle.interval:PT30S}")
+    public void advance() {
+        LocalDateTime now = LocalDateTime.now();
+        // Completing first moves long-past events straight to COMPLETED instead of through ONGOING
+        int completed = transition(DUE_TO_COMPLETE, List.of(SCHEDULED, ONGOING), COMPLETED, now);
+        int started = transition(DUE_TO_START, List.of(SCHEDULED), ONGOING, now);
+        if (completed > 0 || started > 0) {
+            logger.info("Event lifecycle: {} started, {} completed", started, completed);
+        }
+    }
+
+    /**
+     * Moves all due events in batches of {@code batchSize}, one short transaction per batch.
+     *
+     * @return the number of events moved
+     */
+    private int transition(String dueQuery, List<String> from, String to, LocalDateTime now) {
+        MapSqlParameterSource dueParameters = new MapSqlParameterSource()
+                .addValue("statuses", from)
+                .addValue("status", from.get(0))
+                .addValue("now", now)
+                .addValue("limit", batchSize);
+        int total = 0;
+        while (true) {
+            Integer moved = transactionTemplate.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(dueQuery, dueParameters, Long.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                jdbcTemplate.update(TRANSITION, new MapSqlParameterSource()
+                        .addValue("to", to)
+                        .addValue("ids", ids)
+                        .addValue("from", from));
+                // The set-based UPDATE does not read the new versions back
+                for (Long id : ids) {
+                    eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.EVENT, id, () -> null));
+                }
+                return ids.size();
+            });
+            total += moved;
+            if (moved < batchSize) {
+                return total;
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.PreconditionFailedException;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.GeoGrid;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import EventPlanning.example.Event.Planning.syetem.notification.NotificationOutboxService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Applies JSON Merge Patch (RFC 7386) documents to events with targeted SQL: one UPDATE of
+ * just the patched columns (plus the derived ones that depend on them) and diff-only inserts
+ * and deletes on the invitee join tables. The event graph is never loaded.
+ * <p>
+ * {@code invitedGroups} and {@code invitedUsers} accept either an array, which replaces the
+ * invitees (group codes or {@code {"groupCode": ...}}, userIds or {@code {"userId": ...}}),
+ * or a delta {@code {"add": [...], "remove": [...]}}. Moving {@code dateTime} without giving
+ * {@code endDateTime} keeps the event's duration.
+ */
+@Service
+public class EventPatchService {
+
+    private static final String LOAD_STATE =
+            "SELECT event_title, description, date_time, end_date_time, address, latitude, longitude, venue_key, " +
+            "version FROM events WHERE id = :id FOR UPDATE";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private IdLookupCache idLookupCache;
+
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private VenueBookingIndex venueBookingIndex;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private EntityTagService entityTagService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    // Current values of the columns a patch may need to validate or derive from
+    private static final class State {
+        String eventTitle;
+        String description;
+        LocalDateTime dateTime;
+        LocalDateTime endDateTime;
+        String address;
+        Double latitude;
+        Double longitude;
+        String venueKey;
+        long version;
+    }
+
+    /**
+     * @param ifMatch the request's If-Match header, or null
+     * @return true if anything changed
+     * @throws ResourceNotFoundException if the event does not exist
+     * @throws IllegalArgumentException if the patch is invalid
+     * @throws PreconditionFailedException if {@code ifMatch} does not match the current ETag
+     * @throws EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException if the
+     *         new time or venue double-books the venue
+     */
+    @Transactional
+    public boolean patchEvent(Long id, JsonNode patch, String ifMatch) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A merge patch must be a JSON object");
+        }
+        State state = loadState(id);
+        if (ifMatch != null && !matches(ifMatch, entityTagService.eventTag(id).orElse(null))) {
+            throw new PreconditionFailedException("Event " + id + " has changed");
+        }
+
+        Map<String, Object> columns = new LinkedHashMap<>();
+        boolean scheduleChanged = false;
+        boolean venueChanged = false;
+        boolean textChanged = false;
+        boolean inviteesChanged = false;
+
+        Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "eventTitle" -> {
+                    state.eventTitle = requiredText(field.getKey(), value);
+                    columns.put("event_title", state.eventTitle);
+                    textChanged = true;
+                }
+                case "description" -> {
+                    state.description = requiredText(field.getKey(), value);
+                    if (state.description.length() > 500) {
+                        throw new IllegalArgumentException("description is longer than 500 characters");
+                    }
+                    columns.put("description", state.description);
+                    textChanged = true;
+                }
+                case "dateTime" -> {
+                    LocalDateTime dateTime = dateTime(field.getKey(), value);
+                    if (dateTime == null) {
+                        throw new IllegalArgumentException("dateTime cannot be removed");
+                    }
+                    if (!patch.has("endDateTime") && state.endDateTime != null) {
+                        state.endDateTime = dateTime.plus(Duration.between(state.dateTime, state.endDateTime));
+                        columns.put("end_date_time", state.endDateTime);
+                    }
+                    state.dateTime = dateTime;
+                    columns.put("date_time", dateTime);
+                    scheduleChanged = true;
+                }
+                case "endDateTime" -> {
+                    state.endDateTime = dateTime(field.getKey(), value);
+                    scheduleChanged = true;
+                }
+                case "eventType" -> columns.put("event_type", requiredText(field.getKey(), value));
+                case "inviteType" -> columns.put("invite_type", requiredText(field.getKey(), value));
+                case "status" -> columns.put("status", requiredText(field.getKey(), value));
+                case "isPublic" -> {
+                    if (!value.isBoolean()) {
+                        throw new IllegalArgumentException("isPublic must be true or false");
+                    }
+                    columns.put("is_public", value.booleanValue());
+                }
+                case "venue" -> {
+                    patchVenue(state, value, columns);
+                    venueChanged = true;
+                }
+                case "invitedGroups" -> inviteesChanged |= patchLinks(id, value, "groupCode",
+                        "event_groups", "group_code", idLookupCache::getGroupIds);
+                case "invitedUsers" -> inviteesChanged |= patchLinks(id, value, "userId",
+                        "event_users", "user_id", idLookupCache::getUserIds);
+                default -> throw new IllegalArgumentException("Unknown or read-only field: " + field.getKey());
+            }
+        }
+
+        if (scheduleChanged) {
+            if (state.endDateTime == null) {
+                state.endDateTime = state.dateTime.plus(Event.DEFAULT_DURATION);
+            }
+            if (!state.endDateTime.isAfter(state.dateTime)) {
+                throw new IllegalArgumentException("endDateTime must be after dateTime");
+            }
+            columns.put("end_date_time", state.endDateTime);
+        }
+
+        if (columns.isEmpty() && !inviteesChanged) {
+            return false;
+        }
+        // Invitee changes bump the version too, as Hibernate does for collection changes
+        StringBuilder sql = new StringBuilder("UPDATE events SET ");
+        MapSqlParameterSource params = new MapSqlParameterSource("id", id);
+        for (Map.Entry<String, Object> column : columns.entrySet()) {
+            sql.append(column.getKey()).append(" = :").append(column.getKey()).append(", ");
+            params.addValue(column.getKey(), column.getValue());
+        }
+        sql.append("version = version + 1 WHERE id = :id");
+        jdbcTemplate.update(sql.toString(), params);
+
+        if (scheduleChanged || venueChanged) {
+            venueBookingIndex.reserve(id, state.venueKey, state.dateTime, state.endDateTime);
+        }
+        if (columns.containsKey("date_time")) {
+            eventInviteeService.syncEventDateTime(id);
+        }
+        if (inviteesChanged) {
+            eventInviteeService.refreshEvents(List.of(id));
+        }
+        if (textChanged) {
+            eventSearchIndex.index(id, state.eventTitle, state.description);
+        }
+        notificationOutboxService.eventUpdated(id, state.dateTime, columns.containsKey("date_time"));
+        // The row is locked, so the version is exactly one past the one loaded
+        long version = state.version + 1;
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.EVENT, id, () -> version));
+        return true;
+    }
+
+    private State loadState(Long id) {
+        List<State> rows = jdbcTemplate.query(LOAD_STATE, new MapSqlParameterSource("id", id), (rs, rowNum) -> {
+            State state = new State();
+            state.eventTitle = rs.getString(1);
+            state.description = rs.getString(2);
+            state.dateTime = rs.getObject(3, LocalDateTime.class);
+            state.endDateTime = rs.getObject(4, LocalDateTime.class);
+            state.address = rs.getString(5);
+            state.latitude = rs.getObject(6, Double.class);
+            state.longitude = rs.getObject(7, Double.class);
+            state.venueKey = rs.getString(8);
+            state.version = rs.getLong(9);
+            return state;
+        });
+        if (rows.isEmpty()) {
+            throw new ResourceNotFoundException("Event not found with id " + id);
+        }
+        return rows.get(0);
+    }
+
+    private void patchVenue(State state, JsonNode venue, Map<String, Object> columns) {
+        if (!venue.isObject()) {
+            throw new IllegalArgumentException("venue must be an object");
+        }
+        String explicitKey = null;
+        Iterator<Map.Entry<String, JsonNode>> fields = venue.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            switch (field.getKey()) {
+                case "address" -> {
+                    if (!value.isNull() && !value.isTextual()) {
+                        throw new IllegalArgumentException("venue.address must be a string");
+                    }
+                    state.address = value.isNull() ? null : value.textValue();
+                    columns.put("address", state.address);
+                }
+                case "latitude" -> {
+                    state.latitude = coordinate("venue.latitude", value, 90);
+                    columns.put("latitude", state.latitude);
+                }
+                case "longitude" -> {
+                    state.longitude = coordinate("venue.longitude", value, 180);
+                    columns.put("longitude", state.longitude);
+                }
+                case "venueKey" -> explicitKey = value.isNull() ? null : requiredText("venue.venueKey", value);
+                default -> throw new IllegalArgumentException("Unknown venue field: " + field.getKey());
+            }
+        }
+        // An explicit key wins; otherwise the key follows the (new) location
+        state.venueKey = Venue.resolveKey(explicitKey, state.address, state.latitude, state.longitude);
+        columns.put("venue_key", state.venueKey);
+        columns.put("geo_cell", Venue.hasCoordinates(state.latitude, state.longitude)
+                ? GeoGrid.cellOf(state.latitude, state.longitude) : null);
+    }
+
+    /**
+     * Replaces or adjusts one invitee join table, writing only the rows that change.
+     *
+     * @return true if any row was inserted or deleted
+     */
+    private boolean patchLinks(Long eventId, JsonNode value, String keyField, String table, String column,
+                               Function<Collection<String>, Map<String, Long>> resolver) {
+        String current = "SELECT " + column + " FROM " + table + " WHERE event_id = :eventId";
+        MapSqlParameterSource eventParam = new MapSqlParameterSource("eventId", eventId);
+        Set<Long> added;
+        Set<Long> removed;
+        if (value.isArray()) {
+            Set<Long> target = resolve(value, keyField, resolver);
+            Set<Long> existing = new HashSet<>(jdbcTemplate.queryForList(current, eventParam, Long.class));
+            added = new HashSet<>(target);
+            added.removeAll(existing);
+            removed = new HashSet<>(existing);
+            removed.removeAll(target);
+        } else if (value.isObject()) {
+            for (Iterator<String> names = value.fieldNames(); names.hasNext(); ) {
+                String name = names.next();
+                if (!name.equals("add") && !name.equals("remove")) {
+                    throw new IllegalArgumentException("Invitee deltas only support add and remove, not " + name);
+                }
+            }
+            Set<Long> toAdd = resolve(value.path("add"), keyField, resolver);
+            Set<Long> toRemove = resolve(value.path("remove"), keyField, resolver);
+            Set<Long> touched = new HashSet<>(toAdd);
+            touched.addAll(toRemove);
+            Set<Long> existing = touched.isEmpty() ? new HashSet<>() : new HashSet<>(jdbcTemplate.queryForList(
+                    current + " AND " + column + " IN (:ids)", eventParam.addValue("ids", touched), Long.class));
+            added = new HashSet<>(toAdd);
+            added.removeAll(existing);
+            removed = new HashSet<>(toRemove);
+            removed.retainAll(existing);
+        } else {
+            throw new IllegalArgumentException("Invitees must be an array or an {add, remove} object");
+        }
+
+        if (!removed.isEmpty()) {
+            jdbcTemplate.update("DELETE FROM " + table + " WHERE event_id = :eventId AND " + column + " IN (:ids)",
+                    new MapSqlParameterSource("eventId", eventId).addValue("ids", removed));
+        }
+        if (!added.isEmpty()) {
+            List<MapSqlParameterSource> rows = new ArrayList<>(added.size());
+            for (Long id : added) {
+                rows.add(new MapSqlParameterSource("eventId", eventId).addValue("id", id));
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO " + table + " (event_id, " + column + ") VALUES (:eventId, :id)",
+                    rows.toArray(new MapSqlParameterSource[0]));
+        }
+        return !added.isEmpty() || !removed.isEmpty();
+    }
+
+    // Resolves natural keys (strings or {keyField: ...} objects) to primary keys; unknown keys are rejected
+    private static Set<Long> resolve(JsonNode keys, String keyField,
+                                     Function<Collection<String>, Map<String, Long>> resolver) {
+        if (keys.isMissingNode() || keys.isNull()) {
+            return new HashSet<>();
+        }
+        if (!keys.isArray()) {
+            throw new IllegalArgumentException("Expected an array of " + keyField + "s");
+        }
+        Set<String> naturalKeys = new LinkedHashSet<>();
+        for (JsonNode key : keys) {
+            JsonNode text = key.isObject() ? key.path(keyField) : key;
+            if (!text.isTextual()) {
+                throw new IllegalArgumentException("Expected " + keyField + " strings");
+            }
+            naturalKeys.add(text.textValue());
+        }
+        Map<String, Long> resolved = resolver.apply(naturalKeys);
+        for (String key : naturalKeys) {
+            if (!resolved.containsKey(key)) {
+                throw new IllegalArgumentException("Unknown " + keyField + ": " + key);
+            }
+        }
+        return new HashSet<>(resolved.values());
+    }
+
+    private static String requiredText(String field, JsonNode value) {
+        if (!value.isTextual() || value.textValue().isBlank()) {
+            throw new IllegalArgumentException(field + " must be a non-empty string");
+        }
+        return value.textValue();
+    }
+
+    private LocalDateTime dateTime(String field, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        try {
+            return objectMapper.convertValue(value, LocalDateTime.class);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(field + " must be an ISO date-time");
+        }
+    }
+
+    private static double coordinate(String field, JsonNode value, double limit) {
+        if (!value.isNumber() || Math.abs(value.doubleValue()) > limit) {
+            throw new IllegalArgumentException(field + " must be a number between -" + limit + " and " + limit);
+        }
+        return value.doubleValue();
+    }
+
+    // If-Match holds one or more quoted tags, or *
+    private static boolean matches(String ifMatch, String currentTag) {
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(currentTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
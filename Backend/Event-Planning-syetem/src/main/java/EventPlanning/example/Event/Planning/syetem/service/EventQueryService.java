@@ -0,0 +1,202 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.EventView;
+import EventPlanning.example.Event.Planning.syetem.dto.GroupView;
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.repository.EventInviteeRepository;
+import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
+import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read path for events. Builds {@link EventView}s with one query for the events plus one
+ * query per collection level (invited groups, invited users, group members), no matter how
+ * many events or groups are involved. Never touches the lazy entity collections.
+ */
+@Service
+public class EventQueryService {
+
+    static final int DEFAULT_SEARCH_LIMIT = 20;
+    static final int MAX_SEARCH_LIMIT = 100;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private EventInviteeRepository eventInviteeRepository;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Transactional(readOnly = true)
+    public KeysetPage<EventView> getEventPage(String status, String eventType, LocalDateTime from,
+                                              LocalDateTime to, String cursor, Integer limit) {
+        KeysetPage<Event> page = eventService.getEventPage(status, eventType, from, to, cursor, limit);
+        return new KeysetPage<>(toViews(page.getItems()), page.getNextCursor());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<EventView> getEventById(Long id) {
+        return eventRepository.findById(id)
+                .map(event -> toViews(Collections.singletonList(event)).get(0));
+    }
+
+    /**
+     * Full-text search over event titles and descriptions, best match first.
+     */
+    @Transactional(readOnly = true)
+    public List<EventView> search(String query, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_SEARCH_LIMIT : limit;
+        if (pageSize < 1 || pageSize > MAX_SEARCH_LIMIT) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_SEARCH_LIMIT);
+        }
+        return toViews(loadInOrder(eventSearchIndex.search(query, pageSize)));
+    }
+
+    /**
+     * Events a user is invited to, directly or through a group. Upcoming events are listed
+     * soonest first, past events most recent first; both are keyset-paginated on
+     * (dateTime, eventId) over the event_invitees user index.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<EventView> getEventsForUser(Long userId, boolean upcoming, String cursor, Integer limit) {
+        int pageSize = EventService.pageSize(limit);
+        // Starting at (now, 0) makes the strict keyset predicate mean ">= now" or "< now"
+        LocalDateTime positionDateTime = LocalDateTime.now();
+        long positionEventId = 0;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] position = CursorCodec.decode(cursor, 2);
+            try {
+                positionDateTime = LocalDateTime.parse(position[0]);
+                positionEventId = Long.parseLong(position[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+        List<Object[]> rows = upcoming
+                ? eventInviteeRepository.findUserEventsAfter(userId, positionDateTime, positionEventId, pageRequest)
+                : eventInviteeRepository.findUserEventsBefore(userId, positionDateTime, positionEventId, pageRequest);
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            Object[] last = rows.get(pageSize - 1);
+            nextCursor = CursorCodec.encode(last[1], last[0]);
+        }
+
+        List<Long> eventIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            eventIds.add((Long) row[0]);
+        }
+        List<Event> ordered = loadInOrder(eventIds);
+        return new KeysetPage<>(toViews(ordered), nextCursor);
+    }
+
+    /**
+     * Maps events to views, preserving order. Issues at most three extra queries.
+     */
+    @Transactional(readOnly = true)
+    public List<EventView> toViews(List<Event> events) {
+        if (events.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Long> eventIds = new ArrayList<>(events.size());
+        for (Event event : events) {
+            eventIds.add(event.getId());
+        }
+
+        // eventId -> invited group rows, and the distinct set of groups involved
+        Map<Long, List<Object[]>> groupRowsByEvent = new HashMap<>();
+        Map<Long, Object[]> groupRowsById = new LinkedHashMap<>();
+        for (Object[] row : eventRepository.findInvitedGroupRows(eventIds)) {
+            groupRowsByEvent.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add(row);
+            groupRowsById.putIfAbsent((Long) row[1], row);
+        }
+
+        Map<Long, List<UserView>> membersByGroup = new HashMap<>();
+        if (!groupRowsById.isEmpty()) {
+            for (Object[] row : groupRepository.findMemberRows(groupRowsById.keySet())) {
+                membersByGroup.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add(toUserView(row));
+            }
+        }
+
+        Map<Long, GroupView> groupViews = new HashMap<>();
+        for (Map.Entry<Long, Object[]> entry : groupRowsById.entrySet()) {
+            Object[] row = entry.getValue();
+            groupViews.put(entry.getKey(), new GroupView(
+                    (Long) row[1], (String) row[2], (String) row[3], (String) row[4], (String) row[5],
+                    membersByGroup.getOrDefault(entry.getKey(), Collections.emptyList())));
+        }
+
+        Map<Long, List<UserView>> usersByEvent = new HashMap<>();
+        for (Object[] row : eventRepository.findInvitedUserRows(eventIds)) {
+            usersByEvent.computeIfAbsent((Long) row[0], k -> new ArrayList<>()).add(toUserView(row));
+        }
+
+        List<EventView> views = new ArrayList<>(events.size());
+        for (Event event : events) {
+            List<GroupView> invitedGroups = new ArrayList<>();
+            for (Object[] row : groupRowsByEvent.getOrDefault(event.getId(), Collections.emptyList())) {
+                invitedGroups.add(groupViews.get((Long) row[1]));
+            }
+            views.add(new EventView(
+                    event.getId(),
+                    event.getEventTitle(),
+                    event.getDescription(),
+                    event.getDateTime(),
+                    event.getEndDateTime(),
+                    event.getVenue(),
+                    event.getEventType(),
+                    event.getIsPublic(),
+                    event.getInviteType(),
+                    invitedGroups,
+                    usersByEvent.getOrDefault(event.getId(), Collections.emptyList()),
+                    event.getStatus()));
+        }
+        return views;
+    }
+
+    // Loads events by id, keeping the order of the ids and skipping ids that no longer exist
+    private List<Event> loadInOrder(List<Long> eventIds) {
+        Map<Long, Event> eventsById = new HashMap<>();
+        for (Event event : eventRepository.findAllById(eventIds)) {
+            eventsById.put(event.getId(), event);
+        }
+        List<Event> ordered = new ArrayList<>(eventIds.size());
+        for (Long eventId : eventIds) {
+            Event event = eventsById.get(eventId);
+            if (event != null) {
+                ordered.add(event);
+            }
+        }
+        return ordered;
+    }
+
+    // Rows are (ownerId, id, userId, userName, email, role, status)
+    private static UserView toUserView(Object[] row) {
+        return new UserView((Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                (String) row[5], (String) row[6]);
+    }
+}
@@ -0,0 +1,216 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over event titles and descriptions.
+ * <p>
+ * Text is lower-cased, stripped of accents and split on anything that is not a letter or a
+ * digit. Terms live in a sorted map so every query token also matches as a prefix
+ * ("conf" finds "conference"). An event must match every query token; hits are ranked by
+ * TF-IDF, with title occurrences weighted {@value #TITLE_WEIGHT}x and prefix matches counting
+ * half as much as exact ones.
+ * <p>
+ * Writes are applied after the surrounding transaction commits, so rolled-back changes never
+ * become searchable. The index is rebuilt from the events table at startup.
+ */
+@Component
+public class EventSearchIndex {
+
+    static final int TITLE_WEIGHT = 3;
+
+    // Caps how many distinct terms one short prefix may expand to
+    private static final int MAX_PREFIX_EXPANSION = 200;
+
+    private static final Logger logger = LoggerFactory.getLogger(EventSearchIndex.class);
+
+    // term -> (eventId -> weighted term frequency)
+    private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+    // eventId -> its terms, so an event can be removed without rescanning the postings
+    private final Map<Long, Set<String>> termsByEvent = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Indexes (or re-indexes) an event once the current transaction commits.
+     */
+    public void index(Long eventId, String title, String description) {
+        afterCommit(() -> indexNow(eventId, title, description));
+    }
+
+    /**
+     * Drops an event from the index once the current transaction commits.
+     */
+    public void remove(Long eventId) {
+        afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                removeLocked(eventId);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * @return ids of the events matching every token of {@code query}, best match first
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            double documents = Math.max(termsByEvent.size(), 1);
+            Map<Long, Double> scores = null;
+            for (String token : tokens) {
+                Map<Long, Double> tokenScores = new HashMap<>();
+                int expanded = 0;
+                for (Map.Entry<String, Map<Long, Integer>> term
+                        : postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+                    if (++expanded > MAX_PREFIX_EXPANSION) {
+                        break;
+                    }
+                    double idf = Math.log(1 + documents / term.getValue().size());
+                    double boost = term.getKey().equals(token) ? 1.0 : 0.5;
+                    for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                        if (scores == null || scores.containsKey(posting.getKey())) {
+                            tokenScores.merge(posting.getKey(), boost * posting.getValue() * idf, Math::max);
+                        }
+                    }
+                }
+                if (scores != null) {
+                    for (Map.Entry<Long, Double> entry : tokenScores.entrySet()) {
+                        entry.setValue(entry.getValue() + scores.get(entry.getKey()));
+                    }
+                }
+                scores = tokenScores;
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            List<Long> ids = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (int i = 0; i < ranked.size() && i < limit; i++) {
+                ids.add(ranked.get(i).getKey());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            termsByEvent.clear();
+            jdbcTemplate.query("SELECT id, event_title, description FROM events",
+                    rs -> {
+                        addLocked(rs.getLong(1), rs.getString(2), rs.getString(3));
+                    });
+            logger.info("Indexed {} events ({} terms) for search", termsByEvent.size(), postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+        for (String token : folded.split("[^\\p{L}\\p{N}]+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private void indexNow(Long eventId, String title, String description) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(eventId);
+            addLocked(eventId, title, description);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addLocked(Long eventId, String title, String description) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(title)) {
+            frequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        for (String token : tokenize(description)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(eventId, entry.getValue());
+        }
+        termsByEvent.put(eventId, frequencies.keySet());
+    }
+
+    private void removeLocked(Long eventId) {
+        Set<String> terms = termsByEvent.remove(eventId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            Map<Long, Integer> events = postings.get(term);
+            if (events != null) {
+                events.remove(eventId);
+                if (events.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
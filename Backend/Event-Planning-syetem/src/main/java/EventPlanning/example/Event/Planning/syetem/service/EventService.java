@@ -1,14 +1,24 @@
 package EventPlanning.example.Event.Planning.syetem.service;
 
 
+import EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
 import EventPlanning.example.Event.Planning.syetem.model.Event;;
 import EventPlanning.example.Event.Planning.syetem.model.Group;
 import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.notification.NotificationOutboxService;
 import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -16,6 +26,9 @@ import java.util.stream.Collectors;
 @Service
 public class EventService {
 
+    static final int DEFAULT_PAGE_SIZE = 100;
+    static final int MAX_PAGE_SIZE = 500;
+
     @Autowired
     private EventRepository eventRepository;
 
@@ -25,22 +38,124 @@ public class EventService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private VenueBookingIndex venueBookingIndex;
+
+    @Autowired
+    private EventSearchIndex eventSearchIndex;
+
+    @Autowired
+    private NotificationOutboxService notificationOutboxService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Transactional
     public Event saveEvent(Event event) {
-        return eventRepository.save(event);
+        validateSchedule(event);
+        Event saved = eventRepository.saveAndFlush(event);
+        venueBookingIndex.reserve(saved);
+        eventSearchIndex.index(saved.getId(), saved.getEventTitle(), saved.getDescription());
+        eventInviteeService.refreshEvents(List.of(saved.getId()));
+        eventInviteeService.syncEventDateTime(saved.getId());
+        return saved;
     }
 
+    @Transactional(readOnly = true)
     public List<Event> getAllEvents() {
         return eventRepository.findAll();
     }
 
+    /**
+     * Keyset-paginated listing ordered by (dateTime, id). Reads {@code limit + 1} rows to know
+     * whether another page exists, so the cost per call does not depend on the table size.
+     */
+    public KeysetPage<Event> getEventPage(String status, String eventType, LocalDateTime from,
+                                          LocalDateTime to, String cursor, Integer limit) {
+        int pageSize = pageSize(limit);
+        PageRequest pageRequest = PageRequest.of(0, pageSize + 1);
+
+        List<Event> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = eventRepository.findFirstPage(status, eventType, from, to, pageRequest);
+        } else {
+            Object[] position = decodePosition(cursor);
+            rows = eventRepository.findPageAfter(status, eventType, from, to,
+                    (LocalDateTime) position[0], (Long) position[1], pageRequest);
+        }
+
+        if (rows.size() <= pageSize) {
+            return new KeysetPage<>(rows, null);
+        }
+        List<Event> page = rows.subList(0, pageSize);
+        Event last = page.get(pageSize - 1);
+        return new KeysetPage<>(page, CursorCodec.encode(last.getDateTime(), last.getId()));
+    }
+
+    /**
+     * The (id, version) pairs of the rows {@link #getEventPage} would read, including the
+     * look-ahead row, without loading the entities.
+     */
+    public List<Object[]> getEventPageVersions(String status, String eventType, LocalDateTime from,
+                                               LocalDateTime to, String cursor, Integer limit) {
+        PageRequest pageRequest = PageRequest.of(0, pageSize(limit) + 1);
+        if (cursor == null || cursor.isBlank()) {
+            return eventRepository.findFirstPageVersions(status, eventType, from, to, pageRequest);
+        }
+        Object[] position = decodePosition(cursor);
+        return eventRepository.findPageVersionsAfter(status, eventType, from, to,
+                (LocalDateTime) position[0], (Long) position[1], pageRequest);
+    }
+
+    // A limit above the maximum is capped, not rejected; the cursor leads to the rest
+    static int pageSize(Integer limit) {
+        if (limit == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    // Cursor of the listing: (dateTime, id) of the last row of the previous page
+    static Object[] decodePosition(String cursor) {
+        String[] position = CursorCodec.decode(cursor, 2);
+        try {
+            return new Object[]{LocalDateTime.parse(position[0]), Long.valueOf(position[1])};
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+
+    @Transactional(readOnly = true)
     public Optional<Event> getEventById(Long id) {
         return eventRepository.findById(id);
     }
 
+    @Transactional
     public void deleteEvent(Long id) {
         eventRepository.deleteById(id);
+        eventInviteeService.removeEvent(id);
+        notificationOutboxService.eventDeleted(id);
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityType.EVENT, id));
+        venueBookingIndex.release(id);
+        eventSearchIndex.remove(id);
     }
+
+    /**
+     * Saves a new event. The venue booking is checked and recorded in the same transaction,
+     * so a conflicting event is rolled back rather than left double-booked.
+     *
+     * @throws VenueConflictException if the venue is already booked during the event
+     */
+    @Transactional
     public Event createEvent(Event event) {
+        validateSchedule(event);
+
         // Validate and convert group codes to group entities
         List<Group> groups = groupService.getGroupsByCodes(
                 event.getInvitedGroups().stream()
@@ -59,8 +174,19 @@ public class EventService {
         event.setInvitedGroups(groups);
         event.setInvitedUsers(users);
 
-        return eventRepository.save(event);
+        Event saved = eventRepository.saveAndFlush(event);
+        venueBookingIndex.reserve(saved);
+        eventSearchIndex.index(saved.getId(), saved.getEventTitle(), saved.getDescription());
+        eventInviteeService.refreshEvents(List.of(saved.getId()));
+        notificationOutboxService.eventCreated(saved.getId(), saved.getDateTime());
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityType.EVENT, saved.getId(), saved::getVersion));
+        return saved;
     }
+
+    /**
+     * @throws VenueConflictException if the new venue or time range overlaps another event
+     */
+    @Transactional
     public Event updateEvent(Long id, Event eventDetails) {
         // Fetch the existing event from the repository
         Optional<Event> existingEventOpt = eventRepository.findById(id);
@@ -69,11 +195,14 @@ public class EventService {
 //        }
 
         Event existingEvent = existingEventOpt.get();
+        validateSchedule(eventDetails);
+        boolean dateTimeChanged = !Objects.equals(existingEvent.getDateTime(), eventDetails.getDateTime());
 
         // Update the fields of the existing event
         existingEvent.setEventTitle(eventDetails.getEventTitle());
         existingEvent.setDescription(eventDetails.getDescription());
         existingEvent.setDateTime(eventDetails.getDateTime());
+        existingEvent.setEndDateTime(eventDetails.getEndDateTime());
         existingEvent.setVenue(eventDetails.getVenue());
         existingEvent.setEventType(eventDetails.getEventType());
         existingEvent.setIsPublic(eventDetails.getIsPublic());
@@ -101,7 +230,26 @@ public class EventService {
         }
 
         // Save the updated event
-        return eventRepository.save(existingEvent);
+        Event saved = eventRepository.saveAndFlush(existingEvent);
+        venueBookingIndex.reserve(saved);
+        eventSearchIndex.index(saved.getId(), saved.getEventTitle(), saved.getDescription());
+        if (eventDetails.getInvitedGroups() != null || eventDetails.getInvitedUsers() != null) {
+            eventInviteeService.refreshEvents(List.of(id));
+        }
+        if (dateTimeChanged) {
+            eventInviteeService.syncEventDateTime(id);
+        }
+        notificationOutboxService.eventUpdated(id, saved.getDateTime(), dateTimeChanged);
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.EVENT, id, saved::getVersion));
+        return saved;
+    }
+
+    // An end time is optional (see Event.DEFAULT_DURATION) but must come after the start
+    private static void validateSchedule(Event event) {
+        if (event.getDateTime() != null && event.getEndDateTime() != null
+                && !event.getEndDateTime().isAfter(event.getDateTime())) {
+            throw new IllegalArgumentException("endDateTime must be after dateTime");
+        }
     }
 
     // Optional: Method to delete associations if needed
@@ -0,0 +1,87 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@code fields} and {@code expand} parameters of a list endpoint.
+ * <p>
+ * {@code fields} names the top-level fields to return, all of them when absent; {@code id} is
+ * always returned. Collections are rendered collapsed, as ids or a count, unless listed in
+ * {@code expand}; {@code a.b} also expands {@code b} inside each expanded {@code a}.
+ * Expanding a collection selects it.
+ */
+public final class FieldSelection {
+
+    public static final String ID = "id";
+
+    private final Set<String> fields;
+    private final Set<String> expansions;
+
+    private FieldSelection(Set<String> fields, Set<String> expansions) {
+        this.fields = fields;
+        this.expansions = expansions;
+    }
+
+    /**
+     * @param allowedFields the resource's fields, in response order
+     * @throws IllegalArgumentException if a field or expansion is unknown
+     */
+    public static FieldSelection parse(String fields, String expand, List<String> allowedFields,
+                                       Set<String> allowedExpansions) {
+        Set<String> expansions = new TreeSet<>();
+        for (String path : split(expand)) {
+            if (!allowedExpansions.contains(path)) {
+                throw new IllegalArgumentException("Cannot expand " + path + ", expected one of " + allowedExpansions);
+            }
+            // Expanding a.b needs a expanded too
+            for (int dot = path.indexOf('.'); dot >= 0; dot = path.indexOf('.', dot + 1)) {
+                expansions.add(path.substring(0, dot));
+            }
+            expansions.add(path);
+        }
+
+        Set<String> requested = new LinkedHashSet<>(split(fields));
+        for (String field : requested) {
+            if (!allowedFields.contains(field)) {
+                throw new IllegalArgumentException("Unknown field " + field + ", expected one of " + allowedFields);
+            }
+        }
+        Set<String> selected = new LinkedHashSet<>();
+        for (String field : allowedFields) {
+            if (requested.isEmpty() || field.equals(ID) || requested.contains(field) || expansions.contains(field)) {
+                selected.add(field);
+            }
+        }
+        return new FieldSelection(selected, expansions);
+    }
+
+    public boolean includes(String field) {
+        return fields.contains(field);
+    }
+
+    public boolean expands(String path) {
+        return expansions.contains(path);
+    }
+
+    /**
+     * Canonical form of the selection, so equivalent parameters share a cache entry and ETag.
+     */
+    public String key() {
+        return String.join(",", fields) + ";" + String.join(",", expansions);
+    }
+
+    private static Set<String> split(String value) {
+        Set<String> parts = new LinkedHashSet<>();
+        if (value != null) {
+            for (String part : value.split(",")) {
+                if (!part.isBlank()) {
+                    parts.add(part.trim());
+                }
+            }
+        }
+        return parts;
+    }
+}
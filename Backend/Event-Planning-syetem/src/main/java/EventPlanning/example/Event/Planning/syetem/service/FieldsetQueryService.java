@@ -0,0 +1,313 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.KeysetPage;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Sparse fieldsets for the event, group and user listings. Each query selects only the
+ * columns of the requested fields; collections are read only when selected, as ids or a
+ * member count unless expanded. Rows are rendered as ordered maps in the field order of the
+ * full views, so a request without {@code fields} has the same scalar fields as before.
+ * <p>
+ * The queries per call are fixed: one for the rows plus at most one per selected collection
+ * level, no matter how many rows or members there are.
+ */
+@Service
+public class FieldsetQueryService {
+
+    public static final List<String> EVENT_FIELDS = List.of("id", "eventTitle", "description", "dateTime",
+            "endDateTime", "venue", "eventType", "isPublic", "inviteType", "invitedGroups", "invitedUsers", "status");
+    public static final Set<String> EVENT_EXPANSIONS = Set.of("invitedGroups", "invitedGroups.groupMembers",
+            "invitedUsers");
+
+    public static final List<String> GROUP_FIELDS = List.of("id", "groupName", "groupCode", "status", "groupType",
+            "groupMembers", "version");
+    public static final Set<String> GROUP_EXPANSIONS = Set.of("groupMembers");
+
+    public static final List<String> USER_FIELDS = List.of("id", "userId", "userName", "email", "role", "status",
+            "version");
+
+    private static final String MEMBER_COUNT =
+            "(SELECT COUNT(*) FROM group_members gm WHERE gm.group_id = g.id) AS member_count";
+
+    // Columns of each scalar field; the id (and for events the date_time keyset column) is always read
+    private static final Map<String, String> EVENT_COLUMNS = Map.of(
+            "eventTitle", "e.event_title",
+            "description", "e.description",
+            "endDateTime", "e.end_date_time",
+            "venue", "e.address, e.latitude, e.longitude, e.venue_key",
+            "eventType", "e.event_type",
+            "isPublic", "e.is_public",
+            "inviteType", "e.invite_type",
+            "status", "e.status");
+
+    private static final Map<String, String> GROUP_COLUMNS = Map.of(
+            "groupName", "g.group_name",
+            "groupCode", "g.group_code",
+            "status", "g.status",
+            "groupType", "g.group_type",
+            "groupMembers", MEMBER_COUNT,
+            "version", "g.version");
+
+    private static final Map<String, String> USER_COLUMNS = Map.of(
+            "userId", "user_id",
+            "userName", "user_name",
+            "email", "email",
+            "role", "role",
+            "status", "status",
+            "version", "version");
+
+    private static final String USER_VIEW_COLUMNS = "u.id, u.user_id, u.user_name, u.email, u.role, u.status";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * The rows {@link EventService#getEventPage} would return, with the same cursor format.
+     */
+    @Transactional(readOnly = true)
+    public KeysetPage<Map<String, Object>> getEventPage(String status, String eventType, LocalDateTime from,
+                                                        LocalDateTime to, String cursor, Integer limit,
+                                                        FieldSelection selection) {
+        int pageSize = EventService.pageSize(limit);
+        StringBuilder sql = new StringBuilder("SELECT e.id, e.date_time")
+                .append(columns(selection, EVENT_COLUMNS)).append(" FROM events e WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource("limit", pageSize + 1);
+        if (status != null) {
+            sql.append(" AND e.status = :status");
+            params.addValue("status", status);
+        }
+        if (eventType != null) {
+            sql.append(" AND e.event_type = :eventType");
+            params.addValue("eventType", eventType);
+        }
+        if (from != null) {
+            sql.append(" AND e.date_time >= :from");
+            params.addValue("from", from);
+        }
+        if (to != null) {
+            sql.append(" AND e.date_time < :to");
+            params.addValue("to", to);
+        }
+        if (cursor != null && !cursor.isBlank()) {
+            Object[] position = EventService.decodePosition(cursor);
+            sql.append(" AND (e.date_time > :afterDateTime OR (e.date_time = :afterDateTime AND e.id > :afterId))");
+            params.addValue("afterDateTime", position[0]).addValue("afterId", position[1]);
+        }
+        sql.append(" ORDER BY e.date_time ASC, e.id ASC LIMIT :limit");
+
+        List<LocalDateTime> dateTimes = new ArrayList<>();
+        List<Map<String, Object>> rows = jdbcTemplate.query(sql.toString(), params, (rs, rowNum) -> {
+            dateTimes.add(rs.getObject("date_time", LocalDateTime.class));
+            return eventRow(rs, selection);
+        });
+
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = CursorCodec.encode(dateTimes.get(pageSize - 1), rows.get(pageSize - 1).get("id"));
+        }
+        addEventCollections(rows, selection);
+        return new KeysetPage<>(rows, nextCursor);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getGroups(FieldSelection selection) {
+        boolean expandMembers = selection.expands("groupMembers");
+        Map<String, String> columns = new HashMap<>(GROUP_COLUMNS);
+        if (expandMembers) {
+            columns.remove("groupMembers");
+        }
+        String sql = "SELECT g.id" + columns(selection, columns) + " FROM `groups` g ORDER BY g.id";
+        Map<Long, Map<String, Object>> groups = new LinkedHashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            Map<String, Object> group = new LinkedHashMap<>();
+            for (String field : GROUP_FIELDS) {
+                if (!selection.includes(field)) {
+                    continue;
+                }
+                switch (field) {
+                    case "id" -> group.put(field, rs.getLong("id"));
+                    case "groupName" -> group.put(field, rs.getString("group_name"));
+                    case "groupCode" -> group.put(field, rs.getString("group_code"));
+                    case "status" -> group.put(field, rs.getString("status"));
+                    case "groupType" -> group.put(field, rs.getString("group_type"));
+                    case "groupMembers" -> {
+                        if (expandMembers) {
+                            group.put("groupMembers", new ArrayList<>());
+                        } else {
+                            group.put("memberCount", rs.getLong("member_count"));
+                        }
+                    }
+                    case "version" -> group.put(field, rs.getObject("version", Long.class));
+                    default -> throw new IllegalStateException("No column for " + field);
+                }
+            }
+            groups.put(rs.getLong("id"), group);
+        });
+        if (expandMembers && !groups.isEmpty()) {
+            addMembers(groups, "SELECT gm.group_id, " + USER_VIEW_COLUMNS + " FROM group_members gm " +
+                    "JOIN users u ON u.id = gm.user_id", new MapSqlParameterSource());
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getUsers(FieldSelection selection) {
+        String sql = "SELECT id" + columns(selection, USER_COLUMNS) + " FROM users ORDER BY id";
+        return jdbcTemplate.query(sql, (rs, rowNum) -> {
+            Map<String, Object> user = new LinkedHashMap<>();
+            for (String field : USER_FIELDS) {
+                if (!selection.includes(field)) {
+                    continue;
+                }
+                if (field.equals("id") || field.equals("version")) {
+                    user.put(field, rs.getObject(field, Long.class));
+                } else {
+                    user.put(field, rs.getString(USER_COLUMNS.get(field)));
+                }
+            }
+            return user;
+        });
+    }
+
+    private static Map<String, Object> eventRow(ResultSet rs, FieldSelection selection) throws SQLException {
+        Map<String, Object> event = new LinkedHashMap<>();
+        for (String field : EVENT_FIELDS) {
+            if (!selection.includes(field)) {
+                continue;
+            }
+            switch (field) {
+                case "id" -> event.put(field, rs.getLong("id"));
+                case "eventTitle" -> event.put(field, rs.getString("event_title"));
+                case "description" -> event.put(field, rs.getString("description"));
+                case "dateTime" -> event.put(field, rs.getObject("date_time", LocalDateTime.class));
+                case "endDateTime" -> event.put(field, rs.getObject("end_date_time", LocalDateTime.class));
+                case "venue" -> {
+                    Venue venue = new Venue(rs.getString("address"), rs.getDouble("latitude"), rs.getDouble("longitude"));
+                    venue.setVenueKey(rs.getString("venue_key"));
+                    event.put(field, venue);
+                }
+                case "eventType" -> event.put(field, rs.getString("event_type"));
+                case "isPublic" -> event.put(field, rs.getObject("is_public", Boolean.class));
+                case "inviteType" -> event.put(field, rs.getString("invite_type"));
+                // Filled in by addEventCollections; put here to keep the field order
+                case "invitedGroups" -> event.put(selection.expands(field) ? field : "invitedGroupIds", new ArrayList<>());
+                case "invitedUsers" -> event.put(selection.expands(field) ? field : "invitedUserIds", new ArrayList<>());
+                case "status" -> event.put(field, rs.getString("status"));
+                default -> throw new IllegalStateException("No column for " + field);
+            }
+        }
+        return event;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addEventCollections(List<Map<String, Object>> events, FieldSelection selection) {
+        if (events.isEmpty()) {
+            return;
+        }
+        Map<Long, Map<String, Object>> eventsById = new HashMap<>();
+        for (Map<String, Object> event : events) {
+            eventsById.put((Long) event.get("id"), event);
+        }
+        MapSqlParameterSource eventIds = new MapSqlParameterSource("eventIds", eventsById.keySet());
+
+        if (selection.expands("invitedGroups")) {
+            boolean expandMembers = selection.expands("invitedGroups.groupMembers");
+            // A group invited by several events is rendered once and shared
+            Map<Long, Map<String, Object>> groups = new HashMap<>();
+            jdbcTemplate.query("SELECT eg.event_id, g.id, g.group_name, g.group_code, g.status, g.group_type" +
+                    (expandMembers ? "" : ", " + MEMBER_COUNT) + " FROM event_groups eg " +
+                    "JOIN `groups` g ON g.id = eg.group_code WHERE eg.event_id IN (:eventIds)", eventIds, rs -> {
+                Map<String, Object> group = groups.get(rs.getLong("id"));
+                if (group == null) {
+                    group = new LinkedHashMap<>();
+                    group.put("id", rs.getLong("id"));
+                    group.put("groupName", rs.getString("group_name"));
+                    group.put("groupCode", rs.getString("group_code"));
+                    group.put("status", rs.getString("status"));
+                    group.put("groupType", rs.getString("group_type"));
+                    if (expandMembers) {
+                        group.put("groupMembers", new ArrayList<>());
+                    } else {
+                        group.put("memberCount", rs.getLong("member_count"));
+                    }
+                    groups.put(rs.getLong("id"), group);
+                }
+                ((List<Object>) eventsById.get(rs.getLong("event_id")).get("invitedGroups")).add(group);
+            });
+            if (expandMembers && !groups.isEmpty()) {
+                addMembers(groups, "SELECT gm.group_id, " + USER_VIEW_COLUMNS + " FROM group_members gm " +
+                        "JOIN users u ON u.id = gm.user_id WHERE gm.group_id IN (:groupIds)",
+                        new MapSqlParameterSource("groupIds", groups.keySet()));
+            }
+        } else if (selection.includes("invitedGroups")) {
+            jdbcTemplate.query("SELECT event_id, group_code FROM event_groups WHERE event_id IN (:eventIds)",
+                    eventIds, rs -> {
+                        ((List<Object>) eventsById.get(rs.getLong("event_id")).get("invitedGroupIds"))
+                                .add(rs.getLong("group_code"));
+                    });
+        }
+
+        if (selection.expands("invitedUsers")) {
+            jdbcTemplate.query("SELECT eu.event_id, " + USER_VIEW_COLUMNS + " FROM event_users eu " +
+                    "JOIN users u ON u.id = eu.user_id WHERE eu.event_id IN (:eventIds)", eventIds, rs -> {
+                ((List<Object>) eventsById.get(rs.getLong("event_id")).get("invitedUsers")).add(userView(rs));
+            });
+        } else if (selection.includes("invitedUsers")) {
+            jdbcTemplate.query("SELECT event_id, user_id FROM event_users WHERE event_id IN (:eventIds)",
+                    eventIds, rs -> {
+                        ((List<Object>) eventsById.get(rs.getLong("event_id")).get("invitedUserIds"))
+                                .add(rs.getLong("user_id"));
+                    });
+        }
+    }
+
+    // Rows are (groupId, user view columns)
+    @SuppressWarnings("unchecked")
+    private void addMembers(Map<Long, Map<String, Object>> groups, String sql, MapSqlParameterSource params) {
+        jdbcTemplate.query(sql, params, rs -> {
+            Map<String, Object> group = groups.get(rs.getLong("group_id"));
+            if (group != null) {
+                ((List<Object>) group.get("groupMembers")).add(userView(rs));
+            }
+        });
+    }
+
+    // Same fields as UserView
+    private static Map<String, Object> userView(ResultSet rs) throws SQLException {
+        Map<String, Object> user = new LinkedHashMap<>();
+        user.put("id", rs.getLong("id"));
+        user.put("userId", rs.getString("user_id"));
+        user.put("userName", rs.getString("user_name"));
+        user.put("email", rs.getString("email"));
+        user.put("role", rs.getString("role"));
+        user.put("status", rs.getString("status"));
+        return user;
+    }
+
+    private static String columns(FieldSelection selection, Map<String, String> columns) {
+        StringBuilder select = new StringBuilder();
+        for (Map.Entry<String, String> column : columns.entrySet()) {
+            if (selection.includes(column.getKey())) {
+                select.append(", ").append(column.getValue());
+            }
+        }
+        return select.toString();
+    }
+}
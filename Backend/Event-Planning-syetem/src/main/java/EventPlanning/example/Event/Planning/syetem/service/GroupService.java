@@ -1,18 +1,37 @@
 package EventPlanning.example.Event.Planning.syetem.service;
 
 import EventPlanning.example.Event.Planning.syetem.Exception.GroupException;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
+import EventPlanning.example.Event.Planning.syetem.dto.GroupView;
+import EventPlanning.example.Event.Planning.syetem.dto.MembershipChangeResult;
+import EventPlanning.example.Event.Planning.syetem.dto.UserView;
 import EventPlanning.example.Event.Planning.syetem.model.Event;
 import EventPlanning.example.Event.Planning.syetem.model.Group;
+import EventPlanning.example.Event.Planning.syetem.model.User;
 import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
 import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
 
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
-import jakarta.transaction.Transactional;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,23 +39,50 @@ import org.slf4j.LoggerFactory;
 @Service
 public class GroupService {
 
+    static final int MAX_MEMBER_BATCH = 10000;
+
+    // Large id lists are split so IN clauses stay a reasonable size
+    private static final int ID_CHUNK_SIZE = 1000;
+
     @Autowired
     private GroupRepository groupRepository;
 
     @Autowired
     private EventRepository eventRepository; // Assuming this repository handles the event_groups table
+
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private IdLookupCache idLookupCache;
+
+    @Autowired
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
     private static final Logger logger = LoggerFactory.getLogger(GroupService.class);
 
     public Group saveGroup(Group group) {
         // Check if a group with the same groupCode already exists
-        if (groupRepository.existsByGroupCode(group.getGroupCode())) {
+        if (uniquenessIndex.isGroupCodeTaken(group.getGroupCode())) {
             throw new IllegalStateException("Group code already exists");
         }
-        return groupRepository.save(group);
+        uniquenessIndex.add(UniquenessIndex.Key.GROUP_CODE, group.getGroupCode());
+        Group saved = groupRepository.save(group);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityType.GROUP, saved.getId(), saved::getVersion));
+        return saved;
     }
 
 
 
+    @Transactional(readOnly = true)
     public List<Group> getAllGroups() {
         return groupRepository.findAll();
     }
@@ -46,15 +92,39 @@ public class GroupService {
     }
 
 
+    /**
+     * Resolves group codes through {@link IdLookupCache} and returns uninitialized references,
+     * so linking groups to an event needs no SELECT once the codes are cached. Unknown codes
+     * are skipped.
+     */
+    @Transactional(readOnly = true)
     public List<Group> getGroupsByCodes(List<String> groupCode) {
-        return groupRepository.findByGroupCodeIn(groupCode);
+        List<Group> groups = new ArrayList<>();
+        for (Long id : idLookupCache.getGroupIds(groupCode).values()) {
+            groups.add(groupRepository.getReferenceById(id));
+        }
+        return groups;
+    }
+
+    /**
+     * Read model of a group with its members, built without touching lazy collections.
+     */
+    public GroupView getGroupView(Group group) {
+        List<UserView> members = new ArrayList<>();
+        for (Object[] row : groupRepository.findMemberRows(List.of(group.getId()))) {
+            members.add(new UserView((Long) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (String) row[5], (String) row[6]));
+        }
+        return new GroupView(group.getId(), group.getGroupName(), group.getGroupCode(), group.getStatus(),
+                group.getGroupType(), members);
     }
 
 
 
     public boolean isGroupCodeExists(String groupCode) {
-        return groupRepository.existsByGroupCode(groupCode);
+        return uniquenessIndex.isGroupCodeTaken(groupCode);
     }
+    @Transactional
     public Group updateGroup(Long id, Group groupDetails) {
         try {
             Optional<Group> existingGroupOpt = groupRepository.findById(id);
@@ -67,17 +137,20 @@ public class GroupService {
 
             // Check if the new group code is different and validate uniqueness
             if (!existingGroup.getGroupCode().equals(groupDetails.getGroupCode())) {
-                if (groupRepository.existsByGroupCode(groupDetails.getGroupCode())) {
+                if (uniquenessIndex.isGroupCodeTaken(groupDetails.getGroupCode())) {
                     throw new IllegalArgumentException("Group code already exists");
                 }
             }
 
             // Update other fields
             existingGroup.setGroupName(groupDetails.getGroupName());
-            existingGroup.setGroupMembers(groupDetails.getGroupMembers());
             // Update other fields as necessary
 
-            return groupRepository.save(existingGroup);
+            Group saved = groupRepository.saveAndFlush(existingGroup);
+            replaceMembers(saved, groupDetails.getGroupMembers());
+            idLookupCache.invalidateGroupCodes(existingGroup.getGroupCode());
+            eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.GROUP, id, saved::getVersion));
+            return saved;
         } catch (Exception e) {
             // Log the exception
             logger.error("Error updating group", e);
@@ -98,6 +171,8 @@ public class GroupService {
         }
 
         groupRepository.delete(group);
+        idLookupCache.invalidateGroupCodes(group.getGroupCode());
+        eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityType.GROUP, groupId));
     }
 
 
@@ -109,10 +184,12 @@ public class GroupService {
                 .orElseThrow(() -> new ResourceNotFoundException("Group not found with id " + id));
 
         // If the groupCode is being changed, ensure the new groupCode is unique
+        String previousGroupCode = existingGroup.getGroupCode();
         if (!existingGroup.getGroupCode().equals(updatedGroupDetails.getGroupCode())) {
-            if (groupRepository.existsByGroupCode(updatedGroupDetails.getGroupCode())) {
+            if (uniquenessIndex.isGroupCodeTaken(updatedGroupDetails.getGroupCode())) {
                 throw new IllegalStateException("Group code already exists");
             }
+            uniquenessIndex.add(UniquenessIndex.Key.GROUP_CODE, updatedGroupDetails.getGroupCode());
             existingGroup.setGroupCode(updatedGroupDetails.getGroupCode());
         }
 
@@ -121,11 +198,134 @@ public class GroupService {
         existingGroup.setStatus(updatedGroupDetails.getStatus());
         existingGroup.setGroupType(updatedGroupDetails.getGroupType());
 
-        // Update group members if needed
-        existingGroup.setGroupMembers(updatedGroupDetails.getGroupMembers());
-
         // Save the updated group
-        return groupRepository.save(existingGroup);
+        Group saved = groupRepository.saveAndFlush(existingGroup);
+
+        // Update group members if needed, writing only the rows that change
+        replaceMembers(saved, updatedGroupDetails.getGroupMembers());
+        idLookupCache.invalidateGroupCodes(previousGroupCode, saved.getGroupCode());
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.GROUP, id, saved::getVersion));
+        return saved;
+    }
+
+    /**
+     * Adds users (by userId) to a group. Only users that are not members yet are inserted.
+     */
+    @Transactional
+    public MembershipChangeResult addMembers(Long groupId, List<String> userIds) {
+        return changeMembers(groupId, userIds, true);
+    }
+
+    /**
+     * Removes users (by userId) from a group. Only existing memberships are deleted.
+     */
+    @Transactional
+    public MembershipChangeResult removeMembers(Long groupId, List<String> userIds) {
+        return changeMembers(groupId, userIds, false);
+    }
+
+    private MembershipChangeResult changeMembers(Long groupId, List<String> userIds, boolean add) {
+        if (userIds == null || userIds.isEmpty() || userIds.size() > MAX_MEMBER_BATCH) {
+            throw new IllegalArgumentException("Provide between 1 and " + MAX_MEMBER_BATCH + " userIds");
+        }
+        // Locked, so concurrent batches for the group queue up instead of failing the forced version increment
+        Group group = groupRepository.findByIdForUpdate(groupId)
+                .orElseThrow(() -> new ResourceNotFoundException("Group not found with id " + groupId));
+
+        Map<String, Long> resolved = idLookupCache.getUserIds(userIds);
+        List<String> unknown = new ArrayList<>();
+        for (String userId : new LinkedHashSet<>(userIds)) {
+            if (!resolved.containsKey(userId)) {
+                unknown.add(userId);
+            }
+        }
+
+        Set<Long> requested = new HashSet<>(resolved.values());
+        Set<Long> current = findCurrentMembers(groupId, requested);
+        Set<Long> changed = new HashSet<>(requested);
+        if (add) {
+            changed.removeAll(current);
+            applyMemberDiff(group, changed, Collections.emptySet());
+        } else {
+            changed.retainAll(current);
+            applyMemberDiff(group, Collections.emptySet(), changed);
+        }
+        if (!changed.isEmpty()) {
+            // The forced version increment is applied at commit, before the version is read
+            eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.GROUP, groupId, group::getVersion));
+        }
+        return new MembershipChangeResult(groupId, userIds.size(), changed.size(),
+                requested.size() - changed.size(), unknown);
+    }
+
+    // Replaces the full member list (PUT semantics) by diffing member ids; null leaves members unchanged
+    private void replaceMembers(Group group, Collection<User> members) {
+        if (members == null) {
+            return;
+        }
+        Set<Long> target = new HashSet<>();
+        List<String> byUserId = new ArrayList<>();
+        for (User member : members) {
+            if (member.getId() != null) {
+                target.add(member.getId());
+            } else if (member.getUserId() != null) {
+                byUserId.add(member.getUserId());
+            }
+        }
+        if (!byUserId.isEmpty()) {
+            target.addAll(idLookupCache.getUserIds(byUserId).values());
+        }
+
+        Set<Long> current = new HashSet<>(groupRepository.findMemberIds(group.getId()));
+        Set<Long> added = new HashSet<>(target);
+        added.removeAll(current);
+        Set<Long> removed = new HashSet<>(current);
+        removed.removeAll(target);
+        applyMemberDiff(group, added, removed);
+    }
+
+    private Set<Long> findCurrentMembers(Long groupId, Collection<Long> userIds) {
+        Set<Long> current = new HashSet<>();
+        for (List<Long> chunk : chunks(userIds)) {
+            current.addAll(jdbcTemplate.queryForList(
+                    "SELECT user_id FROM group_members WHERE group_id = :groupId AND user_id IN (:userIds)",
+                    new MapSqlParameterSource("groupId", groupId).addValue("userIds", chunk), Long.class));
+        }
+        return current;
+    }
+
+    /**
+     * Writes a membership diff with set-based SQL, bypassing the mapped collection so no other
+     * row is touched. Bumps the group's version and pushes the diff into event_invitees.
+     */
+    private void applyMemberDiff(Group group, Set<Long> added, Set<Long> removed) {
+        if (added.isEmpty() && removed.isEmpty()) {
+            return;
+        }
+        for (List<Long> chunk : chunks(removed)) {
+            jdbcTemplate.update("DELETE FROM group_members WHERE group_id = :groupId AND user_id IN (:userIds)",
+                    new MapSqlParameterSource("groupId", group.getId()).addValue("userIds", chunk));
+        }
+        for (List<Long> chunk : chunks(added)) {
+            // NOT EXISTS keeps a concurrent add of the same member from duplicating the row
+            jdbcTemplate.update("INSERT INTO group_members (group_id, user_id) " +
+                            "SELECT :groupId, u.id FROM users u WHERE u.id IN (:userIds) AND NOT EXISTS " +
+                            "(SELECT 1 FROM group_members gm WHERE gm.group_id = :groupId AND gm.user_id = u.id)",
+                    new MapSqlParameterSource("groupId", group.getId()).addValue("userIds", chunk));
+        }
+        // A group already holding its row lock is bumped right away; otherwise the bump is checked at commit
+        entityManager.lock(group, entityManager.getLockMode(group) == LockModeType.PESSIMISTIC_WRITE
+                ? LockModeType.PESSIMISTIC_FORCE_INCREMENT : LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        eventInviteeService.applyMembershipChange(group.getId(), added, removed);
+    }
+
+    private static List<List<Long>> chunks(Collection<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        List<Long> all = new ArrayList<>(ids);
+        for (int i = 0; i < all.size(); i += ID_CHUNK_SIZE) {
+            chunks.add(all.subList(i, Math.min(i + ID_CHUNK_SIZE, all.size())));
+        }
+        return chunks;
     }
 
 }
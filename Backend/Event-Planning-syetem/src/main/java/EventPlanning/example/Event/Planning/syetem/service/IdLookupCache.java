@@ -0,0 +1,138 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.CacheStatsView;
+import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
+import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bounded cache of the natural-key to primary-key lookups on the write paths:
+ * {@code Group.groupCode -> Group.id} and {@code User.userId -> User.id}.
+ * <p>
+ * Misses are loaded with one IN query per call. Unknown keys are not cached, so a group or
+ * user created later is found immediately. Entries are evicted by size and age, and
+ * invalidated by the services that rename or delete groups and users, both immediately and
+ * again after commit so a concurrent reader cannot re-cache the old mapping.
+ */
+@Component
+public class IdLookupCache implements MeterBinder {
+
+    static final String GROUP_IDS = "groupIdsByCode";
+    static final String USER_IDS = "userIdsByUserId";
+
+    private final Cache<String, Long> groupIds;
+
+    private final Cache<String, Long> userIds;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public IdLookupCache(@Value("${app.cache.id-lookup.maximum-size:100000}") long maximumSize,
+                         @Value("${app.cache.id-lookup.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.groupIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @return group ids keyed by group code; unknown codes are absent
+     */
+    public Map<String, Long> getGroupIds(Collection<String> groupCodes) {
+        return groupIds.getAll(distinct(groupCodes),
+                missing -> toMap(groupRepository.findIdRowsByGroupCodeIn(new ArrayList<>(missing))));
+    }
+
+    /**
+     * @return user primary keys keyed by userId; unknown userIds are absent
+     */
+    public Map<String, Long> getUserIds(Collection<String> userIdKeys) {
+        return userIds.getAll(distinct(userIdKeys),
+                missing -> toMap(userRepository.findIdRowsByUserIdIn(new ArrayList<>(missing))));
+    }
+
+    public void invalidateGroupCodes(String... groupCodes) {
+        invalidate(groupIds, groupCodes);
+    }
+
+    public void invalidateUserIds(String... userIdKeys) {
+        invalidate(userIds, userIdKeys);
+    }
+
+    // Publishes hit, miss, eviction and size metrics of both caches (cache.gets etc., tagged by cache name)
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, groupIds, GROUP_IDS);
+        CaffeineCacheMetrics.monitor(registry, userIds, USER_IDS);
+    }
+
+    public List<CacheStatsView> stats() {
+        return List.of(toView(GROUP_IDS, groupIds), toView(USER_IDS, userIds));
+    }
+
+    private static void invalidate(Cache<String, Long> cache, String[] keys) {
+        List<String> present = new ArrayList<>(distinct(Arrays.asList(keys)));
+        cache.invalidateAll(present);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidateAll(present);
+                }
+            });
+        }
+    }
+
+    private static LinkedHashSet<String> distinct(Collection<String> keys) {
+        LinkedHashSet<String> distinct = new LinkedHashSet<>();
+        for (String key : keys) {
+            if (key != null) {
+                distinct.add(key);
+            }
+        }
+        return distinct;
+    }
+
+    // Rows are (naturalKey, id)
+    private static Map<String, Long> toMap(List<Object[]> rows) {
+        Map<String, Long> ids = new HashMap<>();
+        for (Object[] row : rows) {
+            ids.put((String) row[0], (Long) row[1]);
+        }
+        return ids;
+    }
+
+    private static CacheStatsView toView(String name, Cache<String, Long> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsView(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(),
+                stats.hitRate(), stats.evictionCount());
+    }
+}
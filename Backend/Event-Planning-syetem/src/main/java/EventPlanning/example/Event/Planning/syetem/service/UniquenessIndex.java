@@ -0,0 +1,218 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.repository.GroupRepository;
+import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * Answers "is this groupCode / userId / email taken?" without a database round trip in the
+ * common case that it is not.
+ * <p>
+ * Each key space is a Bloom filter loaded from the database at startup and fed every value
+ * before it is written. A negative answer is therefore definite. A positive answer may be a
+ * false positive, or a value that has since been renamed or deleted, and is confirmed with an
+ * exists query. Until the filters are loaded every check goes to the database, and the
+ * database unique constraints remain the final authority for races.
+ * <p>
+ * Values are trimmed, lower-cased and stripped of accents because MySQL's default collation
+ * compares them that way.
+ * When a filter has absorbed more values than it was sized for, it is rebuilt in the
+ * background at twice the size.
+ */
+@Component
+public class UniquenessIndex {
+
+    public enum Key {
+        GROUP_CODE("SELECT group_code FROM `groups`"),
+        USER_ID("SELECT user_id FROM users"),
+        EMAIL("SELECT email FROM users");
+
+        private final String loadSql;
+
+        Key(String loadSql) {
+            this.loadSql = loadSql;
+        }
+    }
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private static final Logger logger = LoggerFactory.getLogger(UniquenessIndex.class);
+
+    private final Map<Key, Space> spaces = new EnumMap<>(Key.class);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private GroupRepository groupRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private static final class Space {
+        volatile BloomFilter filter;
+        // Receives writes too while a larger filter is being built
+        volatile BloomFilter next;
+        volatile long capacity;
+        volatile boolean ready;
+        final AtomicLong added = new AtomicLong();
+    }
+
+    public UniquenessIndex(@Value("${app.uniqueness-index.expected-insertions:1000000}") long expectedInsertions) {
+        for (Key key : Key.values()) {
+            Space space = new Space();
+            space.capacity = expectedInsertions;
+            space.filter = new BloomFilter(expectedInsertions, FALSE_POSITIVE_RATE);
+            spaces.put(key, space);
+        }
+    }
+
+    public boolean isGroupCodeTaken(String groupCode) {
+        return isTaken(Key.GROUP_CODE, groupCode, groupRepository::existsByGroupCode);
+    }
+
+    public boolean isUserIdTaken(String userId) {
+        return isTaken(Key.USER_ID, userId, userRepository::existsByUserId);
+    }
+
+    public boolean isEmailTaken(String email) {
+        return isTaken(Key.EMAIL, email, userRepository::existsByEmail);
+    }
+
+    /**
+     * Like {@link #isUserIdTaken}, ignoring the user's own row, which the collation may match
+     * when only case or accents change.
+     */
+    public boolean isUserIdTakenByOther(String userId, Long id) {
+        return isTaken(Key.USER_ID, userId, value -> userRepository.existsByUserIdAndIdNot(value, id));
+    }
+
+    /**
+     * Like {@link #isEmailTaken}, ignoring the user's own row.
+     */
+    public boolean isEmailTakenByOther(String email, Long id) {
+        return isTaken(Key.EMAIL, email, value -> userRepository.existsByEmailAndIdNot(value, id));
+    }
+
+    /**
+     * @return the values that may already exist; all others are certainly free
+     */
+    public List<String> filterMaybeTaken(Key key, Collection<String> values) {
+        List<String> maybe = new ArrayList<>();
+        for (String value : values) {
+            if (mightContain(key, value)) {
+                maybe.add(value);
+            }
+        }
+        return maybe;
+    }
+
+    /**
+     * Records a value that is about to be written. Call before the INSERT or UPDATE, so a
+     * concurrent check never misses a committed value.
+     */
+    public void add(Key key, String value) {
+        if (value == null) {
+            return;
+        }
+        Space space = spaces.get(key);
+        String normalized = normalize(value);
+        space.filter.add(normalized);
+        BloomFilter next = space.next;
+        if (next != null) {
+            next.add(normalized);
+        }
+        if (space.added.incrementAndGet() > space.capacity && space.ready) {
+            rebuildAsync(key, space.capacity * 2);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (Key key : Key.values()) {
+            rebuild(key, spaces.get(key).capacity);
+        }
+    }
+
+    private boolean isTaken(Key key, String value, Predicate<String> existsInDatabase) {
+        return value != null && mightContain(key, value) && existsInDatabase.test(value);
+    }
+
+    private boolean mightContain(Key key, String value) {
+        Space space = spaces.get(key);
+        return !space.ready || space.filter.mightContain(normalize(value));
+    }
+
+    private void rebuildAsync(Key key, long capacity) {
+        Space space = spaces.get(key);
+        synchronized (space) {
+            if (space.next != null || capacity <= space.capacity) {
+                return;
+            }
+            space.next = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+        }
+        CompletableFuture.runAsync(() -> rebuild(key, capacity));
+    }
+
+    private void rebuild(Key key, long capacity) {
+        Space space = spaces.get(key);
+        BloomFilter next;
+        synchronized (space) {
+            if (space.next == null) {
+                space.next = new BloomFilter(capacity, FALSE_POSITIVE_RATE);
+            }
+            next = space.next;
+        }
+        try {
+            AtomicLong count = new AtomicLong();
+            jdbcTemplate.query(key.loadSql, rs -> {
+                String value = rs.getString(1);
+                if (value != null) {
+                    next.add(normalize(value));
+                    count.incrementAndGet();
+                }
+            });
+            synchronized (space) {
+                space.filter = next;
+                space.capacity = capacity;
+                space.added.set(count.get());
+                space.next = null;
+                space.ready = true;
+            }
+            logger.info("Loaded {} {} values into the uniqueness index", count.get(), key);
+            if (count.get() > capacity) {
+                rebuildAsync(key, count.get() * 2);
+            }
+        } catch (RuntimeException e) {
+            synchronized (space) {
+                space.next = null;
+            }
+            logger.error("Could not load the {} uniqueness index; checks fall back to the database", key, e);
+        }
+    }
+
+    // At least as coarse as the database collation, so equal values always share a key
+    private static String normalize(String value) {
+        return Normalizer.normalize(value.trim(), Normalizer.Form.NFD)
+                .replaceAll("\\p{M}+", "")
+                .toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,11 +1,17 @@
 package EventPlanning.example.Event.Planning.syetem.service;
 
+import EventPlanning.example.Event.Planning.syetem.Exception.DuplicateValueException;
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.changes.EntityChangedEvent;
 import EventPlanning.example.Event.Planning.syetem.model.User;
 import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.stream.Collectors;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,6 +22,18 @@ public class UserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private EventInviteeService eventInviteeService;
+
+    @Autowired
+    private IdLookupCache idLookupCache;
+
+    @Autowired
+    private UniquenessIndex uniquenessIndex;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
 
 
 
@@ -23,6 +41,26 @@ public class UserService {
         return userRepository.save(user);
     }
 
+    /**
+     * Saves a new user after checking userId and email against the uniqueness index.
+     *
+     * @throws DuplicateValueException if the userId or email is already taken
+     */
+    public User createUser(User user) {
+        if (uniquenessIndex.isUserIdTaken(user.getUserId())) {
+            throw new DuplicateValueException("userId", user.getUserId());
+        }
+        if (uniquenessIndex.isEmailTaken(user.getEmail())) {
+            throw new DuplicateValueException("email", user.getEmail());
+        }
+        uniquenessIndex.add(UniquenessIndex.Key.USER_ID, user.getUserId());
+        uniquenessIndex.add(UniquenessIndex.Key.EMAIL, user.getEmail());
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(EntityChangedEvent.created(EntityType.USER, saved.getId(), saved::getVersion));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
@@ -31,8 +69,53 @@ public class UserService {
         return userRepository.findById(id);
     }
 
+    /**
+     * Copies the editable fields onto an existing user.
+     *
+     * @return the saved user, or empty if no user has the given id
+     * @throws DuplicateValueException if the new userId or email belongs to another user
+     */
+    @Transactional
+    public Optional<User> updateUser(Long id, User user) {
+        Optional<User> existingUser = userRepository.findById(id);
+        if (existingUser.isEmpty()) {
+            return Optional.empty();
+        }
+        User updatedUser = existingUser.get();
+        String previousUserId = updatedUser.getUserId();
+        if (changed(previousUserId, user.getUserId()) && uniquenessIndex.isUserIdTakenByOther(user.getUserId(), id)) {
+            throw new DuplicateValueException("userId", user.getUserId());
+        }
+        if (changed(updatedUser.getEmail(), user.getEmail()) && uniquenessIndex.isEmailTakenByOther(user.getEmail(), id)) {
+            throw new DuplicateValueException("email", user.getEmail());
+        }
+        uniquenessIndex.add(UniquenessIndex.Key.USER_ID, user.getUserId());
+        uniquenessIndex.add(UniquenessIndex.Key.EMAIL, user.getEmail());
+        updatedUser.setUserId(user.getUserId());
+        updatedUser.setUserName(user.getUserName());
+        updatedUser.setEmail(user.getEmail());
+        updatedUser.setRole(user.getRole());
+        updatedUser.setStatus(user.getStatus());
+        User saved = userRepository.save(updatedUser);
+        idLookupCache.invalidateUserIds(previousUserId, saved.getUserId());
+        eventPublisher.publishEvent(EntityChangedEvent.updated(EntityType.USER, id, saved::getVersion));
+        return Optional.of(saved);
+    }
+
+    // Case-only changes need no check at all; other changes are checked against every row but the user's own
+    private static boolean changed(String before, String after) {
+        return after != null && !after.equalsIgnoreCase(before);
+    }
+
+    @Transactional
     public void deleteUser(Long id) {
+        Optional<User> user = userRepository.findById(id);
+        user.ifPresent(existing -> idLookupCache.invalidateUserIds(existing.getUserId()));
         userRepository.deleteById(id);
+        eventInviteeService.removeUser(id);
+        if (user.isPresent()) {
+            eventPublisher.publishEvent(EntityChangedEvent.deleted(EntityType.USER, id));
+        }
     }
 
     // New method to retrieve users by a list of IDs
@@ -43,8 +126,16 @@ public class UserService {
         return userRepository.findByUserId(userId);
     }
 
+    /**
+     * Resolves userIds through {@link IdLookupCache} and returns uninitialized references.
+     * Unknown userIds are skipped.
+     */
     public List<User> getUsersByIds(List<String> userId) {
-        return userRepository.findByUserIdIn(userId); // Assuming you have this method in your repository
+        List<User> users = new ArrayList<>();
+        for (Long id : idLookupCache.getUserIds(userId).values()) {
+            users.add(userRepository.getReferenceById(id));
+        }
+        return users;
     }
 
 
@@ -0,0 +1,295 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException;
+import EventPlanning.example.Event.Planning.syetem.dto.VenueConflict;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory per-venue calendar used to reject double bookings.
+ * <p>
+ * Each venue keeps its bookings in a set sorted by (start, eventId) and remembers its longest
+ * booking. Every booking that could overlap [start, end) therefore starts inside
+ * [start - longest, end), so a check is one O(log n) range lookup plus the few bookings in
+ * that window, and stays correct even if legacy data already contains overlaps.
+ * <p>
+ * Changes made inside a transaction are undone if the transaction rolls back. The database
+ * remains the source of truth; the index is rebuilt from it at startup.
+ */
+@Component
+public class VenueBookingIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(VenueBookingIndex.class);
+
+    private static final Comparator<Booking> BY_START =
+            Comparator.comparing((Booking b) -> b.start).thenComparingLong(b -> b.eventId);
+
+    private final Map<String, VenueCalendar> calendars = new ConcurrentHashMap<>();
+
+    private final Map<Long, Booking> bookingsByEvent = new ConcurrentHashMap<>();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    static final class Booking {
+        final long eventId;
+        final String venueKey;
+        final LocalDateTime start;
+        final LocalDateTime end;
+
+        Booking(long eventId, String venueKey, LocalDateTime start, LocalDateTime end) {
+            this.eventId = eventId;
+            this.venueKey = venueKey;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    private static final class VenueCalendar {
+        final TreeSet<Booking> bookings = new TreeSet<>(BY_START);
+        // Only grows; a stale maximum just widens the scan window a little
+        Duration longest = Duration.ZERO;
+
+        void add(Booking booking) {
+            bookings.add(booking);
+            Duration length = Duration.between(booking.start, booking.end);
+            if (length.compareTo(longest) > 0) {
+                longest = length;
+            }
+        }
+
+        List<Long> overlapping(LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+            List<Long> conflicts = new ArrayList<>();
+            Booking from = new Booking(Long.MIN_VALUE, null, start.minus(longest), null);
+            Booking to = new Booking(Long.MIN_VALUE, null, end, null);
+            for (Booking booking : bookings.subSet(from, true, to, false)) {
+                if (booking.end.isAfter(start) && (excludeEventId == null || booking.eventId != excludeEventId)) {
+                    conflicts.add(booking.eventId);
+                }
+            }
+            return conflicts;
+        }
+    }
+
+    /**
+     * Ids of events booked into the venue during [start, end), other than {@code excludeEventId}.
+     */
+    public List<Long> findConflicts(String venueKey, LocalDateTime start, LocalDateTime end, Long excludeEventId) {
+        if (venueKey == null) {
+            return List.of();
+        }
+        VenueCalendar calendar = calendars.get(venueKey);
+        if (calendar == null) {
+            return List.of();
+        }
+        synchronized (calendar) {
+            return calendar.overlapping(start, end, excludeEventId);
+        }
+    }
+
+    /**
+     * Atomically checks the event's venue and time range and records the booking, replacing
+     * any previous booking of the same event.
+     *
+     * @throws VenueConflictException if another event holds the venue during that time
+     */
+    public void reserve(Event event) {
+        reserve(event.getId(), event.getVenue() == null ? null : event.getVenue().getVenueKey(),
+                event.getDateTime(), event.getEndDateTime());
+    }
+
+    /**
+     * @see #reserve(Event)
+     */
+    public void reserve(Long eventId, String venueKey, LocalDateTime start, LocalDateTime end) {
+        if (venueKey == null || start == null || end == null) {
+            Booking previous = bookingsByEvent.get(eventId);
+            if (previous != null) {
+                remove(previous);
+                onRollback(() -> add(previous));
+            }
+            return;
+        }
+
+        Booking booking = new Booking(eventId, venueKey, start, end);
+        VenueCalendar calendar = calendars.computeIfAbsent(venueKey, key -> new VenueCalendar());
+        Booking previous;
+        do {
+            previous = bookingsByEvent.get(eventId);
+        } while (!swap(previous, booking, calendar));
+        Booking replaced = previous;
+        onRollback(() -> {
+            remove(booking);
+            if (replaced != null) {
+                add(replaced);
+            }
+        });
+    }
+
+    /**
+     * Replaces {@code previous} by {@code booking} under the locks of both their calendars, taken
+     * in venue-key order so that moves in opposite directions between two venues cannot deadlock.
+     *
+     * @return false if the event's booking changed before the locks were held; the caller retries
+     */
+    private boolean swap(Booking previous, Booking booking, VenueCalendar calendar) {
+        VenueCalendar previousCalendar = previous == null ? calendar
+                : calendars.computeIfAbsent(previous.venueKey, key -> new VenueCalendar());
+        boolean previousFirst = previous != null && previous.venueKey.compareTo(booking.venueKey) < 0;
+        VenueCalendar first = previousFirst ? previousCalendar : calendar;
+        VenueCalendar second = previousFirst ? calendar : previousCalendar;
+        synchronized (first) {
+            synchronized (second) {
+                if (bookingsByEvent.get(booking.eventId) != previous) {
+                    return false;
+                }
+                List<Long> conflicts = calendar.overlapping(booking.start, booking.end, booking.eventId);
+                if (!conflicts.isEmpty()) {
+                    throw new VenueConflictException(booking.venueKey, conflicts);
+                }
+                if (previous != null) {
+                    previousCalendar.bookings.remove(previous);
+                }
+                calendar.add(booking);
+                bookingsByEvent.put(booking.eventId, booking);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Drops the event's booking once the surrounding transaction (if any) commits.
+     */
+    public void release(Long eventId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    releaseNow(eventId);
+                }
+            });
+        } else {
+            releaseNow(eventId);
+        }
+    }
+
+    /**
+     * Every pair of overlapping bookings, found with one sweep over each venue's sorted
+     * calendar while keeping the bookings still in progress in a heap ordered by end time.
+     */
+    public List<VenueConflict> conflictReport() {
+        List<VenueConflict> report = new ArrayList<>();
+        for (Map.Entry<String, VenueCalendar> entry : calendars.entrySet()) {
+            List<Booking> sorted;
+            synchronized (entry.getValue()) {
+                sorted = new ArrayList<>(entry.getValue().bookings);
+            }
+            PriorityQueue<Booking> active = new PriorityQueue<>(Comparator.comparing((Booking b) -> b.end));
+            for (Booking booking : sorted) {
+                while (!active.isEmpty() && !active.peek().end.isAfter(booking.start)) {
+                    active.poll();
+                }
+                for (Booking other : active) {
+                    LocalDateTime overlapEnd = other.end.isBefore(booking.end) ? other.end : booking.end;
+                    report.add(new VenueConflict(entry.getKey(), other.eventId, booking.eventId,
+                            booking.start, overlapEnd));
+                }
+                active.add(booking);
+            }
+        }
+        return report;
+    }
+
+    /**
+     * Fills end times and venue keys of events written before they existed, then builds the
+     * index from the events table.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        int ended = jdbcTemplate.update("UPDATE events SET end_date_time = TIMESTAMPADD(MINUTE, ?, date_time), " +
+                "version = version + 1 WHERE end_date_time IS NULL", Event.DEFAULT_DURATION.toMinutes());
+        List<Object[]> keys = new ArrayList<>();
+        jdbcTemplate.query("SELECT id, address, latitude, longitude FROM events WHERE venue_key IS NULL", rs -> {
+            String venueKey = Venue.resolveKey(null, rs.getString(2),
+                    rs.getObject(3, Double.class), rs.getObject(4, Double.class));
+            if (venueKey != null) {
+                keys.add(new Object[]{venueKey, rs.getLong(1)});
+            }
+        });
+        if (!keys.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE events SET venue_key = ?, version = version + 1 WHERE id = ?", keys);
+        }
+        if (ended > 0 || !keys.isEmpty()) {
+            logger.info("Backfilled end times of {} events and venue keys of {} events", ended, keys.size());
+        }
+
+        calendars.clear();
+        bookingsByEvent.clear();
+        jdbcTemplate.query("SELECT id, venue_key, date_time, end_date_time FROM events " +
+                        "WHERE venue_key IS NOT NULL AND end_date_time IS NOT NULL",
+                rs -> {
+                    add(new Booking(rs.getLong(1), rs.getString(2),
+                            rs.getObject(3, LocalDateTime.class), rs.getObject(4, LocalDateTime.class)));
+                });
+        logger.info("Loaded {} venue bookings across {} venues", bookingsByEvent.size(), calendars.size());
+    }
+
+    private void add(Booking booking) {
+        VenueCalendar calendar = calendars.computeIfAbsent(booking.venueKey, key -> new VenueCalendar());
+        synchronized (calendar) {
+            calendar.add(booking);
+            bookingsByEvent.put(booking.eventId, booking);
+        }
+    }
+
+    private void remove(Booking booking) {
+        VenueCalendar calendar = calendars.get(booking.venueKey);
+        if (calendar != null) {
+            synchronized (calendar) {
+                calendar.bookings.remove(booking);
+                bookingsByEvent.remove(booking.eventId, booking);
+            }
+        } else {
+            bookingsByEvent.remove(booking.eventId, booking);
+        }
+    }
+
+    private void releaseNow(Long eventId) {
+        Booking booking = bookingsByEvent.get(eventId);
+        if (booking != null) {
+            remove(booking);
+        }
+    }
+
+    private static void onRollback(Runnable undo) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        undo.run();
+                    }
+                }
+            });
+        }
+    }
+}
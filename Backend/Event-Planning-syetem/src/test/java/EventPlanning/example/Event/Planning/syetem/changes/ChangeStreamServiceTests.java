@@ -0,0 +1,246 @@
+package EventPlanning.example.Event.Planning.syetem.changes;
+
+import EventPlanning.example.Event.Planning.syetem.changes.ChangeNotification.EntityType;
+import EventPlanning.example.Event.Planning.syetem.service.BulkImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ChangeStreamServiceTests {
+
+    // Ids far above anything the application creates, so other writes cannot be mistaken for these
+    private static final AtomicLong IDS = new AtomicLong(1_000_000_000L);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ChangeStreamService changeStreamService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void streamsCommittedChanges() throws Exception {
+        MockHttpServletResponse stream = open(get("/api/changes/stream"));
+        long id = IDS.incrementAndGet();
+
+        changeStreamService.onEntityChanged(EntityChangedEvent.updated(EntityType.GROUP, id, () -> 3L));
+
+        String content = await(stream, body -> body.contains("\"id\":" + id));
+        assertTrue(content.contains("event:change"));
+        assertTrue(content.contains("{\"entityType\":\"GROUP\",\"id\":" + id + ",\"version\":3,\"operation\":\"UPDATED\"}"));
+    }
+
+    @Test
+    void freshStreamStartsWithAnIdToResumeFrom() throws Exception {
+        MockHttpServletResponse fresh = open(get("/api/changes/stream"));
+        List<String> ids = eventIds(await(fresh, body -> body.contains("event:ready")));
+        assertEquals(1, ids.size());
+        long id = IDS.incrementAndGet();
+        changeStreamService.onEntityChanged(EntityChangedEvent.created(EntityType.USER, id, () -> 0L));
+
+        MockHttpServletResponse resumed = open(get("/api/changes/stream").header("Last-Event-ID", ids.get(0)));
+
+        String content = await(resumed, body -> body.contains("\"id\":" + id));
+        assertFalse(content.contains("event:reset"));
+        assertFalse(content.contains("event:ready"));
+    }
+
+    @Test
+    void resumesAfterLastEventId() throws Exception {
+        MockHttpServletResponse first = open(get("/api/changes/stream"));
+        long missed = IDS.incrementAndGet();
+        long alsoMissed = IDS.incrementAndGet();
+        changeStreamService.onEntityChanged(EntityChangedEvent.created(EntityType.EVENT, missed, () -> 0L));
+        changeStreamService.onEntityChanged(EntityChangedEvent.deleted(EntityType.EVENT, alsoMissed));
+        List<String> ids = eventIds(await(first, body -> body.contains("\"id\":" + alsoMissed)));
+        String lastSeen = ids.get(ids.size() - 2);
+
+        MockHttpServletResponse resumed = open(get("/api/changes/stream").header("Last-Event-ID", lastSeen));
+
+        String content = await(resumed, body -> body.contains("\"id\":" + alsoMissed));
+        assertFalse(content.contains("\"id\":" + missed + ","));
+        assertEquals(List.of(ids.get(ids.size() - 1)), eventIds(content));
+    }
+
+    @Test
+    void resetsWhenLastEventIdIsNotBuffered() throws Exception {
+        MockHttpServletResponse stream = open(get("/api/changes/stream").param("lastEventId", "earlier-run-42"));
+
+        String content = await(stream, body -> body.contains("event:reset"));
+        assertEquals(1, eventIds(content).size());
+    }
+
+    @Test
+    void bulkImportsStreamEveryCreatedRow() throws Exception {
+        MockHttpServletResponse stream = open(get("/api/changes/stream"));
+        String suffix = "stream-" + IDS.incrementAndGet();
+
+        bulkImportService.importUsers(json("[{\"userId\":\"" + suffix + "\",\"userName\":\"Stream user\","
+                + "\"email\":\"" + suffix + "@example.com\",\"role\":\"MEMBER\",\"status\":\"ACTIVE\"}]"),
+                MediaType.APPLICATION_JSON_VALUE);
+        bulkImportService.importGroups(json("[{\"groupName\":\"Stream group\",\"groupCode\":\"" + suffix
+                + "\",\"status\":\"ACTIVE\",\"groupType\":\"TEAM\",\"groupMembers\":[\"" + suffix + "\"]}]"),
+                MediaType.APPLICATION_JSON_VALUE);
+        bulkImportService.importEvents(json("[{\"eventTitle\":\"" + suffix + "\",\"description\":\"Streamed\","
+                + "\"dateTime\":\"" + LocalDateTime.now().plusDays(20).withNano(0) + "\",\"eventType\":\"Meetup\","
+                + "\"isPublic\":true,\"inviteType\":\"group\",\"status\":\"SCHEDULED\",\"invitedGroups\":[\""
+                + suffix + "\"]}]"), MediaType.APPLICATION_JSON_VALUE);
+
+        String user = created("USER", jdbcTemplate.queryForObject(
+                "SELECT id FROM users WHERE user_id = ?", Long.class, suffix));
+        String group = created("GROUP", jdbcTemplate.queryForObject(
+                "SELECT id FROM `groups` WHERE group_code = ?", Long.class, suffix));
+        String event = created("EVENT", jdbcTemplate.queryForObject(
+                "SELECT id FROM events WHERE event_title = ?", Long.class, suffix));
+        await(stream, body -> body.contains(user) && body.contains(group) && body.contains(event));
+    }
+
+    @Test
+    void stalledClientDoesNotHoldUpOthers() throws Exception {
+        ChangeStreamService service = new ChangeStreamService();
+        ReflectionTestUtils.setField(service, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(service, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(service, "bufferSize", 16);
+        ReflectionTestUtils.setField(service, "subscriberQueueSize", 16);
+        ReflectionTestUtils.setField(service, "senderThreads", 1);
+        ReflectionTestUtils.setField(service, "heartbeatInterval", Duration.ofHours(1));
+        ReflectionTestUtils.setField(service, "emitterTimeout", Duration.ofMinutes(1));
+        ReflectionTestUtils.setField(service, "sendTimeout", Duration.ofMillis(200));
+        ReflectionTestUtils.setField(service, "maxStalledSenders", 4);
+        service.start();
+        try {
+            // Blocks like a write to a client that stopped reading, until released
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicBoolean completed = new AtomicBoolean();
+            SseEmitter stalled = new SseEmitter() {
+                @Override
+                public synchronized void send(SseEventBuilder builder) throws IOException {
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    throw new IOException("Broken pipe");
+                }
+
+                @Override
+                public synchronized void complete() {
+                    completed.set(true);
+                    super.complete();
+                }
+            };
+            StringBuffer received = new StringBuffer();
+            SseEmitter healthy = new SseEmitter() {
+                @Override
+                public void send(SseEventBuilder builder) {
+                    builder.build().forEach(part -> received.append(part.getData()));
+                }
+            };
+
+            // The only sender thread blocks on the stalled client's ready event
+            service.subscribe(null, stalled);
+            service.subscribe(null, healthy);
+            long id = IDS.incrementAndGet();
+            service.onEntityChanged(EntityChangedEvent.updated(EntityType.GROUP, id, () -> 1L));
+
+            waitFor(() -> received.toString().contains("\"id\":" + id));
+            assertTrue(received.toString().contains("event:ready"));
+            assertFalse(completed.get());
+
+            release.countDown();
+            ThreadPoolExecutor senders = (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "senders");
+            waitFor(() -> completed.get() && senders.getCorePoolSize() == 1);
+        } finally {
+            service.stop();
+        }
+    }
+
+    private MockHttpServletResponse open(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn().getResponse();
+    }
+
+    // Events are sent from the sender pool, so wait for them to arrive
+    private static String await(MockHttpServletResponse stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < deadline) {
+            String content = stream.getContentAsString();
+            if (condition.test(content)) {
+                return content;
+            }
+            Thread.sleep(20);
+        }
+        fail("Stream did not receive the expected events: " + stream.getContentAsString());
+        return null;
+    }
+
+    private static String created(String entityType, long id) {
+        return "{\"entityType\":\"" + entityType + "\",\"id\":" + id + ",\"version\":0,\"operation\":\"CREATED\"}";
+    }
+
+    private static ByteArrayInputStream json(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Condition not met in time");
+            }
+            Thread.sleep(20);
+        }
+    }
+
+    private static List<String> eventIds(String content) {
+        List<String> ids = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            if (line.startsWith("id:")) {
+                ids.add(line.substring(3));
+            }
+        }
+        return ids;
+    }
+}
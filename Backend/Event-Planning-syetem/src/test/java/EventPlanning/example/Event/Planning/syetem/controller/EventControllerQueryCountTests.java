@@ -0,0 +1,130 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the event endpoints: each stays within its budget, and reads do not grow
+ * with the number of invited groups, members or users.
+ */
+class EventControllerQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void getEventByIdDoesNotDependOnInvitees() throws Exception {
+        List<JsonNode> events = createSmallAndLargeEvent("Conference");
+
+        long small = statements(get("/api/events/" + events.get(0).get("id").asLong()), status().isOk());
+        long large = statements(get("/api/events/" + events.get(1).get("id").asLong()), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(8);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void eventPageDoesNotDependOnInvitees() throws Exception {
+        String smallType = unique("Meetup");
+        String largeType = unique("Conference");
+        createEvent(smallType, List.of(createGroup(2)), createUsers(1));
+        for (int i = 0; i < 3; i++) {
+            createEvent(largeType, List.of(createGroup(10), createGroup(10)), createUsers(5));
+        }
+
+        long small = statements(get("/api/events").param("eventType", smallType), status().isOk());
+        long large = statements(get("/api/events").param("eventType", largeType), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(8);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void inviteesPageWithinBudget() throws Exception {
+        JsonNode event = createEvent("Meetup", List.of(createGroup(20)), createUsers(5));
+
+        long statements = statements(get("/api/events/" + event.get("id").asLong() + "/invitees")
+                .param("limit", "10"), status().isOk());
+
+        assertThat(statements).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void searchDoesNotDependOnMatches() throws Exception {
+        String smallWord = unique("smallword").replace("-", "");
+        String largeWord = unique("largeword").replace("-", "");
+        createEvent(smallWord, "Meetup", 6.9271, 79.8612, List.of(createGroup(2)), createUsers(1));
+        for (int i = 0; i < 4; i++) {
+            createEvent(largeWord + " " + i, "Meetup", 6.9271, 79.8612,
+                    List.of(createGroup(10)), createUsers(3));
+        }
+
+        long small = statements(get("/api/events/search").param("q", smallWord), status().isOk());
+        long large = statements(get("/api/events/search").param("q", largeWord), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(6);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void nearbyDoesNotDependOnMatches() throws Exception {
+        // Two spots far from every other test event and from each other
+        createEvent(unique("Nearby"), "Meetup", -45.0, 170.0, List.of(createGroup(2)), createUsers(1));
+        for (int i = 0; i < 4; i++) {
+            createEvent(unique("Nearby"), "Meetup", 45.0, -170.0, List.of(createGroup(10)), createUsers(3));
+        }
+
+        long small = statements(get("/api/events/nearby").param("lat", "-45.0").param("lng", "170.0")
+                .param("radiusKm", "5"), status().isOk());
+        long large = statements(get("/api/events/nearby").param("lat", "45.0").param("lng", "-170.0")
+                .param("radiusKm", "5"), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(6);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void conflictsAreServedFromMemory() throws Exception {
+        assertThat(statements(get("/api/events/conflicts"), status().isOk())).isZero();
+    }
+
+    // Exact counts: the budgets only catch a write once it is far off, these catch the first extra statement
+    @Test
+    void writesWithinBudget() throws Exception {
+        List<JsonNode> groups = List.of(createGroup(10), createGroup(10), createGroup(10));
+        List<String> users = createUsers(5);
+
+        long created = statements(post("/api/events").contentType(MediaType.APPLICATION_JSON)
+                .content(eventJson(unique("Event"), "Workshop", 6.9271, 79.8612, groups, users).toString()),
+                status().isCreated());
+        assertThat(created).isEqualTo(17);
+
+        JsonNode event = createEvent("Workshop", List.of(createGroup(10)), createUsers(3));
+        long id = event.get("id").asLong();
+
+        long patched = statements(patch("/api/events/" + id)
+                .contentType("application/merge-patch+json")
+                .content("{\"description\":\"Patched\"}"), status().isNoContent());
+        assertThat(patched).isEqualTo(6);
+
+        ObjectNode replacement = eventJson(unique("Event"), "Workshop", 6.9271, 79.8612,
+                List.of(createGroup(5)), createUsers(2));
+        // Always a reschedule, so the invitee dates and the reminder are rewritten too
+        replacement.put("dateTime", LocalDateTime.now().plusDays(8).withNano(0).toString());
+        long updated = statements(put("/api/events/" + id).contentType(MediaType.APPLICATION_JSON)
+                .content(replacement.toString()), status().isOk());
+        assertThat(updated).isEqualTo(19);
+
+        assertThat(statements(delete("/api/events/" + id), status().isNoContent())).isEqualTo(6);
+    }
+}
@@ -0,0 +1,117 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code fields} and {@code expand} on the list endpoints: collections are collapsed by
+ * default, embedded on request, and either way the statement count stays fixed.
+ */
+class FieldsetQueryTests extends QueryCountTestSupport {
+
+    @Test
+    void eventPageReturnsOnlyRequestedFields() throws Exception {
+        String eventType = unique("Meetup");
+        JsonNode group = createGroup(3);
+        List<String> users = createUsers(2);
+        createEvent(eventType, List.of(group), users);
+
+        JsonNode event = readJson(mockMvc.perform(get("/api/events").param("eventType", eventType)
+                .param("fields", "eventTitle,invitedGroups,invitedUsers")).andExpect(status().isOk()).andReturn()).get(0);
+
+        assertThat(fieldNames(event)).containsExactly("id", "eventTitle", "invitedGroupIds", "invitedUserIds");
+        assertThat(event.get("invitedGroupIds").get(0).asLong()).isEqualTo(group.get("id").asLong());
+        assertThat(event.get("invitedUserIds")).hasSize(2);
+    }
+
+    @Test
+    void eventPageExpandsInviteesOnRequest() throws Exception {
+        String eventType = unique("Meetup");
+        createEvent(eventType, List.of(createGroup(3)), createUsers(2));
+
+        JsonNode collapsed = readJson(mockMvc.perform(get("/api/events").param("eventType", eventType)
+                .param("expand", "invitedGroups")).andExpect(status().isOk()).andReturn()).get(0);
+        JsonNode expanded = readJson(mockMvc.perform(get("/api/events").param("eventType", eventType)
+                .param("expand", "invitedGroups.groupMembers,invitedUsers")).andExpect(status().isOk()).andReturn()).get(0);
+
+        assertThat(collapsed.get("invitedGroups").get(0).get("memberCount").asLong()).isEqualTo(3);
+        assertThat(collapsed.has("invitedUserIds")).isTrue();
+        assertThat(expanded.get("invitedGroups").get(0).get("groupMembers")).hasSize(3);
+        assertThat(expanded.get("invitedUsers").get(0).get("userName").asText()).startsWith("User ");
+    }
+
+    @Test
+    void expandedEventPageDoesNotDependOnInvitees() throws Exception {
+        String smallType = unique("Meetup");
+        String largeType = unique("Conference");
+        createEvent(smallType, List.of(createGroup(2)), createUsers(1));
+        for (int i = 0; i < 3; i++) {
+            createEvent(largeType, List.of(createGroup(10), createGroup(10)), createUsers(5));
+        }
+        String expand = "invitedGroups.groupMembers,invitedUsers";
+
+        long small = statements(get("/api/events").param("eventType", smallType).param("expand", expand),
+                status().isOk());
+        long large = statements(get("/api/events").param("eventType", largeType).param("expand", expand),
+                status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(8);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void groupListCollapsesMembersByDefault() throws Exception {
+        JsonNode group = createGroup(4);
+
+        JsonNode collapsed = find(readJson(mockMvc.perform(get("/api/groups")).andExpect(status().isOk()).andReturn()),
+                group.get("id").asLong());
+        JsonNode expanded = find(readJson(mockMvc.perform(get("/api/groups").param("expand", "groupMembers"))
+                .andExpect(status().isOk()).andReturn()), group.get("id").asLong());
+        JsonNode names = find(readJson(mockMvc.perform(get("/api/groups").param("fields", "groupName"))
+                .andExpect(status().isOk()).andReturn()), group.get("id").asLong());
+
+        assertThat(collapsed.get("memberCount").asLong()).isEqualTo(4);
+        assertThat(collapsed.has("groupMembers")).isFalse();
+        assertThat(expanded.get("groupMembers")).hasSize(4);
+        assertThat(fieldNames(names)).containsExactly("id", "groupName");
+    }
+
+    @Test
+    void userListReturnsOnlyRequestedFields() throws Exception {
+        createUsers(1);
+
+        JsonNode user = readJson(mockMvc.perform(get("/api/users").param("fields", "userName,userId"))
+                .andExpect(status().isOk()).andReturn()).get(0);
+
+        assertThat(fieldNames(user)).containsExactly("id", "userId", "userName");
+    }
+
+    @Test
+    void unknownFieldsAreRejected() throws Exception {
+        mockMvc.perform(get("/api/events").param("fields", "password")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/groups").param("expand", "events")).andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/users").param("fields", "groupMembers")).andExpect(status().isBadRequest());
+    }
+
+    private static List<String> fieldNames(JsonNode node) {
+        List<String> names = new ArrayList<>();
+        node.fieldNames().forEachRemaining(names::add);
+        return names;
+    }
+
+    private static JsonNode find(JsonNode list, long id) {
+        for (JsonNode item : list) {
+            if (item.get("id").asLong() == id) {
+                return item;
+            }
+        }
+        throw new AssertionError("No item with id " + id);
+    }
+}
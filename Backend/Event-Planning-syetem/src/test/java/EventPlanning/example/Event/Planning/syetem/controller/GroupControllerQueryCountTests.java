@@ -0,0 +1,82 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the group endpoints: each stays within its budget, and neither reads nor
+ * member batches grow with the number of groups or members involved.
+ */
+class GroupControllerQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void getGroupByIdDoesNotDependOnMembers() throws Exception {
+        long small = statements(get("/api/groups/" + createGroup(2).get("id").asLong()), status().isOk());
+        long large = statements(get("/api/groups/" + createGroup(30).get("id").asLong()), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(4);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void groupListDoesNotDependOnGroupCount() throws Exception {
+        createGroup(3);
+        long before = statements(get("/api/groups"), status().isOk());
+        for (int i = 0; i < 10; i++) {
+            createGroup(5);
+        }
+        long after = statements(get("/api/groups"), status().isOk());
+
+        assertThat(before).isLessThanOrEqualTo(5);
+        assertThat(after).isEqualTo(before);
+    }
+
+    @Test
+    void memberBatchesDoNotDependOnBatchSize() throws Exception {
+        long id = createGroup(2).get("id").asLong();
+        List<String> one = createUsers(1);
+        List<String> fifty = createUsers(50);
+
+        long small = statements(post("/api/groups/" + id + "/members").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(one)), status().isOk());
+        long large = statements(post("/api/groups/" + id + "/members").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fifty)), status().isOk());
+        assertThat(small).isEqualTo(6);
+        assertThat(large).isEqualTo(small);
+
+        long removed = statements(delete("/api/groups/" + id + "/members").contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(fifty)), status().isOk());
+        assertThat(removed).isEqualTo(5);
+    }
+
+    // Exact counts: the budgets only catch a write once it is far off, these catch the first extra statement
+    @Test
+    void writesWithinBudget() throws Exception {
+        List<String> members = createUsers(20);
+        String body = objectMapper.createObjectNode()
+                .put("groupName", "Group")
+                .put("groupCode", unique("group"))
+                .put("status", "ACTIVE")
+                .put("groupType", "TEAM")
+                .set("groupMembers", objectMapper.valueToTree(members.stream()
+                        .map(userId -> Map.of("userId", userId)).toList()))
+                .toString();
+        long created = statements(post("/api/groups").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated());
+        assertThat(created).isEqualTo(5);
+
+        JsonNode group = createGroup(5);
+        assertThat(statements(delete("/api/groups/" + group.get("id").asLong()), status().isOk()))
+                .isEqualTo(4);
+    }
+}
@@ -0,0 +1,129 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The incremental member endpoints: only the difference is written, repeating a change is a
+ * no-op, and concurrent changes of one group all go through.
+ */
+class GroupMembershipTests extends QueryCountTestSupport {
+
+    @Test
+    void repeatingAChangeWritesNothing() throws Exception {
+        JsonNode group = createGroup(2);
+        long id = group.get("id").asLong();
+        List<String> users = createUsers(3);
+        long created = version(id);
+
+        JsonNode added = change(post("/api/groups/" + id + "/members"), users);
+        long version = version(id);
+        JsonNode again = change(post("/api/groups/" + id + "/members"), users);
+
+        assertThat(added.get("changed").asInt()).isEqualTo(3);
+        assertThat(version).isGreaterThan(created);
+        assertThat(again.get("changed").asInt()).isZero();
+        assertThat(again.get("unchanged").asInt()).isEqualTo(3);
+        assertThat(version(id)).isEqualTo(version);
+
+        JsonNode removed = change(delete("/api/groups/" + id + "/members"), users.subList(0, 2));
+        JsonNode removedAgain = change(delete("/api/groups/" + id + "/members"), users.subList(0, 2));
+
+        assertThat(removed.get("changed").asInt()).isEqualTo(2);
+        assertThat(removedAgain.get("changed").asInt()).isZero();
+        assertThat(members(id)).isEqualTo(3);
+    }
+
+    @Test
+    void unknownUsersAreReported() throws Exception {
+        long id = createGroup(1).get("id").asLong();
+        String missing = unique("missing");
+
+        JsonNode result = change(post("/api/groups/" + id + "/members"), List.of(missing));
+
+        assertThat(result.get("changed").asInt()).isZero();
+        assertThat(result.get("unknownUserIds").get(0).asText()).isEqualTo(missing);
+    }
+
+    @Test
+    void changesReachTheInviteesOfTheGroupsEvents() throws Exception {
+        JsonNode group = createGroup(1);
+        long id = group.get("id").asLong();
+        long eventId = createEvent("Meetup", List.of(group), List.of()).get("id").asLong();
+        String userId = createUsers(1).get(0);
+
+        change(post("/api/groups/" + id + "/members"), List.of(userId));
+        assertThat(isInvited(eventId, userId)).isTrue();
+
+        change(delete("/api/groups/" + id + "/members"), List.of(userId));
+        assertThat(isInvited(eventId, userId)).isFalse();
+    }
+
+    @Test
+    void concurrentChangesOfOneGroupAllSucceed() throws Exception {
+        int clients = 8;
+        long id = createGroup(1).get("id").asLong();
+        List<List<String>> batches = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            batches.add(createUsers(5));
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(clients);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (List<String> batch : batches) {
+                Callable<Integer> add = () -> {
+                    start.await();
+                    return mockMvc.perform(post("/api/groups/" + id + "/members")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(objectMapper.writeValueAsString(batch)))
+                            .andReturn().getResponse().getStatus();
+                };
+                statuses.add(executor.submit(add));
+            }
+            start.countDown();
+            for (Future<Integer> status : statuses) {
+                assertThat(status.get()).isEqualTo(200);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(members(id)).isEqualTo(1 + clients * 5);
+    }
+
+    private JsonNode change(MockHttpServletRequestBuilder builder, List<String> userIds) throws Exception {
+        return readJson(mockMvc.perform(builder.contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(userIds))).andExpect(status().isOk()).andReturn());
+    }
+
+    private long version(long groupId) {
+        return jdbcTemplate.queryForObject("SELECT version FROM `groups` WHERE id = ?", Long.class, groupId);
+    }
+
+    private int members(long groupId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM group_members WHERE group_id = ?",
+                Integer.class, groupId);
+    }
+
+    private boolean isInvited(long eventId, String userId) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM event_invitees WHERE event_id = ? AND user_id = ?",
+                Integer.class, eventId, userId(userId)) > 0;
+    }
+}
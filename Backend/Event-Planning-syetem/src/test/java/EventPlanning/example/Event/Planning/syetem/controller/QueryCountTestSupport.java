@@ -0,0 +1,165 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import EventPlanning.example.Event.Planning.syetem.metrics.RequestStatistics;
+import EventPlanning.example.Event.Planning.syetem.metrics.RequestStatisticsFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the application on H2 with {@code app.query-budget.mode=fail}, so any request over its
+ * {@code @QueryBudget} fails, and helps tests read how many statements a request executed.
+ * Test data is created through the API, with names unique across the shared context.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+abstract class QueryCountTestSupport {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @Autowired
+    protected ObjectMapper objectMapper;
+
+    @Autowired
+    protected JdbcTemplate jdbcTemplate;
+
+    /**
+     * Performs the request, checks its status and returns the JDBC statements it executed.
+     */
+    protected long statements(MockHttpServletRequestBuilder request, ResultMatcher expectedStatus) throws Exception {
+        MvcResult result = mockMvc.perform(request).andExpect(expectedStatus).andReturn();
+        RequestStatistics statistics = (RequestStatistics) result.getRequest()
+                .getAttribute(RequestStatisticsFilter.STATISTICS_ATTRIBUTE);
+        return statistics.getStatements();
+    }
+
+    protected static String unique(String prefix) {
+        return prefix + "-" + SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * @return the userIds of {@code count} new users
+     */
+    protected List<String> createUsers(int count) throws Exception {
+        List<String> userIds = new ArrayList<>(count);
+        ArrayNode rows = objectMapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            String userId = unique("user");
+            userIds.add(userId);
+            rows.addObject()
+                    .put("userId", userId)
+                    .put("userName", "User " + userId)
+                    .put("email", userId + "@example.com")
+                    .put("role", "MEMBER")
+                    .put("status", "ACTIVE");
+        }
+        mockMvc.perform(post("/api/users/bulk").contentType(MediaType.APPLICATION_JSON).content(rows.toString()))
+                .andExpect(status().isOk());
+        return userIds;
+    }
+
+    protected long userId(String userId) {
+        return jdbcTemplate.queryForObject("SELECT id FROM users WHERE user_id = ?", Long.class, userId);
+    }
+
+    /**
+     * Creates a group with {@code size} new members.
+     *
+     * @return the created group as returned by the API
+     */
+    protected JsonNode createGroup(int size) throws Exception {
+        ObjectNode group = objectMapper.createObjectNode()
+                .put("groupName", "Group")
+                .put("groupCode", unique("group"))
+                .put("status", "ACTIVE")
+                .put("groupType", "TEAM");
+        ArrayNode members = group.putArray("groupMembers");
+        for (String userId : createUsers(size)) {
+            members.addObject().put("userId", userId);
+        }
+        return readJson(mockMvc.perform(post("/api/groups").contentType(MediaType.APPLICATION_JSON)
+                .content(group.toString())).andExpect(status().isCreated()).andReturn());
+    }
+
+    protected JsonNode createEvent(String eventType, List<JsonNode> groups, List<String> userIds) throws Exception {
+        return createEvent(unique("Event"), eventType, 6.9271, 79.8612, groups, userIds);
+    }
+
+    /**
+     * Creates an event at its own venue address, so events never conflict.
+     *
+     * @return the created event as returned by the API
+     */
+    protected JsonNode createEvent(String title, String eventType, double latitude, double longitude,
+                                   List<JsonNode> groups, List<String> userIds) throws Exception {
+        return readJson(mockMvc.perform(post("/api/events").contentType(MediaType.APPLICATION_JSON)
+                        .content(eventJson(title, eventType, latitude, longitude, groups, userIds).toString()))
+                .andExpect(status().isCreated()).andReturn());
+    }
+
+    protected ObjectNode eventJson(String title, String eventType, double latitude, double longitude,
+                                   List<JsonNode> groups, List<String> userIds) {
+        ObjectNode event = objectMapper.createObjectNode()
+                .put("eventTitle", title)
+                .put("description", "Query count test event")
+                .put("dateTime", LocalDateTime.now().plusDays(7).withNano(0).toString())
+                .put("eventType", eventType)
+                .put("isPublic", true)
+                .put("inviteType", "group")
+                .put("status", "SCHEDULED");
+        event.putObject("venue")
+                .put("address", unique("Venue"))
+                .put("latitude", latitude)
+                .put("longitude", longitude);
+        ArrayNode invitedGroups = event.putArray("invitedGroups");
+        for (JsonNode group : groups) {
+            invitedGroups.addObject().put("groupCode", group.get("groupCode").asText());
+        }
+        ArrayNode invitedUsers = event.putArray("invitedUsers");
+        for (String userId : userIds) {
+            invitedUsers.addObject().put("userId", userId);
+        }
+        return event;
+    }
+
+    /**
+     * A small event (one group of two, one direct invitee) and a larger one (three groups of
+     * ten, five direct invitees) of the given type.
+     */
+    protected List<JsonNode> createSmallAndLargeEvent(String eventType) throws Exception {
+        JsonNode small = createEvent(eventType, List.of(createGroup(2)), createUsers(1));
+        List<JsonNode> groups = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            groups.add(createGroup(10));
+        }
+        JsonNode large = createEvent(eventType, groups, createUsers(5));
+        return List.of(small, large);
+    }
+
+    protected JsonNode readJson(MvcResult result) throws Exception {
+        return objectMapper.readTree(result.getResponse().getContentAsString());
+    }
+}
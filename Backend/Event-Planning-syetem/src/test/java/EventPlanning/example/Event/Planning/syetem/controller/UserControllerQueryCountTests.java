@@ -0,0 +1,82 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Statement counts of the user endpoints: each stays within its budget, and a user's events
+ * page does not grow with the number of events or their invitees.
+ */
+class UserControllerQueryCountTests extends QueryCountTestSupport {
+
+    @Test
+    void userEventsDoNotDependOnEventCount() throws Exception {
+        List<String> users = createUsers(2);
+        createEvent("Meetup", List.of(createGroup(2)), List.of(users.get(0)));
+        for (int i = 0; i < 5; i++) {
+            createEvent("Meetup", List.of(createGroup(10)), List.of(users.get(1)));
+        }
+
+        long small = statements(get("/api/users/" + users.get(0) + "/events"), status().isOk());
+        long large = statements(get("/api/users/" + users.get(1) + "/events"), status().isOk());
+
+        assertThat(small).isLessThanOrEqualTo(8);
+        assertThat(large).isEqualTo(small);
+    }
+
+    // Like the events page, an oversized limit is capped and only a limit below 1 is rejected
+    @Test
+    void userEventsLimitIsCapped() throws Exception {
+        String userId = createUsers(1).get(0);
+        createEvent("Meetup", List.of(), List.of(userId));
+
+        mockMvc.perform(get("/api/users/" + userId + "/events").param("limit", "501")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/" + userId + "/events").param("limit", "0")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void readsWithinBudget() throws Exception {
+        long id = userId(createUsers(1).get(0));
+
+        assertThat(statements(get("/api/users/" + id), status().isOk())).isLessThanOrEqualTo(3);
+        assertThat(statements(get("/api/users"), status().isOk())).isLessThanOrEqualTo(3);
+    }
+
+    // Exact counts: the budgets only catch a write once it is far off, these catch the first extra statement
+    @Test
+    void writesWithinBudget() throws Exception {
+        String userId = unique("user");
+        String body = objectMapper.createObjectNode()
+                .put("userId", userId)
+                .put("userName", "User " + userId)
+                .put("email", userId + "@example.com")
+                .put("role", "MEMBER")
+                .put("status", "ACTIVE")
+                .toString();
+        assertThat(statements(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(body),
+                status().isCreated())).isEqualTo(1);
+
+        long id = userId(userId);
+        String update = objectMapper.createObjectNode()
+                .put("userId", userId)
+                .put("userName", "Renamed " + userId)
+                .put("email", userId + "@example.com")
+                .put("role", "ADMIN")
+                .put("status", "ACTIVE")
+                .toString();
+        assertThat(statements(put("/api/users/" + id).contentType(MediaType.APPLICATION_JSON).content(update),
+                status().isOk())).isEqualTo(2);
+
+        // Not a member of any group, so nothing blocks the delete
+        assertThat(statements(delete("/api/users/" + id), status().isNoContent())).isEqualTo(3);
+    }
+}
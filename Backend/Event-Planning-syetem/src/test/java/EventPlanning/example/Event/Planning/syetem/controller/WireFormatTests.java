@@ -0,0 +1,90 @@
+package EventPlanning.example.Event.Planning.syetem.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Accept-based negotiation of the binary encodings on the list endpoints: the documents are
+ * the same as the JSON ones, and JSON stays the default. Single entities are JSON only.
+ */
+class WireFormatTests extends QueryCountTestSupport {
+
+    private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    @Test
+    void eventPageIsAvailableAsCborAndSmile() throws Exception {
+        String eventType = unique("Meetup");
+        createEvent(eventType, List.of(createGroup(3)), createUsers(2));
+        String expand = "invitedGroups.groupMembers,invitedUsers";
+
+        JsonNode json = readJson(mockMvc.perform(get("/api/events").param("eventType", eventType)
+                .param("expand", expand)).andExpect(status().isOk()).andReturn());
+        MvcResult cbor = mockMvc.perform(get("/api/events").param("eventType", eventType).param("expand", expand)
+                .accept(CBOR)).andExpect(status().isOk()).andReturn();
+        MvcResult smile = mockMvc.perform(get("/api/events").param("eventType", eventType).param("expand", expand)
+                .accept(SMILE)).andExpect(status().isOk()).andReturn();
+
+        assertThat(cbor.getResponse().getContentType()).isEqualTo(CBOR.toString());
+        assertThat(decode(new CBORMapper(), cbor)).isEqualTo(json);
+        assertThat(smile.getResponse().getContentType()).isEqualTo(SMILE.toString());
+        assertThat(decode(new SmileMapper(), smile)).isEqualTo(json);
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        createUsers(1);
+
+        MvcResult result = mockMvc.perform(get("/api/users").accept(MediaType.ALL))
+                .andExpect(status().isOk()).andReturn();
+
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.APPLICATION_JSON_VALUE);
+        assertThat(result.getResponse().getHeaders(HttpHeaders.VARY)).contains(HttpHeaders.ACCEPT);
+    }
+
+    @Test
+    void listTagsAreWeakAndRevalidateAcrossEncodings() throws Exception {
+        createGroup(2);
+
+        String eTag = mockMvc.perform(get("/api/groups")).andExpect(status().isOk()).andReturn()
+                .getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertThat(eTag).startsWith("W/\"");
+        mockMvc.perform(get("/api/groups").accept(CBOR).header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void singleEntitiesAreOnlyJsonWithStrongTags() throws Exception {
+        JsonNode group = createGroup(1);
+        JsonNode event = createEvent(unique("Meetup"), List.of(group), List.of());
+        String userId = createUsers(1).get(0);
+
+        for (String path : List.of("/api/events/" + event.get("id").asLong(),
+                "/api/groups/" + group.get("id").asLong(), "/api/users/" + userId(userId))) {
+            mockMvc.perform(get(path).accept(CBOR)).andExpect(status().isNotAcceptable());
+            mockMvc.perform(get(path).accept(SMILE)).andExpect(status().isNotAcceptable());
+            MvcResult result = mockMvc.perform(get(path).accept(CBOR, MediaType.parseMediaType("application/json;q=0.5")))
+                    .andExpect(status().isOk()).andReturn();
+
+            assertThat(result.getResponse().getContentType()).as(path).startsWith(MediaType.APPLICATION_JSON_VALUE);
+            assertThat(result.getResponse().getHeader(HttpHeaders.ETAG)).as(path).startsWith("\"");
+        }
+    }
+
+    private static JsonNode decode(ObjectMapper mapper, MvcResult result) throws Exception {
+        return mapper.readTree(result.getResponse().getContentAsByteArray());
+    }
+}
@@ -0,0 +1,86 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The whole application with {@link ReplicaDataSourceConfig} enabled. Both pools point at the
+ * same database (its own, so the other test contexts keep theirs), and the connections each
+ * pool hands out show where a request was routed.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:eventplanningsys-replica-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.jdbc-url=jdbc:h2:mem:eventplanningsys-replica-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password="})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaDataSourceConfigTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readsGoToTheReplica() throws Exception {
+        double replica = acquisitions("replica");
+
+        mockMvc.perform(get("/api/groups")).andExpect(status().is2xxSuccessful());
+
+        assertThat(acquisitions("replica")).isGreaterThan(replica);
+    }
+
+    @Test
+    void readsWithTheCookieOfAWriteStickToThePrimary() throws Exception {
+        Cookie cookie = createUser().getResponse().getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertThat(cookie).isNotNull();
+        double replica = acquisitions("replica");
+        double primary = acquisitions("primary");
+
+        mockMvc.perform(get("/api/groups").cookie(cookie)).andExpect(status().is2xxSuccessful());
+
+        assertThat(acquisitions("replica")).isEqualTo(replica);
+        assertThat(acquisitions("primary")).isGreaterThan(primary);
+    }
+
+    @Test
+    void frontendMayCarryTheCookie() throws Exception {
+        mockMvc.perform(options("/api/users")
+                        .header(HttpHeaders.ORIGIN, "http://localhost:3000")
+                        .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "POST"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true"));
+    }
+
+    private MvcResult createUser() throws Exception {
+        String userId = "replica-" + System.nanoTime();
+        String body = "{\"userId\":\"" + userId + "\",\"userName\":\"Replica\",\"email\":\"" + userId
+                + "@example.com\",\"role\":\"MEMBER\",\"status\":\"ACTIVE\"}";
+        return mockMvc.perform(post("/api/users").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated()).andReturn();
+    }
+
+    private double acquisitions(String pool) {
+        Timer timer = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool).timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,106 @@
+package EventPlanning.example.Event.Planning.syetem.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing between two embedded H2 databases standing in for the primary and the replica; each
+ * has a one-row table naming it, so a query shows where it ran.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final Duration WINDOW = Duration.ofSeconds(5);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readWrite;
+    private TransactionTemplate readOnly;
+
+    @BeforeEach
+    void setUp() {
+        DataSource primary = database("primary");
+        DataSource replica = database("replica");
+        DataSource dataSource = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, WINDOW));
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        ReadYourWrites.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadYourWrites.clear();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        String node = readWrite.execute(status -> node());
+        assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    void readsOutsideTransactionsGoToThePrimary() {
+        assertThat(node()).isEqualTo("primary");
+    }
+
+    @Test
+    void readsAfterAWriteStickToThePrimary() {
+        readWrite.executeWithoutResult(status ->
+                jdbcTemplate.update("UPDATE node SET writes = writes + 1"));
+
+        assertThat(ReadYourWrites.isStuckToPrimary()).isTrue();
+        assertThat(readOnlyNode()).isEqualTo("primary");
+        Integer writes = readOnly.execute(status -> jdbcTemplate.queryForObject("SELECT writes FROM node", Integer.class));
+        assertThat(writes).isEqualTo(1);
+    }
+
+    @Test
+    void readsReturnToTheReplicaOnceTheWindowCloses() {
+        ReadYourWrites.stickToPrimaryUntil(System.currentTimeMillis() - 1);
+
+        assertThat(readOnlyNode()).isEqualTo("replica");
+    }
+
+    @Test
+    void windowFromAnotherRequestSticksReadsToThePrimary() {
+        ReadYourWrites.stickToPrimaryFor(WINDOW);
+
+        assertThat(readOnlyNode()).isEqualTo("primary");
+    }
+
+    private String readOnlyNode() {
+        return readOnly.execute(status -> node());
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(16), writes INT)");
+        jdbcTemplate.update("INSERT INTO node VALUES (?, 0)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,139 @@
+package EventPlanning.example.Event.Planning.syetem.model;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class GeoGridTests {
+
+    @Test
+    void cellsAreNumberedRowMajorFromTheSouthWest() {
+        assertThat(GeoGrid.cellOf(-90, -180)).isZero();
+        assertThat(GeoGrid.cellOf(-89.99, -179.99)).isZero();
+        assertThat(GeoGrid.cellOf(-89.99, -179.94)).isEqualTo(1);
+        assertThat(GeoGrid.cellOf(-89.94, -179.99)).isEqualTo(GeoGrid.COLUMNS);
+        assertThat(GeoGrid.cellOf(0.01, 0.01)).isEqualTo(1800L * GeoGrid.COLUMNS + 3600);
+        assertThat(GeoGrid.cellOf(-0.01, -0.01)).isEqualTo(1799L * GeoGrid.COLUMNS + 3599);
+    }
+
+    @Test
+    void edgesOfTheGridStayInsideIt() {
+        // The north pole shares the top row, and 180 is the same meridian as -180
+        assertThat(GeoGrid.cellOf(90, 0)).isEqualTo(GeoGrid.cellOf(89.99, 0));
+        assertThat(GeoGrid.cellOf(10, 180)).isEqualTo(GeoGrid.cellOf(10, -180));
+        assertThat(GeoGrid.cellOf(90, 179.99)).isEqualTo((long) GeoGrid.ROWS * GeoGrid.COLUMNS - 1);
+    }
+
+    @Test
+    void sqlFormulaMatchesCellOf() {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new DriverManagerDataSource(
+                "jdbc:h2:mem:geo-grid;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", ""));
+        double[][] points = {{-90, -180}, {90, 180}, {6.9271, 79.8612}, {-33.8688, 151.2093}, {51.5074, -0.1278},
+                {0, 0}, {-0.01, -0.01}, {89.99, 179.99}};
+        for (double[] point : points) {
+            Long cell = jdbcTemplate.queryForObject("SELECT " + GeoGrid.CELL_SQL
+                    + " FROM (SELECT CAST(? AS DOUBLE) AS latitude, CAST(? AS DOUBLE) AS longitude) p",
+                    Long.class, point[0], point[1]);
+            assertThat(cell).as("%s, %s", point[0], point[1]).isEqualTo(GeoGrid.cellOf(point[0], point[1]));
+        }
+    }
+
+    @Test
+    void eventsWithoutCoordinatesHaveNoCell() {
+        Event located = new Event();
+        located.setVenue(new Venue("Town hall", 6.9271, 79.8612));
+        Event unlocated = new Event();
+        unlocated.setVenue(new Venue("Town hall", 0, 0));
+        Event venueless = new Event();
+
+        located.updateDerivedColumns();
+        unlocated.updateDerivedColumns();
+        venueless.updateDerivedColumns();
+
+        assertThat(located.getGeoCell()).isEqualTo(GeoGrid.cellOf(6.9271, 79.8612));
+        assertThat(unlocated.getGeoCell()).isNull();
+        assertThat(unlocated.getVenue().getVenueKey()).isEqualTo("addr:town hall");
+        assertThat(venueless.getGeoCell()).isNull();
+    }
+
+    @Test
+    void haversineMatchesKnownDistances() {
+        assertThat(GeoGrid.haversineKm(0, 0, 0, 1)).isCloseTo(111.195, within(0.01));
+        assertThat(GeoGrid.haversineKm(10, 20, 10, 20)).isZero();
+        assertThat(GeoGrid.haversineKm(0, 179.5, 0, -179.5)).isCloseTo(111.195, within(0.01));
+        // London to Paris
+        assertThat(GeoGrid.haversineKm(51.5074, -0.1278, 48.8566, 2.3522)).isCloseTo(343.5, within(1.0));
+    }
+
+    @Test
+    void rangesCoverEveryPointWithinTheRadius() {
+        Random random = new Random(42);
+        double[][] centres = {{6.9271, 79.8612}, {0, 0}, {-45, 170}, {10, 179.99}, {10, -179.99}, {89.9, 0},
+                {-89.9, 45}, {60, 0.02}};
+        for (double[] centre : centres) {
+            for (double radiusKm : new double[]{0.5, 5, 50, 100}) {
+                List<long[]> ranges = GeoGrid.cellRanges(centre[0], centre[1], radiusKm);
+                for (int i = 0; i < 500; i++) {
+                    double[] point = destination(centre[0], centre[1], random.nextDouble() * 360,
+                            radiusKm * Math.sqrt(random.nextDouble()));
+                    assertThat(GeoGrid.haversineKm(centre[0], centre[1], point[0], point[1]))
+                            .isLessThanOrEqualTo(radiusKm + 1e-6);
+                    assertThat(covered(ranges, GeoGrid.cellOf(point[0], point[1])))
+                            .as("%s, %s within %s km of %s, %s", point[0], point[1], radiusKm, centre[0], centre[1])
+                            .isTrue();
+                    // The latitude bounding box applied with the ranges must not drop it either
+                    assertThat(Math.abs(point[0] - centre[0])).isLessThanOrEqualTo(GeoGrid.latitudeDegrees(radiusKm));
+                }
+            }
+        }
+    }
+
+    @Test
+    void rangesWrapAcrossTheAntimeridian() {
+        List<long[]> ranges = GeoGrid.cellRanges(0, 179.99, 10);
+
+        assertThat(covered(ranges, GeoGrid.cellOf(0, -179.95))).isTrue();
+        assertThat(covered(ranges, GeoGrid.cellOf(0, 179.9))).isTrue();
+        assertThat(covered(ranges, GeoGrid.cellOf(0, 0))).isFalse();
+        assertThat(covered(ranges, GeoGrid.cellOf(0, 178))).isFalse();
+    }
+
+    @Test
+    void rangesSpanEveryLongitudeAtThePole() {
+        List<long[]> ranges = GeoGrid.cellRanges(89.99, 0, 50);
+
+        assertThat(ranges).allSatisfy(range -> assertThat(range[1] - range[0]).isEqualTo(GeoGrid.COLUMNS - 1));
+        assertThat(covered(ranges, GeoGrid.cellOf(89.9, 180))).isTrue();
+    }
+
+    @Test
+    void rangesLeaveOutFarCells() {
+        List<long[]> ranges = GeoGrid.cellRanges(6.9271, 79.8612, 5);
+
+        assertThat(covered(ranges, GeoGrid.cellOf(6.9271, 79.8612))).isTrue();
+        assertThat(covered(ranges, GeoGrid.cellOf(7.5, 79.8612))).isFalse();
+        assertThat(covered(ranges, GeoGrid.cellOf(6.9271, 80.5))).isFalse();
+    }
+
+    private static boolean covered(List<long[]> ranges, long cell) {
+        return ranges.stream().anyMatch(range -> cell >= range[0] && cell <= range[1]);
+    }
+
+    // The point reached from (lat, lng) going distanceKm along a great circle at the given bearing
+    private static double[] destination(double lat, double lng, double bearingDegrees, double distanceKm) {
+        double phi = Math.toRadians(lat);
+        double theta = Math.toRadians(bearingDegrees);
+        double delta = distanceKm / GeoGrid.EARTH_RADIUS_KM;
+        double phi2 = Math.asin(Math.sin(phi) * Math.cos(delta) + Math.cos(phi) * Math.sin(delta) * Math.cos(theta));
+        double lambda2 = Math.toRadians(lng) + Math.atan2(Math.sin(theta) * Math.sin(delta) * Math.cos(phi),
+                Math.cos(delta) - Math.sin(phi) * Math.sin(phi2));
+        double lng2 = (Math.toDegrees(lambda2) + 540) % 360 - 180;
+        return new double[]{Math.toDegrees(phi2), lng2};
+    }
+}
@@ -0,0 +1,202 @@
+package EventPlanning.example.Event.Planning.syetem.notification;
+
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.model.Group;
+import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.model.Venue;
+import EventPlanning.example.Event.Planning.syetem.service.BulkImportService;
+import EventPlanning.example.Event.Planning.syetem.service.EventService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Outbox entries written by event changes and their delivery through the in-memory sender.
+ * Runs against its own H2 database and calls the dispatcher directly.
+ */
+@SpringBootTest(properties = "spring.datasource.url="
+        + "jdbc:h2:mem:notifications-test;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("test")
+class NotificationDispatcherTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+
+    @Autowired
+    private InMemoryNotificationSender sender;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void clearSender() {
+        sender.clear();
+    }
+
+    @Test
+    void invitationAndReminderReachEveryInviteeOnce() {
+        List<String> members = createUsers(30);
+        String groupCode = createGroup(members);
+        // One direct invitee is also a group member
+        List<String> direct = List.of(members.get(0), createUsers(1).get(0));
+        Event event = createEvent(LocalDateTime.now().plusHours(2), List.of(groupCode), direct);
+
+        dispatcher.dispatchDue();
+
+        List<String> expected = new ArrayList<>(members);
+        expected.add(direct.get(1));
+        assertThat(recipients(event, NotificationKind.INVITATION)).containsExactlyInAnyOrderElementsOf(expected);
+        // Starts within the reminder lead, so the reminder is due at once
+        assertThat(recipients(event, NotificationKind.REMINDER)).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(statuses(event.getId())).containsOnly(NotificationOutboxService.SENT);
+    }
+
+    @Test
+    void failedSendsAreRetried() {
+        List<String> members = createUsers(10);
+        Event event = createEvent(LocalDateTime.now().plusDays(3), List.of(createGroup(members)), List.of());
+        sender.failNext(3);
+
+        dispatcher.dispatchDue();
+
+        assertThat(recipients(event, NotificationKind.INVITATION)).containsExactlyInAnyOrderElementsOf(members);
+    }
+
+    @Test
+    void reminderFollowsTheEvent() {
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.MINUTES);
+        Event event = createEvent(start, List.of(createGroup(createUsers(2))), List.of());
+        assertThat(pendingReminders(event.getId())).containsExactly(start.minusHours(24));
+
+        LocalDateTime moved = start.plusDays(5);
+        eventService.updateEvent(event.getId(), copy(event, moved));
+
+        assertThat(pendingReminders(event.getId())).containsExactly(moved.minusHours(24));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM notification_outbox " +
+                "WHERE event_id = ? AND kind = 'UPDATE' AND status = 'PENDING'", Integer.class, event.getId()))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void deletedEventsAreNotAnnounced() {
+        Event event = createEvent(LocalDateTime.now().plusDays(3), List.of(createGroup(createUsers(3))), List.of());
+        eventService.deleteEvent(event.getId());
+
+        dispatcher.dispatchDue();
+
+        assertThat(sender.getSent()).noneMatch(notification -> notification.getEventId().equals(event.getId()));
+        assertThat(statuses(event.getId())).containsOnly(NotificationOutboxService.CANCELLED);
+    }
+
+    @Test
+    void importedEventsAreAnnounced() throws IOException {
+        List<String> members = createUsers(5);
+        String groupCode = createGroup(members);
+        String title = "Imported event " + SEQUENCE.incrementAndGet();
+        LocalDateTime start = LocalDateTime.now().plusDays(10).truncatedTo(ChronoUnit.MINUTES);
+        String json = "[{\"eventTitle\":\"" + title + "\",\"description\":\"Imported\",\"dateTime\":\"" + start
+                + "\",\"eventType\":\"Meetup\",\"isPublic\":true,\"inviteType\":\"group\","
+                + "\"status\":\"SCHEDULED\",\"invitedGroups\":[\"" + groupCode + "\"]}]";
+
+        bulkImportService.importEvents(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                MediaType.APPLICATION_JSON_VALUE);
+        Long eventId = jdbcTemplate.queryForObject("SELECT id FROM events WHERE event_title = ?", Long.class, title);
+        assertThat(pendingReminders(eventId)).containsExactly(start.minusHours(24));
+
+        dispatcher.dispatchDue();
+
+        assertThat(sender.getSent().stream()
+                .filter(notification -> notification.getEventId().equals(eventId)
+                        && notification.getKind() == NotificationKind.INVITATION)
+                .map(Notification::getRecipientUserId))
+                .containsExactlyInAnyOrderElementsOf(members);
+    }
+
+    private List<String> recipients(Event event, NotificationKind kind) {
+        return sender.getSent().stream()
+                .filter(notification -> notification.getEventId().equals(event.getId())
+                        && notification.getKind() == kind)
+                .map(Notification::getRecipientUserId)
+                .collect(Collectors.toList());
+    }
+
+    private List<String> statuses(Long eventId) {
+        return jdbcTemplate.queryForList("SELECT status FROM notification_outbox WHERE event_id = ?",
+                String.class, eventId);
+    }
+
+    private List<LocalDateTime> pendingReminders(Long eventId) {
+        return jdbcTemplate.queryForList("SELECT due_at FROM notification_outbox " +
+                "WHERE event_id = ? AND kind = 'REMINDER' AND status = 'PENDING'", LocalDateTime.class, eventId);
+    }
+
+    private List<String> createUsers(int count) {
+        List<String> userIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String userId = "user-" + SEQUENCE.incrementAndGet();
+            jdbcTemplate.update("INSERT INTO users (user_id, user_name, email, role, status, version) " +
+                    "VALUES (?, ?, ?, 'MEMBER', 'ACTIVE', 0)", userId, "User " + userId, userId + "@example.com");
+            userIds.add(userId);
+        }
+        return userIds;
+    }
+
+    private String createGroup(List<String> userIds) {
+        String groupCode = "group-" + SEQUENCE.incrementAndGet();
+        jdbcTemplate.update("INSERT INTO `groups` (group_name, group_code, status, group_type, version) " +
+                "VALUES ('Group', ?, 'ACTIVE', 'TEAM', 0)", groupCode);
+        for (String userId : userIds) {
+            jdbcTemplate.update("INSERT INTO group_members (group_id, user_id) " +
+                    "SELECT g.id, u.id FROM `groups` g, users u WHERE g.group_code = ? AND u.user_id = ?",
+                    groupCode, userId);
+        }
+        return groupCode;
+    }
+
+    private Event createEvent(LocalDateTime start, List<String> groupCodes, List<String> userIds) {
+        Event event = new Event("Event " + SEQUENCE.incrementAndGet(), "Notification test event", start,
+                new Venue("Venue " + SEQUENCE.incrementAndGet(), 6.9271, 79.8612), "Meetup", true, "group",
+                groupCodes.stream().map(code -> {
+                    Group group = new Group();
+                    group.setGroupCode(code);
+                    return group;
+                }).collect(Collectors.toList()),
+                userIds.stream().map(userId -> {
+                    User user = new User();
+                    user.setUserId(userId);
+                    return user;
+                }).collect(Collectors.toList()),
+                "SCHEDULED");
+        return eventService.createEvent(event);
+    }
+
+    // Same event at another time; invitees are left as they are
+    private static Event copy(Event event, LocalDateTime start) {
+        return new Event(event.getEventTitle(), event.getDescription(), start, event.getVenue(),
+                event.getEventType(), event.getIsPublic(), event.getInviteType(), null, null, event.getStatus());
+    }
+}
@@ -0,0 +1,79 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BloomFilterTests {
+
+    @Test
+    void addedValuesAreAlwaysFound() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i);
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("user-" + i)).isTrue();
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add("user-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        // 1% expected; twice that leaves room for the hash without letting a broken one pass
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(0, 0.01);
+
+        assertThat(filter.mightContain("")).isFalse();
+        assertThat(filter.mightContain("user-1")).isFalse();
+    }
+
+    @Test
+    void concurrentAddsAreNotLost() throws Exception {
+        BloomFilter filter = new BloomFilter(80_000, 0.01);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < 10_000; i++) {
+                        filter.add(thread + ":" + i);
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int t = 0; t < 8; t++) {
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(filter.mightContain(t + ":" + i)).isTrue();
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.dto.BulkImportResult;
+import EventPlanning.example.Event.Planning.syetem.model.Event;
+import EventPlanning.example.Event.Planning.syetem.repository.EventRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Events written by {@link BulkImportService} must load through the repository like events
+ * created one at a time.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class BulkImportServiceTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(40).withNano(0);
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void importedVenueReadsBack() throws IOException {
+        String title = title();
+        BulkImportResult result = importEvents("[" + event(title, ",\"address\":\"" + title
+                + "\",\"latitude\":6.9271,\"longitude\":79.8612") + "]");
+
+        assertThat(result.getImported()).isEqualTo(1);
+        Event event = eventRepository.findById(idOf(title)).orElseThrow();
+        assertThat(event.getVenue().getAddress()).isEqualTo(title);
+        assertThat(event.getVenue().getLatitude()).isEqualTo(6.9271);
+        assertThat(event.getVenue().getLongitude()).isEqualTo(79.8612);
+        assertThat(event.getGeoCell()).isNotNull();
+    }
+
+    @Test
+    void eventWithoutAVenueReadsBack() throws IOException {
+        String title = title();
+
+        assertThat(importEvents("[" + event(title, "") + "]").getImported()).isEqualTo(1);
+        Event event = eventRepository.findById(idOf(title)).orElseThrow();
+        assertThat(event.getVenue()).isNull();
+        assertThat(event.getGeoCell()).isNull();
+    }
+
+    @Test
+    void venueWithoutCoordinatesIsRejected() throws IOException {
+        String addressOnly = title();
+        String keyOnly = title();
+
+        BulkImportResult result = importEvents("[" + event(addressOnly, ",\"address\":\"" + addressOnly + "\"")
+                + "," + event(keyOnly, ",\"venueKey\":\"" + keyOnly + "\"") + "]");
+
+        assertThat(result.getImported()).isZero();
+        assertThat(result.getErrors()).extracting("row", "message").containsExactly(
+                tuple(1L, "latitude and longitude are required with a venue"),
+                tuple(2L, "latitude and longitude are required with a venue"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events WHERE event_title IN (?, ?)",
+                Integer.class, addressOnly, keyOnly)).isZero();
+    }
+
+    private BulkImportResult importEvents(String json) throws IOException {
+        return bulkImportService.importEvents(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)),
+                MediaType.APPLICATION_JSON_VALUE);
+    }
+
+    private long idOf(String title) {
+        return jdbcTemplate.queryForObject("SELECT id FROM events WHERE event_title = ?", Long.class, title);
+    }
+
+    private static String title() {
+        return "Import test event " + SEQUENCE.incrementAndGet() + " " + System.nanoTime();
+    }
+
+    // An hour-long public meetup with no invitees; venue holds the extra venue fields, if any
+    private static String event(String title, String venue) {
+        return "{\"eventTitle\":\"" + title + "\",\"description\":\"Import test\",\"dateTime\":\"" + START
+                + "\",\"eventType\":\"Meetup\",\"isPublic\":true,\"inviteType\":\"group\",\"status\":\"SCHEDULED\""
+                + venue + "}";
+    }
+}
@@ -0,0 +1,143 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+class BulkRecordReaderTests {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void readsCsvRecordsByHeader() throws IOException {
+        List<Map<String, Object>> records = readCsv("userId,userName,email\r\n"
+                + "ann,Ann,ann@example.com\r\n"
+                + "bob,Bob,bob@example.com\r\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly(entry("userId", "ann"), entry("userName", "Ann"),
+                entry("email", "ann@example.com"));
+        assertThat(records.get(1)).containsEntry("email", "bob@example.com");
+    }
+
+    @Test
+    void quotedCsvFieldsKeepSeparatorsQuotesAndLineBreaks() throws IOException {
+        List<Map<String, Object>> records = readCsv("userId,userName\n"
+                + "ann,\"Smith, Ann\"\n"
+                + "bob,\"Bob \"\"The Builder\"\"\"\n"
+                + "cid,\"Cid\r\nSecond line\"\n");
+
+        assertThat(records).extracting(record -> record.get("userName"))
+                .containsExactly("Smith, Ann", "Bob \"The Builder\"", "Cid\r\nSecond line");
+    }
+
+    @Test
+    void quotedFieldMayEndTheInput() throws IOException {
+        assertThat(readCsv("userId,userName\nann,\"Ann\"")).containsExactly(Map.of("userId", "ann", "userName", "Ann"));
+    }
+
+    @Test
+    void emptyCsvValuesAreNullAndBlankLinesAreSkipped() throws IOException {
+        List<Map<String, Object>> records = readCsv("userId,userName,email\n\nann,,ann@example.com\n\n");
+
+        assertThat(records).hasSize(1);
+        assertThat(records.get(0)).containsEntry("userName", null);
+    }
+
+    @Test
+    void listColumnsAreSplitAndTrimmed() throws IOException {
+        List<Map<String, Object>> records = readCsv("groupCode,groupMembers\n"
+                + "team,\"ann; bob ;;cid\"\n", Set.of("groupMembers"));
+
+        assertThat(records.get(0)).containsEntry("groupMembers", List.of("ann", "bob", "cid"));
+    }
+
+    @Test
+    void csvRowWithWrongColumnCountIsRejected() throws IOException {
+        try (BulkRecordReader reader = csv("userId,userName\nann,Ann\nbob,Bob,extra\n", Set.of())) {
+            assertThat(reader.next()).containsEntry("userId", "ann");
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Expected 2 columns but found 3");
+        }
+    }
+
+    @Test
+    void separatorInsideQuotesDoesNotCountAsAColumn() throws IOException {
+        assertThatThrownBy(() -> readCsv("userId,userName\n\"ann,Ann\"\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Expected 2 columns but found 1");
+    }
+
+    @Test
+    void unterminatedQuoteIsRejected() {
+        assertThatThrownBy(() -> readCsv("userId,userName\nann,\"Ann\n"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Unterminated quoted field");
+    }
+
+    @Test
+    void emptyCsvHasNoRecords() throws IOException {
+        assertThat(readCsv("")).isEmpty();
+        assertThat(readCsv("userId,userName\n")).isEmpty();
+    }
+
+    @Test
+    void readsJsonArrayOfObjects() throws IOException {
+        String json = "[{\"userId\":\"ann\",\"groups\":[\"a\",\"b\"]},{\"userId\":\"bob\"}]";
+        try (BulkRecordReader reader = BulkRecordReader.open(stream(json), MediaType.APPLICATION_JSON,
+                objectMapper, Set.of())) {
+            assertThat(reader.next()).containsEntry("groups", List.of("a", "b"));
+            assertThat(reader.next()).containsEntry("userId", "bob");
+            assertThat(reader.next()).isNull();
+        }
+    }
+
+    @Test
+    void jsonMustBeAnArrayOfObjects() throws IOException {
+        try (BulkRecordReader reader = BulkRecordReader.open(stream("{\"userId\":\"ann\"}"), null,
+                objectMapper, Set.of())) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessage("Expected a JSON array of objects");
+        }
+        try (BulkRecordReader reader = BulkRecordReader.open(stream("[\"ann\"]"), MediaType.APPLICATION_JSON,
+                objectMapper, Set.of())) {
+            assertThatThrownBy(reader::next).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Expected a JSON object");
+        }
+    }
+
+    private List<Map<String, Object>> readCsv(String csv) throws IOException {
+        return readCsv(csv, Set.of());
+    }
+
+    private List<Map<String, Object>> readCsv(String csv, Set<String> listColumns) throws IOException {
+        List<Map<String, Object>> records = new ArrayList<>();
+        try (BulkRecordReader reader = csv(csv, listColumns)) {
+            Map<String, Object> record;
+            while ((record = reader.next()) != null) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+
+    private BulkRecordReader csv(String csv, Set<String> listColumns) throws IOException {
+        return BulkRecordReader.open(stream(csv), BulkRecordReader.TEXT_CSV, objectMapper, listColumns);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
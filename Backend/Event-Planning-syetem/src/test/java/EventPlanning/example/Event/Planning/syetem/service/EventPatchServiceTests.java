@@ -0,0 +1,214 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Merge-patch semantics of {@link EventPatchService} against the test database: what null
+ * removes or rejects, and how invitee arrays and deltas change the join tables.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventPatchServiceTests {
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+    private static final LocalDateTime START = LocalDateTime.now().plusDays(30).withNano(0);
+
+    @Autowired
+    private EventPatchService eventPatchService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void nullRemovesOptionalFieldsOnly() throws Exception {
+        long id = createEvent();
+
+        assertThat(patch(id, "{\"endDateTime\":null,\"venue\":{\"address\":null}}")).isTrue();
+
+        Map<String, Object> row = row(id);
+        // A removed end falls back to the default duration, a removed address to a key from the location
+        assertThat(row.get("end_date_time")).isEqualTo(Timestamp.valueOf(START.plusHours(1)));
+        assertThat(row.get("address")).isNull();
+        assertThat((String) row.get("venue_key")).startsWith("geo:");
+        assertThat(row.get("version")).isEqualTo(1L);
+    }
+
+    @Test
+    void nullCannotRemoveRequiredFields() {
+        long id = createEvent();
+
+        assertThatThrownBy(() -> patch(id, "{\"dateTime\":null}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("dateTime cannot be removed");
+        assertThatThrownBy(() -> patch(id, "{\"eventTitle\":null}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("eventTitle must be a non-empty string");
+        assertThatThrownBy(() -> patch(id, "{\"invitedUsers\":null}"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invitees must be an array or an {add, remove} object");
+        assertThatThrownBy(() -> patch(id, "{\"venue\":{\"latitude\":null}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(row(id).get("version")).isEqualTo(0L);
+    }
+
+    @Test
+    void absentFieldsAreLeftAlone() throws Exception {
+        long id = createEvent();
+        Map<String, Object> before = row(id);
+
+        assertThat(patch(id, "{\"description\":\"Moved upstairs\"}")).isTrue();
+
+        Map<String, Object> after = row(id);
+        assertThat(after.get("description")).isEqualTo("Moved upstairs");
+        assertThat(after).containsEntry("event_title", before.get("event_title"))
+                .containsEntry("address", before.get("address"))
+                .containsEntry("date_time", before.get("date_time"));
+    }
+
+    @Test
+    void movingTheStartKeepsTheDuration() throws Exception {
+        long id = createEvent();
+        LocalDateTime moved = START.plusDays(1);
+
+        patch(id, "{\"dateTime\":\"" + moved + "\"}");
+
+        assertThat(row(id).get("end_date_time")).isEqualTo(Timestamp.valueOf(moved.plusHours(2)));
+    }
+
+    @Test
+    void inviteeArrayReplacesTheInvitees() throws Exception {
+        List<String> users = createUsers(3);
+        long id = createEvent();
+        patch(id, "{\"invitedUsers\":[\"" + users.get(0) + "\",{\"userId\":\"" + users.get(1) + "\"}]}");
+        assertThat(invitedUsers(id)).containsExactlyInAnyOrder(users.get(0), users.get(1));
+
+        assertThat(patch(id, "{\"invitedUsers\":[\"" + users.get(1) + "\",\"" + users.get(2) + "\"]}")).isTrue();
+
+        assertThat(invitedUsers(id)).containsExactlyInAnyOrder(users.get(1), users.get(2));
+        assertThat(invitees(id)).containsExactlyInAnyOrder(users.get(1), users.get(2));
+        assertThat(row(id).get("version")).isEqualTo(2L);
+    }
+
+    @Test
+    void inviteeDeltaAddsAndRemoves() throws Exception {
+        List<String> users = createUsers(3);
+        long id = createEvent();
+        patch(id, "{\"invitedUsers\":[\"" + users.get(0) + "\",\"" + users.get(1) + "\"]}");
+
+        assertThat(patch(id, "{\"invitedUsers\":{\"add\":[\"" + users.get(2) + "\"],\"remove\":[\""
+                + users.get(0) + "\"]}}")).isTrue();
+
+        assertThat(invitedUsers(id)).containsExactlyInAnyOrder(users.get(1), users.get(2));
+        assertThat(invitees(id)).containsExactlyInAnyOrder(users.get(1), users.get(2));
+    }
+
+    @Test
+    void inviteeChangeThatChangesNothingWritesNothing() throws Exception {
+        List<String> users = createUsers(2);
+        long id = createEvent();
+        patch(id, "{\"invitedUsers\":[\"" + users.get(0) + "\"]}");
+
+        assertThat(patch(id, "{\"invitedUsers\":[\"" + users.get(0) + "\"]}")).isFalse();
+        assertThat(patch(id, "{\"invitedUsers\":{\"add\":[\"" + users.get(0) + "\"],\"remove\":[\""
+                + users.get(1) + "\"]}}")).isFalse();
+        assertThat(patch(id, "{\"invitedUsers\":{\"add\":null}}")).isFalse();
+
+        assertThat(row(id).get("version")).isEqualTo(1L);
+    }
+
+    @Test
+    void groupInviteesReachEveryMember() throws Exception {
+        List<String> members = createUsers(2);
+        String groupCode = createGroup(members);
+        long id = createEvent();
+
+        patch(id, "{\"invitedGroups\":[{\"groupCode\":\"" + groupCode + "\"}]}");
+        assertThat(invitees(id)).containsExactlyInAnyOrderElementsOf(members);
+
+        patch(id, "{\"invitedGroups\":{\"remove\":[\"" + groupCode + "\"]}}");
+        assertThat(invitees(id)).isEmpty();
+    }
+
+    @Test
+    void unknownInviteesAreRejectedWithoutChanges() {
+        List<String> users = createUsers(1);
+        long id = createEvent();
+
+        assertThatThrownBy(() -> patch(id, "{\"invitedUsers\":[\"" + users.get(0) + "\",\"nobody-at-all\"]}"))
+                .isInstanceOf(IllegalArgumentException.class).hasMessage("Unknown userId: nobody-at-all");
+        assertThatThrownBy(() -> patch(id, "{\"invitedUsers\":{\"replace\":[]}}"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(invitedUsers(id)).isEmpty();
+    }
+
+    private boolean patch(long id, String json) throws Exception {
+        JsonNode patch = objectMapper.readTree(json);
+        return eventPatchService.patchEvent(id, patch, null);
+    }
+
+    // Two hours at a venue of its own, no invitees
+    private long createEvent() {
+        int n = SEQUENCE.incrementAndGet();
+        String title = "Patch test event " + n + " " + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO events (event_title, description, date_time, end_date_time, address, "
+                        + "latitude, longitude, venue_key, event_type, is_public, invite_type, status, version) "
+                        + "VALUES (?, 'Patch test', ?, ?, ?, ?, ?, ?, 'Meetup', TRUE, 'group', 'SCHEDULED', 0)",
+                title, START, START.plusHours(2), title, -60 + n * 0.01, -120 + n * 0.01,
+                "addr:" + title.toLowerCase());
+        return jdbcTemplate.queryForObject("SELECT id FROM events WHERE event_title = ?", Long.class, title);
+    }
+
+    private List<String> createUsers(int count) {
+        List<String> userIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String userId = "patch-user-" + SEQUENCE.incrementAndGet() + "-" + System.nanoTime();
+            jdbcTemplate.update("INSERT INTO users (user_id, user_name, email, role, status, version) "
+                    + "VALUES (?, ?, ?, 'MEMBER', 'ACTIVE', 0)", userId, "User " + userId, userId + "@example.com");
+            userIds.add(userId);
+        }
+        return userIds;
+    }
+
+    private String createGroup(List<String> members) {
+        String groupCode = "patch-group-" + SEQUENCE.incrementAndGet() + "-" + System.nanoTime();
+        jdbcTemplate.update("INSERT INTO `groups` (group_name, group_code, status, group_type, version) "
+                + "VALUES ('Group', ?, 'ACTIVE', 'TEAM', 0)", groupCode);
+        for (String member : members) {
+            jdbcTemplate.update("INSERT INTO group_members (group_id, user_id) "
+                    + "SELECT g.id, u.id FROM `groups` g, users u WHERE g.group_code = ? AND u.user_id = ?",
+                    groupCode, member);
+        }
+        return groupCode;
+    }
+
+    private Map<String, Object> row(long id) {
+        return jdbcTemplate.queryForMap("SELECT * FROM events WHERE id = ?", id);
+    }
+
+    private List<String> invitedUsers(long id) {
+        return jdbcTemplate.queryForList("SELECT u.user_id FROM event_users eu JOIN users u ON u.id = eu.user_id "
+                + "WHERE eu.event_id = ?", String.class, id);
+    }
+
+    private List<String> invitees(long id) {
+        return jdbcTemplate.queryForList("SELECT u.user_id FROM event_invitees ei JOIN users u ON u.id = ei.user_id "
+                + "WHERE ei.event_id = ?", String.class, id);
+    }
+}
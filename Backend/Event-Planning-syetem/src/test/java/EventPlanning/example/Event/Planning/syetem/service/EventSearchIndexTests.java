@@ -0,0 +1,113 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTests {
+
+    private final EventSearchIndex index = new EventSearchIndex();
+
+    @Test
+    void tokenizeFoldsCaseAndAccentsAndSplitsOnPunctuation() {
+        assertThat(EventSearchIndex.tokenize("Café-Konferenz 2030: ÉTÉ, naïve_résumé!"))
+                .containsExactly("cafe", "konferenz", "2030", "ete", "naive", "resume");
+        assertThat(EventSearchIndex.tokenize("  --  ")).isEmpty();
+        assertThat(EventSearchIndex.tokenize(null)).isEmpty();
+    }
+
+    @Test
+    void everyQueryTokenMustMatch() {
+        index.index(1L, "Quarterly planning", "All teams");
+        index.index(2L, "Team offsite", "Planning the year");
+
+        assertThat(index.search("planning", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("planning offsite", 10)).containsExactly(2L);
+        assertThat(index.search("planning launch", 10)).isEmpty();
+        assertThat(index.search("!!", 10)).isEmpty();
+    }
+
+    @Test
+    void queryTokensMatchAsPrefixes() {
+        index.index(1L, "Developer conference", null);
+
+        assertThat(index.search("conf", 10)).containsExactly(1L);
+        assertThat(index.search("DEV Conf", 10)).containsExactly(1L);
+        assertThat(index.search("conferences", 10)).isEmpty();
+    }
+
+    @Test
+    void titleAndExactMatchesRankFirst() {
+        index.index(1L, "Workshop", "Bring a laptop");
+        index.index(2L, "Laptop repair workshop", null);
+        index.index(3L, "Laptops for sale", null);
+
+        assertThat(index.search("laptop", 10)).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("laptop", 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void reindexingReplacesTheOldTerms() {
+        index.index(1L, "Charity run", null);
+        index.index(1L, "Music festival", null);
+
+        assertThat(index.search("charity", 10)).isEmpty();
+        assertThat(index.search("festival", 10)).containsExactly(1L);
+    }
+
+    @Test
+    void removedEventsLeaveNoPostingsBehind() {
+        index.index(1L, "Board review", "Budget");
+        index.index(2L, "Board games", null);
+
+        index.remove(1L);
+
+        assertThat(index.search("board", 10)).containsExactly(2L);
+        assertThat(index.search("budget", 10)).isEmpty();
+        assertThat(postings()).containsOnlyKeys("board", "games");
+
+        index.remove(2L);
+        index.remove(3L);
+        assertThat(postings()).isEmpty();
+    }
+
+    @Test
+    void changesApplyOnlyOnceTheTransactionCommits() {
+        index.index(1L, "Product launch", null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(2L, "Launch party", null);
+            index.remove(1L);
+            assertThat(index.search("launch", 10)).containsExactly(1L);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.search("launch", 10)).containsExactly(2L);
+    }
+
+    @Test
+    void rolledBackChangesAreNeverApplied() {
+        index.index(1L, "Product launch", null);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.remove(1L);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertThat(index.search("launch", 10)).containsExactly(1L);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Map<Long, Integer>> postings() {
+        return (Map<String, Map<Long, Integer>>) ReflectionTestUtils.getField(index, "postings");
+    }
+}
@@ -0,0 +1,29 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class EventServiceTests {
+
+    @Test
+    void pageSizeDefaultsWhenNoLimitIsGiven() {
+        assertThat(EventService.pageSize(null)).isEqualTo(EventService.DEFAULT_PAGE_SIZE);
+    }
+
+    @Test
+    void pageSizeCapsOversizedLimits() {
+        assertThat(EventService.pageSize(1)).isEqualTo(1);
+        assertThat(EventService.pageSize(EventService.MAX_PAGE_SIZE)).isEqualTo(EventService.MAX_PAGE_SIZE);
+        assertThat(EventService.pageSize(EventService.MAX_PAGE_SIZE + 1)).isEqualTo(EventService.MAX_PAGE_SIZE);
+        assertThat(EventService.pageSize(Integer.MAX_VALUE)).isEqualTo(EventService.MAX_PAGE_SIZE);
+    }
+
+    @Test
+    void pageSizeRejectsLimitsBelowOne() {
+        assertThatThrownBy(() -> EventService.pageSize(0)).isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("limit must be at least 1");
+        assertThatThrownBy(() -> EventService.pageSize(-5)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,108 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.service.UniquenessIndex.Key;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loading and rebuilding the filters from an embedded H2 database holding the three key columns.
+ */
+class UniquenessIndexTests {
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:uniqueness-index;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS `groups`");
+        jdbcTemplate.execute("CREATE TABLE users (user_id VARCHAR(64), email VARCHAR(128))");
+        jdbcTemplate.execute("CREATE TABLE `groups` (group_code VARCHAR(64))");
+        jdbcTemplate.update("INSERT INTO users VALUES ('José.Silva', 'jose@example.com'), ('ann', 'ann@example.com')");
+        jdbcTemplate.update("INSERT INTO `groups` VALUES ('team-1')");
+    }
+
+    @Test
+    void everyValueMayBeTakenUntilLoaded() {
+        UniquenessIndex index = index(1000);
+
+        assertThat(index.filterMaybeTaken(Key.USER_ID, List.of("nobody", "ann"))).containsExactly("nobody", "ann");
+    }
+
+    @Test
+    void loadedValuesMatchAcrossCaseAccentsAndSpaces() {
+        UniquenessIndex index = index(1000);
+        index.load();
+
+        assertThat(index.filterMaybeTaken(Key.USER_ID, List.of("jose.silva", " JOSÉ.SILVA ")))
+                .containsExactly("jose.silva", " JOSÉ.SILVA ");
+        assertThat(index.filterMaybeTaken(Key.EMAIL, List.of("Ann@Example.com"))).containsExactly("Ann@Example.com");
+        assertThat(index.filterMaybeTaken(Key.GROUP_CODE, List.of("TEAM-1"))).containsExactly("TEAM-1");
+    }
+
+    @Test
+    void mostFreeValuesAreRuledOut() {
+        UniquenessIndex index = index(1000);
+        index.load();
+
+        assertThat(index.filterMaybeTaken(Key.USER_ID, freeValues(1000))).hasSizeLessThan(50);
+    }
+
+    @Test
+    void addedValuesAreFoundBeforeTheyAreWritten() {
+        UniquenessIndex index = index(1000);
+        index.load();
+
+        index.add(Key.GROUP_CODE, "Team-2");
+
+        assertThat(index.filterMaybeTaken(Key.GROUP_CODE, List.of("team-2"))).containsExactly("team-2");
+    }
+
+    @Test
+    void outgrownFilterIsRebuiltLarger() throws Exception {
+        UniquenessIndex index = index(10);
+        index.load();
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String userId = "added-" + i;
+            added.add(userId);
+            index.add(Key.USER_ID, userId);
+            jdbcTemplate.update("INSERT INTO users VALUES (?, ?)", userId, userId + "@example.com");
+        }
+
+        // Far over capacity the small filter answers "maybe" to almost everything, until the
+        // background rebuild swaps in a larger one
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (index.filterMaybeTaken(Key.USER_ID, freeValues(1000)).size() >= 50
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+
+        assertThat(index.filterMaybeTaken(Key.USER_ID, freeValues(1000))).hasSizeLessThan(50);
+        assertThat(index.filterMaybeTaken(Key.USER_ID, added)).hasSize(added.size());
+    }
+
+    private UniquenessIndex index(long expectedInsertions) {
+        UniquenessIndex index = new UniquenessIndex(expectedInsertions);
+        ReflectionTestUtils.setField(index, "jdbcTemplate", jdbcTemplate);
+        return index;
+    }
+
+    private static List<String> freeValues(int count) {
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add("free-" + i);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,88 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.DuplicateValueException;
+import EventPlanning.example.Event.Planning.syetem.model.User;
+import EventPlanning.example.Event.Planning.syetem.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Uniqueness checks of user updates against a repository that answers like MySQL's
+ * accent- and case-insensitive collation, where "José" and "Jose" are the same value.
+ */
+@ExtendWith(MockitoExtension.class)
+class UserServiceTests {
+
+    private static final long ID = 7L;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private EventInviteeService eventInviteeService;
+
+    @Mock
+    private IdLookupCache idLookupCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private UserService userService;
+
+    @BeforeEach
+    void setUp() {
+        UniquenessIndex uniquenessIndex = new UniquenessIndex(1000);
+        ReflectionTestUtils.setField(uniquenessIndex, "userRepository", userRepository);
+        ReflectionTestUtils.setField(userService, "uniquenessIndex", uniquenessIndex);
+
+        User existing = user("José", "josé@example.com");
+        existing.setId(ID);
+        when(userRepository.findById(ID)).thenReturn(Optional.of(existing));
+        // The user's own row, as the collation sees it
+        lenient().when(userRepository.existsByUserId("Jose")).thenReturn(true);
+        lenient().when(userRepository.existsByEmail("jose@example.com")).thenReturn(true);
+    }
+
+    @Test
+    void accentOnlyChangesOfTheUsersOwnValuesAreAccepted() {
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        Optional<User> updated = userService.updateUser(ID, user("Jose", "jose@example.com"));
+
+        assertThat(updated).get().extracting(User::getUserId, User::getEmail)
+                .containsExactly("Jose", "jose@example.com");
+    }
+
+    @Test
+    void valuesOfOtherUsersAreRejected() {
+        when(userRepository.existsByUserIdAndIdNot("taken", ID)).thenReturn(true);
+
+        assertThatThrownBy(() -> userService.updateUser(ID, user("taken", "josé@example.com")))
+                .isInstanceOf(DuplicateValueException.class);
+    }
+
+    private static User user(String userId, String email) {
+        User user = new User();
+        user.setUserId(userId);
+        user.setUserName("User");
+        user.setEmail(email);
+        user.setRole("MEMBER");
+        user.setStatus("ACTIVE");
+        return user;
+    }
+}
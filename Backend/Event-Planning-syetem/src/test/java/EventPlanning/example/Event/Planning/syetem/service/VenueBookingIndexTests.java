@@ -0,0 +1,126 @@
+package EventPlanning.example.Event.Planning.syetem.service;
+
+import EventPlanning.example.Event.Planning.syetem.Exception.VenueConflictException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * The calendar on its own, outside any transaction, so every change applies immediately.
+ */
+class VenueBookingIndexTests {
+
+    private static final LocalDateTime NINE = LocalDateTime.of(2030, 1, 1, 9, 0);
+    private static final LocalDateTime TEN = NINE.plusHours(1);
+    private static final LocalDateTime ELEVEN = NINE.plusHours(2);
+
+    private final VenueBookingIndex index = new VenueBookingIndex();
+
+    @Test
+    void overlappingBookingsConflict() {
+        index.reserve(1L, "hall", NINE, ELEVEN);
+
+        assertThatThrownBy(() -> index.reserve(2L, "hall", TEN, ELEVEN.plusHours(1)))
+                .isInstanceOf(VenueConflictException.class);
+        assertThat(index.findConflicts("hall", TEN, TEN.plusMinutes(1), null)).containsExactly(1L);
+    }
+
+    @Test
+    void adjacentBookingsDoNotConflict() {
+        index.reserve(1L, "hall", NINE, TEN);
+        index.reserve(2L, "hall", TEN, ELEVEN);
+
+        assertThat(index.findConflicts("hall", NINE, ELEVEN, null)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.conflictReport()).isEmpty();
+    }
+
+    @Test
+    void longBookingsStartingEarlierAreFound() {
+        index.reserve(1L, "hall", NINE.minusDays(2), ELEVEN);
+        index.reserve(2L, "hall", NINE.minusDays(3), NINE.minusDays(3).plusHours(1));
+
+        assertThat(index.findConflicts("hall", TEN, ELEVEN, null)).containsExactly(1L);
+    }
+
+    @Test
+    void rebookingAnEventDoesNotConflictWithItself() {
+        index.reserve(1L, "hall", NINE, ELEVEN);
+        index.reserve(1L, "hall", TEN, ELEVEN.plusHours(1));
+
+        assertThat(index.findConflicts("hall", NINE, TEN, null)).isEmpty();
+        assertThat(index.findConflicts("hall", TEN, ELEVEN, null)).containsExactly(1L);
+    }
+
+    @Test
+    void movingABookingFreesTheOldVenue() {
+        index.reserve(1L, "hall", NINE, ELEVEN);
+        index.reserve(1L, "garden", NINE, ELEVEN);
+
+        assertThat(index.findConflicts("hall", NINE, ELEVEN, null)).isEmpty();
+        assertThat(index.findConflicts("garden", NINE, ELEVEN, null)).containsExactly(1L);
+        index.reserve(2L, "hall", NINE, ELEVEN);
+    }
+
+    @Test
+    void rejectedMoveKeepsThePreviousBooking() {
+        index.reserve(1L, "hall", NINE, TEN);
+        index.reserve(2L, "garden", NINE, TEN);
+
+        assertThatThrownBy(() -> index.reserve(1L, "garden", NINE, TEN))
+                .isInstanceOf(VenueConflictException.class);
+        assertThat(index.findConflicts("hall", NINE, TEN, null)).containsExactly(1L);
+    }
+
+    @Test
+    void removingTheVenueReleasesTheBooking() {
+        index.reserve(1L, "hall", NINE, TEN);
+        index.reserve(1L, null, NINE, TEN);
+
+        assertThat(index.findConflicts("hall", NINE, TEN, null)).isEmpty();
+    }
+
+    @Test
+    void oppositeMovesBetweenTwoVenuesDoNotDeadlock() {
+        int rounds = 20_000;
+        // Each event keeps its own hour, so moves never conflict and only the locking is exercised
+        index.reserve(1L, "a", NINE, TEN);
+        index.reserve(2L, "b", TEN, ELEVEN);
+        CyclicBarrier start = new CyclicBarrier(2);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+                Future<?> first = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        index.reserve(1L, i % 2 == 0 ? "b" : "a", NINE, TEN);
+                    }
+                    return null;
+                });
+                Future<?> second = executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < rounds; i++) {
+                        index.reserve(2L, i % 2 == 0 ? "a" : "b", TEN, ELEVEN);
+                    }
+                    return null;
+                });
+                first.get();
+                second.get();
+            });
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // An even number of moves puts both events back where they started
+        assertThat(index.findConflicts("a", NINE, ELEVEN, null)).containsExactly(1L);
+        assertThat(index.findConflicts("b", NINE, ELEVEN, null)).containsExactly(2L);
+    }
+}
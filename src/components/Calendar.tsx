@@ -34,7 +34,7 @@ interface Event {
   };
   eventType: 'Conference' | 'Meetup' | 'Workshop';
   isPublic: boolean;
-  status: 'SCHEDULED' | 'ONGOING' | 'POSTPONED' | 'CANCELLED';
+  status: 'SCHEDULED' | 'ONGOING' | 'COMPLETED' | 'POSTPONED' | 'CANCELLED';
   inviteType: 'group' | 'individual';
   attendees: string[];
   invitedGroups: Group[];
@@ -83,7 +83,7 @@ const Calendar: React.FC = () => {
   useEffect(() => {
     const getUsers = async () => {
       try {
-        const userData = await fetchUsers();
+        const userData = await fetchUsers('userId,userName');
         setUsers(userData);
         console.log("Users fetched:", userData);
       } catch (error: any) {
@@ -99,7 +99,7 @@ const Calendar: React.FC = () => {
   useEffect(() => {
     const fetchGroups = async () => {
       try {
-        const groupsData = await getAllGroups();
+        const groupsData = await getAllGroups({ fields: 'groupName,groupCode' });
         if (Array.isArray(groupsData)) {
           setGroups(groupsData);
         } else {
@@ -141,7 +141,7 @@ const Calendar: React.FC = () => {
   useEffect(() => {
     const fetchEvents = async () => {
       try {
-        const fetchedEvents = await getAllEvents();
+        const fetchedEvents = await getAllEvents({ fields: 'eventTitle,dateTime,endDateTime' });
         if (Array.isArray(fetchedEvents)) {
           setEvents(fetchedEvents);
         } else {
@@ -384,7 +384,7 @@ const Calendar: React.FC = () => {
             <FormControl fullWidth style={{ marginBottom: '16px' }}>
               <Select
                 value={newEvent.status}
-                onChange={(e) => setNewEvent({ ...newEvent, status: e.target.value as 'SCHEDULED' | 'ONGOING' | 'POSTPONED' | 'CANCELLED' })}
+                onChange={(e) => setNewEvent({ ...newEvent, status: e.target.value as 'SCHEDULED' | 'ONGOING' | 'COMPLETED' | 'POSTPONED' | 'CANCELLED' })}
                 label="Status"
               >
                 <MenuItem value="SCHEDULED">Scheduled</MenuItem>
@@ -17,6 +17,7 @@ import { deleteEvent, getAllEvents, getEventById, updateEvent } from '../service
 import { format } from 'date-fns';
 import { fetchUsers } from '../services/Apiusers';
 import { getAllGroups } from '../services/Apigroup';
+import { EntityType, subscribeToChanges } from '../services/Apichanges';
 
 const StyledTableCell = styled(TableCell)(({ theme }) => ({
   [`&.${tableCellClasses.head}`]: {
@@ -217,6 +218,7 @@ const Dashboard: React.FC = () => {
     // Make API call
     await fetch(`${API_BASE_URL}/events/${id}`, {
       method: 'PUT',
+      credentials: 'include',
       headers: {
         'Content-Type': 'application/json',
       },
@@ -363,10 +365,44 @@ const Dashboard: React.FC = () => {
       invitedGroups: selectedGroups,
     } as Event));
   };
+  // Bumped when the change stream reports changes, to refetch the affected lists
+  const [reloads, setReloads] = useState<Record<EntityType, number>>({ EVENT: 0, GROUP: 0, USER: 0 });
+
+  useEffect(() => {
+    // A burst of changes (e.g. a bulk edit) triggers one refetch per list
+    const pending = new Set<EntityType>();
+    let timer: ReturnType<typeof setTimeout> | undefined;
+    const schedule = (types: EntityType[]) => {
+      types.forEach((type) => pending.add(type));
+      if (timer === undefined) {
+        timer = setTimeout(() => {
+          const due = Array.from(pending);
+          pending.clear();
+          timer = undefined;
+          setReloads((current) => {
+            const next = { ...current };
+            due.forEach((type) => { next[type] += 1; });
+            return next;
+          });
+        }, 500);
+      }
+    };
+    const unsubscribe = subscribeToChanges(
+      (change) => schedule([change.entityType]),
+      () => schedule(['EVENT', 'GROUP', 'USER'])
+    );
+    return () => {
+      unsubscribe();
+      if (timer !== undefined) {
+        clearTimeout(timer);
+      }
+    };
+  }, []);
+
   useEffect(() => {
     const fetchEvents = async () => {
       try {
-        const data = await getAllEvents();
+        const data = await getAllEvents({ fields: 'eventTitle,dateTime,venue,eventType,status' });
         const parsedData = data.map((event: any) => ({
           ...event,
           dateTime: new Date(event.dateTime)
@@ -381,12 +417,12 @@ const Dashboard: React.FC = () => {
     };
 
     fetchEvents();
-  }, []);
+  }, [reloads.EVENT]);
 
   useEffect(() => {
     const getUsers = async () => {
       try {
-        const userData = await fetchUsers();
+        const userData = await fetchUsers('userId,userName');
         setUsers(userData);
         console.log("Users fetched:", userData);
       } catch (error: any) {
@@ -397,19 +433,19 @@ const Dashboard: React.FC = () => {
     };
 
     getUsers();
-  }, []);
+  }, [reloads.USER]);
 
   useEffect(() => {
     const fetchGroups = async () => {
       try {
-        const groupsData = await getAllGroups();
+        const groupsData = await getAllGroups({ fields: 'groupName,groupCode' });
         setGroups(groupsData);
       } catch (error) {
         console.error('Error fetching groups:', error);
       }
     };
     fetchGroups();
-  }, []);
+  }, [reloads.GROUP]);
 
 
   const formatDate = (dateTime: string) => {
@@ -670,6 +706,7 @@ const Dashboard: React.FC = () => {
                 <MenuItem value=""><em>Select Status</em></MenuItem>
                 <MenuItem value="SCHEDULED">Scheduled</MenuItem>
                 <MenuItem value="ONGOING">Ongoing</MenuItem>
+                <MenuItem value="COMPLETED">Completed</MenuItem>
                 <MenuItem value="POSTPONED">Postponed</MenuItem>
                 <MenuItem value="CANCELLED">Cancelled</MenuItem>
               </Select>
@@ -27,7 +27,7 @@ const CalendarComponent: React.FC = () => {
   useEffect(() => {
     const fetchEvents = async () => {
       try {
-        const response = await axios.get(`${API_BASE_URL}/events`);
+        const response = await axios.get(`${API_BASE_URL}/events`, { params: { fields: 'eventTitle,dateTime' } });
         const apiEvents = response.data.map((event: any) => ({
           id: event.id,
           title: event.eventTitle,
@@ -84,7 +84,7 @@ const GroupManagement: React.FC = () => {
   useEffect(() => {
     const getUsers = async () => {
       try {
-        const data = await fetchUsers();
+        const data = await fetchUsers('userId,userName');
         setUsers(data);
       } catch (error: any) {
         setError(error.message);
@@ -99,7 +99,8 @@ const GroupManagement: React.FC = () => {
   useEffect(() => {
     const fetchGroups = async () => {
       try {
-        const groupsData = await getAllGroups();
+        // The table lists member names
+        const groupsData = await getAllGroups({ expand: 'groupMembers' });
         if (Array.isArray(groupsData)) {
           setGroups(groupsData);
         } else {
@@ -19,16 +19,27 @@ export interface Event {
   };
   eventType: string;
   isPublic: boolean;
-  status: 'SCHEDULED' | 'ONGOING' | 'POSTPONED' | 'CANCELLED';  
+  status: 'SCHEDULED' | 'ONGOING' | 'COMPLETED' | 'POSTPONED' | 'CANCELLED';  
   invitedGroups: Group[];  
   invitedUsers:  User[];  
 }
 
 // Fetch all events
-export const getAllEvents = async (): Promise<Event[]> => {
+// The backend pages the listing; keep following X-Next-Cursor until the last page.
+// fields limits the returned fields; invitees come back as invitedGroupIds/invitedUserIds
+// unless named in expand (invitedGroups, invitedGroups.groupMembers, invitedUsers).
+export const getAllEvents = async (params: { fields?: string; expand?: string } = {}): Promise<Event[]> => {
   try {
-    const response: AxiosResponse<Event[]> = await axios.get(API_URL);
-    return response.data;
+    const events: Event[] = [];
+    let cursor: string | undefined;
+    do {
+      const response: AxiosResponse<Event[]> = await axios.get(API_URL, { params: { ...params, cursor } });
+      if (Array.isArray(response.data)) {
+        events.push(...response.data);
+      }
+      cursor = response.headers['x-next-cursor'];
+    } while (cursor);
+    return events;
   } catch (error) {
     console.error('Error fetching all events:', error);
     throw error;
@@ -68,6 +79,19 @@ export const updateEvent = async (id: number, event: Partial<Event>): Promise<Ev
   }
 };
 
+// Partially update an event with a JSON Merge Patch; only the given fields are written.
+// invitedGroups/invitedUsers also accept { add: [...], remove: [...] } deltas.
+export const patchEvent = async (id: number, patch: Record<string, unknown>): Promise<void> => {
+  try {
+    await axios.patch(`${API_URL}/${id}`, patch, {
+      headers: { 'Content-Type': 'application/merge-patch+json' },
+    });
+  } catch (error) {
+    console.error(`Error patching event with ID ${id}:`, error);
+    throw error;
+  }
+};
+
 // Delete an event
 export const deleteEvent = async (id: number): Promise<void> => {
   try {
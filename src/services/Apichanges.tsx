@@ -0,0 +1,26 @@
+const STREAM_URL = 'http://localhost:8080/api/changes/stream';
+
+export type EntityType = 'EVENT' | 'GROUP' | 'USER';
+
+export interface ChangeNotification {
+  entityType: EntityType;
+  id: number;
+  version: number | null;
+  operation: 'CREATED' | 'UPDATED' | 'DELETED';
+}
+
+// Subscribes to committed changes. The browser reconnects on its own and resumes from the last
+// event id it saw (the stream opens with a 'ready' event, so there is one even before the first
+// change); onReset is called when changes were missed and the data should be reloaded.
+// Returns a function that closes the stream.
+export const subscribeToChanges = (
+  onChange: (change: ChangeNotification) => void,
+  onReset: () => void
+): (() => void) => {
+  const source = new EventSource(STREAM_URL);
+  source.addEventListener('change', (message) => {
+    onChange(JSON.parse((message as MessageEvent).data));
+  });
+  source.addEventListener('reset', () => onReset());
+  return () => source.close();
+};
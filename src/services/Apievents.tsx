@@ -36,8 +36,16 @@ export interface ApiEvent {
   
   export const getAllEvents = async () => {
     try {
-      const response = await axios.get(`${API_BASE_URL}/events`);
-      return response.data;
+      const events: ApiEvent[] = [];
+      let cursor: string | undefined;
+      do {
+        const response = await axios.get(`${API_BASE_URL}/events`, { params: { cursor } });
+        if (Array.isArray(response.data)) {
+          events.push(...response.data);
+        }
+        cursor = response.headers['x-next-cursor'];
+      } while (cursor);
+      return events;
     } catch (error) {
       console.error('Error fetching events:', error);
       throw error;
@@ -48,6 +56,7 @@ export interface ApiEvent {
 export const updateEvent = async (id: number, updatedEvent: Partial<Event>) => {
   const response = await fetch(`${API_BASE_URL}/events/${id}`, {
     method: 'PUT',
+    credentials: 'include',
     headers: {
       'Content-Type': 'application/json',
     },
@@ -60,7 +69,7 @@ export const updateEvent = async (id: number, updatedEvent: Partial<Event>) => {
 };
 
   export const getEventById = async (eventId: number): Promise<Event> => {
-    const response = await fetch(`/api/events/${eventId}`);
+    const response = await fetch(`/api/events/${eventId}`, { credentials: 'include' });
     const data = await response.json();
   
     return {
@@ -15,6 +15,8 @@ export interface Group {
   status: boolean;
   groupType: string;
   groupMembers: User[];
+  // Returned instead of groupMembers unless the list is fetched with expand: 'groupMembers'
+  memberCount?: number;
 }
 
 // Create a new group
@@ -23,9 +25,9 @@ export const createGroup = async (group: Group): Promise<Group> => {
   return response.data;
 };
 
-// Retrieve all groups
-export const getAllGroups = async (): Promise<Group[]> => {
-  const response = await axios.get(BASE_URL);
+// Retrieve all groups; fields limits the returned fields
+export const getAllGroups = async (params: { fields?: string; expand?: string } = {}): Promise<Group[]> => {
+  const response = await axios.get(BASE_URL, { params });
   return response.data;
 };
 
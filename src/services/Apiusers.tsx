@@ -2,9 +2,10 @@ import axios, { AxiosResponse } from 'axios';
 
 const API_URL = 'http://localhost:8080/api/users';
 
-export const fetchUsers = async (): Promise<any[]> => {
+// fields limits the returned fields, e.g. 'userId,userName'
+export const fetchUsers = async (fields?: string): Promise<any[]> => {
     try {
-        const response: AxiosResponse<any[]> = await axios.get(API_URL);
+        const response: AxiosResponse<any[]> = await axios.get(API_URL, { params: { fields } });
         return response.data;
     } catch (error: any) {
         throw new Error(`Fetching users failed: ${error.message}`);